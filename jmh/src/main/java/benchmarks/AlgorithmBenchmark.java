@@ -0,0 +1,86 @@
+package benchmarks;
+
+import AI.AITree;
+import WhiteSpacePuzzle.WhiteSpacePuzzle;
+import algorithms.AStarEuclideanCostAlgorithm;
+import algorithms.AStarManhattanCostAlgorithm;
+import algorithms.AStarMisplacedTileCostAlgorithm;
+import algorithms.Algorithm;
+import algorithms.UniformCostSearch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures Algorithm.compare, which orders the nodes of the heap frontier.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AlgorithmBenchmark
+{
+    //Compared in pairs, so branch prediction cannot learn a single answer
+    private static final int NODES = 256;
+
+    @Param({"manhattan", "euclidean", "misplaced", "uniform"})
+    private String algorithmName;
+
+    private Algorithm algorithm;
+    private AITree<WhiteSpacePuzzle.State>.Node[] nodes;
+    private int index = 0;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp()
+    {
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(3);
+        puzzle.setInitialState(Boards.CENTER_3X3);
+        algorithm = createAlgorithm(puzzle);
+
+        AITree<WhiteSpacePuzzle.State> tree = new AITree<WhiteSpacePuzzle.State>(puzzle.getInitState(), algorithm, puzzle.getOperatorManager().getOperators());
+        WhiteSpacePuzzle.State[] states = Boards.randomWalks(puzzle, NODES, 30);
+
+        nodes = new AITree.Node[NODES];
+        for (int i = 0; i < NODES; i++)
+        {
+            nodes[i] = tree.new Node(states[i]);
+        }
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public int compare()
+    {
+        final int i = index;
+        index = (i + 1) & (NODES - 1);
+        return algorithm.compare(nodes[i], nodes[index]);
+    }
+
+    private Algorithm createAlgorithm(WhiteSpacePuzzle puzzle)
+    {
+        switch (algorithmName)
+        {
+            case "manhattan":
+                return new AStarManhattanCostAlgorithm(puzzle);
+            case "euclidean":
+                return new AStarEuclideanCostAlgorithm(puzzle);
+            case "misplaced":
+                return new AStarMisplacedTileCostAlgorithm(puzzle);
+            default:
+                return new UniformCostSearch(puzzle);
+        }
+    }
+}
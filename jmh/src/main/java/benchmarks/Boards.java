@@ -0,0 +1,53 @@
+package benchmarks;
+
+import WhiteSpacePuzzle.PuzzleGenerator;
+import WhiteSpacePuzzle.WhiteSpacePuzzle;
+
+/**
+ * The boards shared by the benchmarks. They are generated from a fixed seed so every run measures the same work.
+ */
+final class Boards
+{
+    static final long SEED = 8L;
+
+    //A 3x3 board with the white space in the middle, so every move is possible
+    static final int[][] CENTER_3X3 = {{8, 6, 7}, {2, 0, 4}, {3, 5, 1}};
+
+    //A 4x4 board with the white space away from the border
+    static final int[][] CENTER_4X4 = {{2, 7, 11, 5}, {13, 0, 9, 4}, {14, 1, 8, 6}, {10, 3, 12, 15}};
+
+    private Boards()
+    {
+    }
+
+    /**
+     * The board of a size with the white space away from the border.
+     *
+     * @param size 3 or 4
+     * @return the board
+     */
+    static int[][] center(int size)
+    {
+        return size == 3 ? CENTER_3X3 : CENTER_4X4;
+    }
+
+    /**
+     * Creates states by random walks from the goal state.
+     *
+     * @param puzzle the puzzle
+     * @param amount the amount of states
+     * @param length the length of every walk
+     * @return the states
+     */
+    static WhiteSpacePuzzle.State[] randomWalks(WhiteSpacePuzzle puzzle, int amount, int length)
+    {
+        PuzzleGenerator generator = new PuzzleGenerator(puzzle, SEED);
+
+        WhiteSpacePuzzle.State[] states = new WhiteSpacePuzzle.State[amount];
+        for (int i = 0; i < amount; i++)
+        {
+            states[i] = puzzle.new State(generator.randomWalk(length));
+        }
+        return states;
+    }
+}
@@ -0,0 +1,71 @@
+package benchmarks;
+
+import AI.BitSetClosedList;
+import AI.ClosedList;
+import AI.HashClosedList;
+import WhiteSpacePuzzle.PermutationIndexer;
+import WhiteSpacePuzzle.WhiteSpacePuzzle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the explored sets on 3x3 boards: every state is checked and added, the way AITree uses them.
+ * Results are per state (one contains and one add).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ClosedListBenchmark
+{
+    private static final int STATES = 16384;
+
+    @Param({"hash", "bitset"})
+    private String closedListType;
+
+    private PermutationIndexer indexer;
+    private long[] keys;
+
+    @Setup
+    public void setUp()
+    {
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(3);
+        puzzle.setInitialState(Boards.CENTER_3X3);
+        indexer = new PermutationIndexer(puzzle);
+
+        WhiteSpacePuzzle.State[] states = Boards.randomWalks(puzzle, STATES, 40);
+        keys = new long[STATES];
+        for (int i = 0; i < STATES; i++)
+        {
+            keys[i] = states[i].getStateKey();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STATES)
+    public void containsAdd(Blackhole blackhole)
+    {
+        final ClosedList closedList = closedListType.equals("bitset") ? new BitSetClosedList(indexer) : new HashClosedList();
+
+        for (long key : keys)
+        {
+            if (!closedList.contains(key))
+                blackhole.consume(closedList.add(key));
+        }
+    }
+}
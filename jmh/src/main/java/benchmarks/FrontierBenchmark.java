@@ -0,0 +1,101 @@
+package benchmarks;
+
+import AI.AITree;
+import AI.BucketFrontier;
+import AI.Frontier;
+import AI.HeapFrontier;
+import AI.IndexedBucketFrontier;
+import AI.IndexedHeapFrontier;
+import WhiteSpacePuzzle.WhiteSpacePuzzle;
+import algorithms.AStarManhattanCostAlgorithm;
+import algorithms.Algorithm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the frontiers: every node is pushed, then every node is popped. AITree uses the indexed bucket frontier for
+ * whole number costs and the indexed heap frontier otherwise; the plain frontiers show the cost of the index.
+ * Results are per node (one push and one pop).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FrontierBenchmark
+{
+    private static final int NODES = 4096;
+
+    @Param({"bucket", "heap", "indexed-bucket", "indexed-heap"})
+    private String frontierType;
+
+    private Algorithm algorithm;
+    private AITree<WhiteSpacePuzzle.State>.Node[] nodes;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp()
+    {
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(4);
+        puzzle.setInitialState(Boards.CENTER_4X4);
+        algorithm = new AStarManhattanCostAlgorithm(puzzle);
+
+        AITree<WhiteSpacePuzzle.State> tree = new AITree<WhiteSpacePuzzle.State>(puzzle.getInitState(), algorithm, puzzle.getOperatorManager().getOperators());
+        WhiteSpacePuzzle.State[] states = Boards.randomWalks(puzzle, NODES, 60);
+
+        nodes = new AITree.Node[NODES];
+        for (int i = 0; i < NODES; i++)
+        {
+            nodes[i] = tree.new Node(states[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NODES)
+    @SuppressWarnings("unchecked")
+    public void pushPop(Blackhole blackhole)
+    {
+        final Frontier<AITree<WhiteSpacePuzzle.State>.Node> frontier = createFrontier();
+
+        for (AITree<WhiteSpacePuzzle.State>.Node node : nodes)
+        {
+            frontier.add(node);
+        }
+
+        while (!frontier.isEmpty())
+        {
+            blackhole.consume(frontier.poll());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Frontier<AITree<WhiteSpacePuzzle.State>.Node> createFrontier()
+    {
+        switch (frontierType)
+        {
+            case "heap":
+                return new HeapFrontier<AITree<WhiteSpacePuzzle.State>.Node>(algorithm);
+            case "indexed-heap":
+                return new IndexedHeapFrontier<AITree<WhiteSpacePuzzle.State>.Node>(algorithm, node -> node.getData().getStateKey());
+            case "indexed-bucket":
+                return new IndexedBucketFrontier<AITree<WhiteSpacePuzzle.State>.Node>(node -> (int) node.getGCost() + algorithm.getHCost(node.getData()),
+                        node -> algorithm.getHCost(node.getData()), node -> node.getData().getStateKey());
+        }
+
+        return new BucketFrontier<AITree<WhiteSpacePuzzle.State>.Node>(node -> (int) node.getGCost() + algorithm.getHCost(node.getData()), node -> algorithm.getHCost(node.getData()));
+    }
+}
@@ -0,0 +1,70 @@
+package benchmarks;
+
+import AI.AIFunction;
+import WhiteSpacePuzzle.Move;
+import WhiteSpacePuzzle.WhiteSpacePuzzle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures every move function of the operator manager: a copy of the state with the white space moved and the costs
+ * updated incrementally.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoveBenchmark
+{
+    @Param({"3", "4"})
+    private int size;
+
+    @Param({"LEFT", "DOWN", "RIGHT", "UP"})
+    private Move move;
+
+    private WhiteSpacePuzzle.State state;
+    private AIFunction<WhiteSpacePuzzle.State> function;
+
+    @Setup
+    public void setUp()
+    {
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(size);
+        state = puzzle.new State(Boards.center(size));
+
+        final WhiteSpacePuzzle.OperatorManager operatorManager = puzzle.getOperatorManager();
+        switch (move)
+        {
+            case LEFT:
+                function = operatorManager.getMoveLeftFunction();
+                break;
+            case DOWN:
+                function = operatorManager.getMoveDownFunction();
+                break;
+            case RIGHT:
+                function = operatorManager.getMoveRightFunction();
+                break;
+            default:
+                function = operatorManager.getMoveUpFunction();
+                break;
+        }
+    }
+
+    @Benchmark
+    public WhiteSpacePuzzle.State apply()
+    {
+        return function.apply(state);
+    }
+}
@@ -0,0 +1,71 @@
+package benchmarks;
+
+import WhiteSpacePuzzle.WhiteSpacePuzzle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures creating a state: packing a 2D board, finding the white space and computing every cost (setCosts).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StateBenchmark
+{
+    @Param({"3", "4"})
+    private int size;
+
+    private WhiteSpacePuzzle puzzle;
+    private int[][] board;
+    private WhiteSpacePuzzle.State state;
+
+    @Setup
+    public void setUp()
+    {
+        puzzle = new WhiteSpacePuzzle(size);
+        board = Boards.center(size);
+        state = puzzle.new State(board);
+    }
+
+    /**
+     * A new state from a 2D board, as the initial state is created.
+     */
+    @Benchmark
+    public WhiteSpacePuzzle.State construct()
+    {
+        return puzzle.new State(board);
+    }
+
+    /**
+     * Packs the board into an existing state and recomputes every cost from scratch.
+     */
+    @Benchmark
+    public WhiteSpacePuzzle.State setCosts()
+    {
+        state.setState(board);
+        return state;
+    }
+
+    /**
+     * A copy of a state, as every child starts out.
+     */
+    @Benchmark
+    public WhiteSpacePuzzle.State copy()
+    {
+        return puzzle.new State(state);
+    }
+}
@@ -0,0 +1,70 @@
+package benchmarks;
+
+import AI.AIFunction;
+import AI.SuccessorBuffer;
+import WhiteSpacePuzzle.WhiteSpacePuzzle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the expansion of one state into all of its children: every operator applied to a copy of the state, against
+ * the state writing its children into a reused successor buffer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SuccessorBenchmark
+{
+    @Param({"3", "4"})
+    private int size;
+
+    private WhiteSpacePuzzle.State state;
+    private List<AIFunction<WhiteSpacePuzzle.State>> operators;
+    private final SuccessorBuffer successors = new SuccessorBuffer();
+
+    @Setup
+    public void setUp()
+    {
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(size);
+        state = puzzle.new State(Boards.center(size));
+        operators = new ArrayList<>(puzzle.getOperatorManager().getOperators().keySet());
+    }
+
+    @Benchmark
+    public void applyOperators(Blackhole blackhole)
+    {
+        for (AIFunction<WhiteSpacePuzzle.State> operator : operators)
+        {
+            final WhiteSpacePuzzle.State child = operator.apply(state);
+            if (child != null)
+                blackhole.consume(child.getStateKey());
+        }
+    }
+
+    @Benchmark
+    public void generateSuccessors(Blackhole blackhole)
+    {
+        state.generateSuccessors(successors);
+        for (int i = 0; i < successors.size(); i++)
+        {
+            blackhole.consume(successors.getStateKey(i));
+        }
+    }
+}
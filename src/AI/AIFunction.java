@@ -10,6 +10,12 @@ public abstract class AIFunction<T extends AbstractState> implements Function<T,
 {
     private String name;
 
+    //Identifies the operator in a SuccessorBuffer, -1 if the operator is only applied
+    private int operatorId = -1;
+
+    //The id of the operator which undoes this operator, -1 if there is none
+    private int inverseOperatorId = -1;
+
     public String getName()
     {
         return name;
@@ -21,4 +27,35 @@ public abstract class AIFunction<T extends AbstractState> implements Function<T,
     {
         this.name = name;
     }
+
+    /**
+     * The id of the operator in the children written by AbstractState.generateSuccessors.
+     *
+     * @return the id (0 or higher), or -1 if the states never write children of this operator
+     */
+    public int getOperatorId()
+    {
+        return operatorId;
+    }
+
+    public void setOperatorId(int operatorId)
+    {
+        this.operatorId = operatorId;
+    }
+
+    /**
+     * The id of the operator which undoes this operator: applying both in a row gives back the same state. A search skips
+     * it right after this operator, since it only leads back to the parent.
+     *
+     * @return the id of the inverse operator, or -1 if no operator undoes this one
+     */
+    public int getInverseOperatorId()
+    {
+        return inverseOperatorId;
+    }
+
+    public void setInverseOperatorId(int inverseOperatorId)
+    {
+        this.inverseOperatorId = inverseOperatorId;
+    }
 }
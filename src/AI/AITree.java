@@ -2,6 +2,10 @@ package AI;
 
 import algorithms.Algorithm;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.*;
 
 /**
@@ -19,61 +23,74 @@ public class AITree<T extends AbstractState>
 
     //The list of operators for this tree.
     private HashMap<AIFunction<T>, Float> operators;
-    //The list of nodes that are ready to expand/check if goal state.
-    private Queue<Node> frontier;
-    //The list of nodes that we have visited so we don't make an infinite loop.
-    private HashSet<Node> visitedNodes;
+    //The operators by index, the way the arena refers to them.
+    private List<Map.Entry<AIFunction<T>, Float>> operatorList;
+    //The index in operatorList of every operator id written to a SuccessorBuffer, or null if an operator has no id.
+    private int[] operatorIndexes;
+    //The index in operatorList of the operator that undoes every operator, or -1 if it has none.
+    private int[] inverseIndexes;
+    //Receives the children of every expanded state that can write them without creating them.
+    private final SuccessorBuffer successors = new SuccessorBuffer();
+    //Every node of the tree
+    private NodeArena arena = new NodeArena();
+    //The list of nodes that are ready to expand/check if goal state. Holds at most one node per state.
+    private IndexedFrontier<Node> frontier;
+    //The keys of the states that we have visited so we don't make an infinite loop.
+    private ClosedList visitedNodes;
+    //The node of every explored state, only kept if the heuristic is inconsistent so a state can be reopened (null otherwise).
+    private LongIntHashMap exploredIndexes;
     //The amount of nodes we have visited (counting duplicates!)
     private int visitedNumber = 0;
     //The solution node. We need this as a node so we can check what operators/states we made to get here.
     private Node solution = null;
     // The max frontier queue size that was reached.
     private int maxFrontierSize = 0;
+    // Whether the search prints the state it is searching for.
+    private boolean verbose = true;
+    // Receives the events of the search, null if nobody listens.
+    private SearchListener<T> listener = null;
+    // The amount of polls between two frontier size samples sent to the listener.
+    private static final int FRONTIER_SAMPLE_INTERVAL = 1024;
+    // The amount of polls between two checks of the time limit and the cancellation token.
+    private static final int BUDGET_CHECK_INTERVAL = 256;
+    // The amount of nodes we have expanded, and the amount of children we have added to the frontier.
+    private long expandedNumber = 0;
+    private long generatedNumber = 0;
+    // The polled node with the lowest H(n), and its H(n).
+    private Node closestNode = null;
+    private int closestHCost = 0;
 
     /**
-     * A subclass of Tree to define what a node is (a container for the state).
+     * A subclass of Tree to define what a node is (a container for the state). The node itself is kept in the arena of
+     * the tree; this object is only a view of it, and can be created again from the index at any time.
      */
     public class Node
     {
-        //The state
+        //The index of this node in the arena
+        private final int index;
+        //The state, created from the state key when it is first needed
         private T data;
-        //The parent of this node
-        private Node parent;
-        //The operator that was used to reach this state
-        private Map.Entry<AIFunction<T>, Float> getToThisStateOperator;
-        //The list of children of this node
-        private List<Node> children;
-
-        //The amount of moves that were needed to get to this state
-        private int moves = 0;
-
-        //The operator costs (cumulative)
-        private float operatorCost = 0;
-
 
         /**
-         * A constructor that creates a (child) node given you have a parent node and the state data.
+         * A constructor that creates a view of a node of the arena.
          *
-         * @param parent The parent of *this* node.
-         * @param data   The state data
+         * @param index The index of the node
+         * @param data  The state data, or null to create it from the state key when needed
          */
-        public Node(Node parent, T data)
+        private Node(int index, T data)
         {
-            this.parent = parent;
+            this.index = index;
             this.data = data;
-            this.children = new ArrayList<>();
         }
 
         /**
-         * A constructor that creates the root node given you have the state data.
+         * A constructor that creates a root node (no parent) given you have the state data.
          *
          * @param data The state data
          */
         public Node(T data)
         {
-            this.parent = null;
-            this.data = data;
-            this.children = new ArrayList<>();
+            this(arena.add(data.getStateKey(), NodeArena.NO_PARENT, 0, algorithm.getHCost(data), 0, NodeArena.NO_OPERATOR), data);
         }
 
         /**
@@ -81,19 +98,23 @@ public class AITree<T extends AbstractState>
          *
          * @return state data of this node
          */
+        @SuppressWarnings("unchecked")
         public T getData()
         {
+            if (data == null)
+                data = (T) root.data.createState(arena.getStateKey(index));
             return data;
         }
 
         /**
          * Gets the parent of this node
          *
-         * @return parent node
+         * @return parent node, or null if this is the root node
          */
         public Node getParent()
         {
-            return parent;
+            final int parent = arena.getParent(index);
+            return parent == NodeArena.NO_PARENT ? null : new Node(parent, null);
         }
 
         /**
@@ -103,18 +124,9 @@ public class AITree<T extends AbstractState>
          */
         public int getMoves()
         {
-            return moves;
+            return arena.getMoves(index);
         }
 
-        /**
-         * Adds a move to the counter.
-         */
-        public void addMove()
-        {
-            this.moves = getParent().getMoves() + 1;
-        }
-
-
         /**
          * The G(n) cumulative cost of operators
          *
@@ -122,25 +134,28 @@ public class AITree<T extends AbstractState>
          */
         public float getGCost()
         {
-            return operatorCost;
+            return arena.getGCost(index);
         }
 
         /**
-         * The cost of this operator
+         * The H(n) of the state, computed once by the algorithm of the tree
+         *
+         * @return
          */
-        public void addGCost()
+        public int getHCost()
         {
-            this.operatorCost = this.parent.getGCost() + getToThisStateOperator.getValue();
+            return arena.getHCost(index);
         }
 
         /**
          * Gets the operator that was used to reach this node.
          *
-         * @return A Map.Entry object that has the key as the function and the value as the cost of the operator.
+         * @return A Map.Entry object that has the key as the function and the value as the cost of the operator, or null for the root node.
          */
         public Map.Entry<AIFunction<T>, Float> getOperatorNeededToReachThis()
         {
-            return getToThisStateOperator;
+            final int operator = arena.getOperator(index);
+            return operator == NodeArena.NO_OPERATOR ? null : operatorList.get(operator);
         }
 
         /**
@@ -150,75 +165,66 @@ public class AITree<T extends AbstractState>
          */
         public boolean isRoot()
         {
-            return parent == null;
+            return arena.getParent(index) == NodeArena.NO_PARENT;
         }
 
         /**
-         * Checks if this node is te leaf node (no children).
+         * Writes the path from the initial node to this node, one state at a time, so a long path is never held as a
+         * single String. Wrap the writer in a BufferedWriter when it writes to a file or a console.
          *
-         * @return true if the node is a leaf node, false otherwise
+         * @param out the writer
+         * @throws IOException if the writer fails
          */
-        public boolean isLeaf()
+        public void writePath(Writer out) throws IOException
         {
-            return children.size() == 0;
+            out.write("Path from Initial to Solution:\n\n");
+
+            if (isRoot()) //Return early if this is already the solution!
+            {
+                out.write("No operators needed.");
+                return;
+            }
+
+            //Walk the parent indexes up to the initial node, then write them from the initial node down.
+            int[] indexes = new int[getMoves() + 1];
+            int length = 0;
+            for (int current = index; current != NodeArena.NO_PARENT; current = arena.getParent(current))
+            {
+                if (length == indexes.length)
+                    indexes = Arrays.copyOf(indexes, length << 1);
+                indexes[length++] = current;
+            }
+
+            for (int i = length - 1; i >= 0; i--)
+            {
+                final Node node = i == 0 ? this : new Node(indexes[i], null);
+                final Map.Entry<AIFunction<T>, Float> operator = node.getOperatorNeededToReachThis();
+
+                out.write(operator == null ? "Initial State (no operator)" : operator.getKey().getName());
+                out.write("\n");
+                out.write(node.getData().toString());
+                out.write("\n\n");
+            }
         }
 
         /**
-         * Returns a path from the initial node to this node.
+         * Returns a path from the initial node to this node. Prefer writePath for long paths.
          *
          * @return a String object that contains a path from initial node to this node.
          */
         @Override
         public String toString()
         {
-            String path = "Path from Initial to Solution:\n\n";
-
-            Node current = this;
-
-            if (current.getToThisStateOperator == null) //Return early if this is already the solution!
+            StringWriter writer = new StringWriter();
+            try
             {
-                return path + "No operators needed.";
-            }
-
-            Stack<String> stack = new Stack<>(); //stack needed to reverse order from string. if queue, then this node to initial state.
-
-
-            final String firstOperatorName = current.getOperatorNeededToReachThis().getKey().getName(); //Gets the operator name that was needed to reach this state
-
-            stack.push(firstOperatorName + "\n" + current.data.toString() + "\n\n"); //Push to stack the operator and the current state
-
-            Node parent = current.getParent(); //Get the parent of the current.
-
-            //Loop, If has parent
-            while (parent != null)
+                writePath(writer);
+            } catch (IOException e)
             {
-
-                String part = "";
-
-                String operatorName = "";
-
-
-                if (parent.getOperatorNeededToReachThis() == null) //Initial State condition
-                {
-                    operatorName = "Initial State (no operator)";
-                } else //Loops middle nodes and grabs operator name and parent states
-                {
-                    operatorName = parent.getOperatorNeededToReachThis().getKey().getName();
-                }
-                part += operatorName + "\n" + parent.data.toString() + "\n\n";
-
-                stack.push(part);
-
-
-                parent = parent.getParent();
-            }
-
-            while (!stack.isEmpty()) //make a string from popping the stack
-            {
-                path += stack.pop();
+                //A StringWriter never fails
+                throw new UncheckedIOException(e);
             }
-
-            return path;
+            return writer.toString();
         }
 
         @Override
@@ -226,10 +232,26 @@ public class AITree<T extends AbstractState>
         {
             if (obj != null && obj instanceof AITree.Node)
             {
-                return this.data.equals(((Node) obj).data);
+                return getStateKey() == ((Node) obj).getStateKey();
             }
             return false;
         }
+
+        @Override
+        public int hashCode()
+        {
+            return Long.hashCode(getStateKey());
+        }
+
+        /**
+         * The key of the state of this node, read from the arena of its tree without creating the state.
+         *
+         * @return the state key
+         */
+        private long getStateKey()
+        {
+            return arena.getStateKey(index);
+        }
     }
 
     /**
@@ -237,18 +259,119 @@ public class AITree<T extends AbstractState>
      *
      * @param initialState The initial state to start
      * @param algorithm    An algorithm like (A* or Uniform Cost Search) that chooses which node in the frontier to expand.
-     * @param operators    A collection of operators with their cost
+     * @param operators    A collection of operators with their cost. Children are generated in its iteration order, so use a
+     *                     LinkedHashMap for a search that expands the same way on every run.
      */
     public AITree(T initialState, Algorithm algorithm, HashMap<AIFunction<T>, Float> operators)
     {
-        this.root = new Node(initialState);
+        if (operators.size() > Byte.MAX_VALUE)
+            throw new IllegalArgumentException("A tree supports at most " + Byte.MAX_VALUE + " operators but got " + operators.size() + ".");
 
         this.algorithm = algorithm;
 
         this.operators = operators;
-        this.frontier = new PriorityQueue<Node>(algorithm);
+        this.operatorList = new ArrayList<>(operators.entrySet());
+        this.operatorIndexes = createOperatorIndexes(operatorList);
+        this.inverseIndexes = createInverseIndexes(operatorList);
+
+        this.root = new Node(initialState);
+
+        this.frontier = createFrontier();
         this.frontier.add(root);
-        this.visitedNodes = new HashSet<>();
+        this.visitedNodes = new HashClosedList();
+        this.exploredIndexes = algorithm.isConsistent() ? null : new LongIntHashMap();
+    }
+
+    /**
+     * Maps every operator id to the index of its operator, so children written to a SuccessorBuffer can be stored in
+     * the arena.
+     *
+     * @param operatorList the operators by index
+     * @return the index of every operator id (-1 if no operator has the id), or null if an operator has no id
+     */
+    private static <T extends AbstractState> int[] createOperatorIndexes(List<Map.Entry<AIFunction<T>, Float>> operatorList)
+    {
+        int maxId = -1;
+        for (Map.Entry<AIFunction<T>, Float> operator : operatorList)
+        {
+            final int id = operator.getKey().getOperatorId();
+            if (id < 0)
+                return null;
+            maxId = Math.max(maxId, id);
+        }
+
+        int[] indexes = new int[maxId + 1];
+        Arrays.fill(indexes, -1);
+        for (int i = 0; i < operatorList.size(); i++)
+        {
+            final int id = operatorList.get(i).getKey().getOperatorId();
+            if (indexes[id] >= 0)
+                return null;
+            indexes[id] = i;
+        }
+        return indexes;
+    }
+
+    /**
+     * Finds the operator that undoes every operator, by its declared inverse operator id.
+     *
+     * @param operatorList the operators by index
+     * @return the index of the inverse of every operator, -1 if it has none
+     */
+    private static <T extends AbstractState> int[] createInverseIndexes(List<Map.Entry<AIFunction<T>, Float>> operatorList)
+    {
+        int[] indexes = new int[operatorList.size()];
+        Arrays.fill(indexes, -1);
+        for (int i = 0; i < operatorList.size(); i++)
+        {
+            final int inverseId = operatorList.get(i).getKey().getInverseOperatorId();
+            if (inverseId < 0)
+                continue;
+
+            for (int j = 0; j < operatorList.size(); j++)
+            {
+                if (operatorList.get(j).getKey().getOperatorId() == inverseId)
+                {
+                    indexes[i] = j;
+                    break;
+                }
+            }
+        }
+        return indexes;
+    }
+
+    /**
+     * Creates the frontier for the algorithm. If every F(n) is a whole number, the nodes are kept in buckets (O(1) add and poll),
+     * otherwise they are kept in a heap ordered by the algorithm. Either way, the frontier holds at most one node per state.
+     *
+     * @return the frontier
+     */
+    private IndexedFrontier<Node> createFrontier()
+    {
+        if (!isIntegral())
+        {
+            return new IndexedHeapFrontier<Node>(algorithm, node -> arena.getStateKey(node.index));
+        }
+
+        return new IndexedBucketFrontier<Node>(node -> (int) node.getGCost() + node.getHCost(), Node::getHCost, node -> arena.getStateKey(node.index));
+    }
+
+    /**
+     * Checks if the algorithm and every operator cost only produce whole numbers.
+     *
+     * @return true if every F(n) is a whole number, false otherwise
+     */
+    private boolean isIntegral()
+    {
+        if (!algorithm.isIntegral())
+            return false;
+
+        for (Float cost : operators.values())
+        {
+            if (cost < 0 || cost != Math.rint(cost))
+                return false;
+        }
+        return true;
     }
 
     /**
@@ -258,11 +381,34 @@ public class AITree<T extends AbstractState>
      */
     public Node findSolution()
     {
+        return search(SearchBudget.unlimited(), null).getSolution();
+    }
 
-        System.out.println("Searching for state below:\n\n");
-        System.out.println(root.data);
-        System.out.println();
-        System.out.println();
+    /**
+     * Finds the solution starting from the initial node (root), stopping early if a limit of the budget is reached or the
+     * token is cancelled. The counts are checked on every poll, the time and the token every few polls.
+     *
+     * @param budget the limits of the search
+     * @param token  stops the search when cancelled, or null
+     * @return the outcome, with the goal node if the search is solved
+     */
+    public SearchOutcome<T> search(SearchBudget budget, CancellationToken token)
+    {
+        final long start = System.nanoTime();
+
+        if (verbose)
+        {
+            System.out.println("Searching for state below:\n\n");
+            System.out.println(root.data);
+            System.out.println();
+            System.out.println();
+        }
+
+        if (listener != null)
+            listener.onSearchStarted(root);
+
+        SearchOutcome.Status status = null;
+        SearchBudget.Limit limit = null;
 
         //Keep looping until the frontier is empty
         while (!frontier.isEmpty())
@@ -273,30 +419,84 @@ public class AITree<T extends AbstractState>
                 maxFrontierSize = frontier.size();
             }
 
+            //Stop if the budget is spent or the search is cancelled. A solution that was already found is kept.
+            limit = budget.checkCounts(expandedNumber, frontier.size(), getEstimatedBytes());
+            if (limit == null && visitedNumber % BUDGET_CHECK_INTERVAL == 0)
+            {
+                if (token != null && token.isCancelled())
+                {
+                    status = SearchOutcome.Status.CANCELLED;
+                    break;
+                }
+                if (budget.isTimeUp(System.nanoTime() - start))
+                    limit = SearchBudget.Limit.TIME;
+            }
+            if (limit != null)
+            {
+                status = SearchOutcome.Status.CUTOFF;
+                break;
+            }
+
             //Remove the next node in the frontier (remember this is a priority queue so our algorithm already took care of this!)
             final Node poll = frontier.poll();
 
             visitedNumber++;
 
-            //If the node is already visited, skip it
-            if (visitedNodes.contains(poll))
-            {
-                continue;
-            }
+            if (listener != null && visitedNumber % FRONTIER_SAMPLE_INTERVAL == 0)
+                listener.onFrontierSample(frontier.size());
+
+            //Duplicates are dropped when they are generated, so the polled state was never explored before (or is reopened).
+            final long key = arena.getStateKey(poll.index);
 
             // If the next node is the goal state
-            if (poll.data.isGoalState())
+            if (root.getData().isGoalStateKey(key))
             {
                 //If the solution hasnt been found, then update. Otherwise, if a solution is found and has LESS moves, then choose it.
                 if (solution == null || poll.getMoves() < solution.getMoves())
+                {
                     this.solution = poll;
+                    if (listener != null)
+                        listener.onGoalFound(poll);
+                }
             }
 
+            //Keep the node closest to the goal state, in case the search ends without a solution.
+            final int hCost = poll.getHCost();
+            if (closestNode == null || hCost < closestHCost || (hCost == closestHCost && poll.getMoves() < closestNode.getMoves()))
+            {
+                closestNode = poll;
+                closestHCost = hCost;
+            }
 
             consumeOperator(poll);
-            visitedNodes.add(poll);
+            visitedNodes.add(key);
+            if (exploredIndexes != null)
+                exploredIndexes.put(key, poll.index);
         }
-        return solution;
+
+        if (solution != null)
+            status = SearchOutcome.Status.SOLVED;
+        else if (status == null)
+            status = SearchOutcome.Status.NO_SOLUTION;
+
+        if (status != SearchOutcome.Status.CUTOFF)
+            limit = null;
+
+        if (listener != null)
+            listener.onSearchFinished(solution);
+
+        return new SearchOutcome<T>(status, limit, solution, closestNode, visitedNumber, expandedNumber, visitedNodes.size(),
+                maxFrontierSize, getEstimatedBytes(), System.nanoTime() - start);
+    }
+
+    /**
+     * Estimates the memory held by the search: the arena, the nodes in the frontier and the explored set.
+     *
+     * @return bytes
+     */
+    private long getEstimatedBytes()
+    {
+        return SearchBudget.estimateBytes(arena.size(), frontier.size(), visitedNodes);
     }
 
     /**
@@ -311,43 +511,116 @@ public class AITree<T extends AbstractState>
         if (solution != null)
             return;
 
+        expandedNumber++;
+        if (listener != null)
+            listener.onExpand(node);
+
+        //The operator that leads back to the parent. The parent is already explored, so its state would be dropped anyway.
+        final int parentOperator = arena.getOperator(node.index);
+        final int skippedIndex = parentOperator == NodeArena.NO_OPERATOR ? -1 : inverseIndexes[parentOperator];
+
+        //Let the state write its children without creating them, if it can
+        if (operatorIndexes != null && node.getData().generateSuccessors(successors))
+        {
+            consumeSuccessors(node, skippedIndex);
+            return;
+        }
+
         //Use all operators to expand a node
-        for (Map.Entry<AIFunction<T>, Float> operator : operators.entrySet())
+        for (int operatorIndex = 0; operatorIndex < operatorList.size(); operatorIndex++)
         {
-            final AIFunction<T> key = operator.getKey();
+            if (operatorIndex == skippedIndex)
+                continue;
 
-            final T childData = key.apply(node.data);
+            final Map.Entry<AIFunction<T>, Float> operator = operatorList.get(operatorIndex);
+            final AIFunction<T> key = operator.getKey();
 
+            final T childData = key.apply(node.getData());
+            if (childData == null)
+                continue;
 
-            //Add the child node and attach its parents, increase a move, and set the operator needed to move to this node.
-            final Node childAdded = add(node, childData);
-            if (childAdded != null)
+            //Drop the child if its state was already explored, or is in the frontier with a lower or equal G(n).
+            final long childKey = childData.getStateKey();
+            final float gCost = node.getGCost() + operator.getValue();
+            if (isDuplicate(childKey, gCost))
             {
-                childAdded.getToThisStateOperator = operator;
-                childAdded.addMove();
-                childAdded.addGCost();
+                if (listener != null)
+                    listener.onDuplicatePruned(node, childKey);
+                continue;
+            }
 
-                frontier.add(childAdded);
+            //Add the child node to the arena with its parent, moves, costs and the operator needed to move to this node.
+            //It replaces the open node of the same state (decrease-key).
+            final int childIndex = arena.add(childKey, node.index, gCost, algorithm.getHCost(childData), node.getMoves() + 1, operatorIndex);
+            addChild(new Node(childIndex, childData));
+        }
+    }
+
+    /**
+     * Adds the children in the successor buffer to the frontier. A child state is only created if someone asks for it
+     * through its node's getData; pruned duplicates are reported to the listener by key.
+     *
+     * @param node         the node whose children are in the buffer
+     * @param skippedIndex the index of the operator whose child is skipped, or -1
+     */
+    private void consumeSuccessors(Node node, int skippedIndex)
+    {
+        for (int i = 0; i < successors.size(); i++)
+        {
+            final int operatorId = successors.getOperatorId(i);
+            final int operatorIndex = operatorId < operatorIndexes.length ? operatorIndexes[operatorId] : -1;
+            //The tree was not given this operator, or it undoes the operator used to reach the node
+            if (operatorIndex < 0 || operatorIndex == skippedIndex)
+                continue;
+
+            final long childKey = successors.getStateKey(i);
+            final float gCost = node.getGCost() + operatorList.get(operatorIndex).getValue();
+            if (isDuplicate(childKey, gCost))
+            {
+                if (listener != null)
+                    listener.onDuplicatePruned(node, childKey);
+                continue;
             }
+
+            final int hCost = algorithm.getChildHCost(node.getData(), node.getHCost(), successors, i);
+            final int childIndex = arena.add(childKey, node.index, gCost, hCost, node.getMoves() + 1, operatorIndex);
+            addChild(new Node(childIndex, null));
         }
     }
 
     /**
-     * Adds a child node to the supplied Node object.
+     * Checks if a child is not needed: its state was already explored, or is in the frontier with a lower or equal G(n).
+     * If the heuristic is inconsistent, a state can be explored before its cheapest path is found, so an explored state
+     * is only dropped if it was explored with a lower or equal G(n); otherwise it is reopened.
      *
-     * @param current The parent node
-     * @param data    The new state data
-     * @return
+     * @param childKey the key of the child state
+     * @param gCost    G(n) of the child
+     * @return true if the child should be dropped
      */
-    private Node add(Node current, T data)
+    private boolean isDuplicate(long childKey, float gCost)
     {
-        assert current != null;
-        if (data == null)
-            return null;
-        Node child = new Node(current, data);
-        current.children.add(child);
+        if (exploredIndexes != null)
+        {
+            final int explored = exploredIndexes.get(childKey, -1);
+            if (explored >= 0 && arena.getGCost(explored) <= gCost)
+                return true;
+        } else if (visitedNodes.contains(childKey))
+            return true;
+        final Node open = frontier.get(childKey);
+        return open != null && open.getGCost() <= gCost;
+    }
 
-        return child;
+    /**
+     * Adds a generated child to the frontier.
+     *
+     * @param child the child
+     */
+    private void addChild(Node child)
+    {
+        frontier.add(child);
+        generatedNumber++;
+        if (listener != null)
+            listener.onGenerate(child);
     }
 
     /**
@@ -369,13 +642,69 @@ public class AITree<T extends AbstractState>
         return visitedNumber;
     }
 
-    public HashSet<Node> getVisitedNodes()
+    /**
+     * Counts the amount of distinct states we've explored (not counting duplicates)
+     * @return size of the explored set
+     */
+    public int getExploredSetSize()
     {
-        return visitedNodes;
+        return visitedNodes.size();
     }
 
     public int getMaxFrontierSize()
     {
         return maxFrontierSize;
     }
+
+    /**
+     * Counts the amount of nodes we've expanded (generated children for)
+     * @return # of expanded nodes
+     */
+    public long getExpandedNumber()
+    {
+        return expandedNumber;
+    }
+
+    /**
+     * Counts the amount of children we've added to the frontier (generated children that were not pruned as duplicates)
+     * @return # of generated nodes
+     */
+    public long getGeneratedNumber()
+    {
+        return generatedNumber;
+    }
+
+    /**
+     * Sets whether the search prints the state it is searching for. Turn it off when solving many states.
+     *
+     * @param verbose true to print, false to stay quiet
+     */
+    public void setVerbose(boolean verbose)
+    {
+        this.verbose = verbose;
+    }
+
+    /**
+     * Sets the explored set, for example a BitSetClosedList when every state has an index. Must be set before searching.
+     * By default the explored set is a HashClosedList.
+     *
+     * @param closedList an empty explored set
+     */
+    public void setClosedList(ClosedList closedList)
+    {
+        if (closedList.size() != 0)
+            throw new IllegalArgumentException("The explored set must be empty but had " + closedList.size() + " states.");
+        this.visitedNodes = closedList;
+    }
+
+    /**
+     * Sets the listener that receives the events of the search, for example a CountingSearchListener or a
+     * FlightRecorderSearchListener. Use SearchListener.both to register more than one.
+     *
+     * @param listener the listener, or null to stop listening
+     */
+    public void setSearchListener(SearchListener<T> listener)
+    {
+        this.listener = listener;
+    }
 }
@@ -7,4 +7,48 @@ public abstract class AbstractState
 {
     public abstract boolean isGoalState();
 
+    /**
+     * A primitive key of this state. Two states must have the same key if and only if they are equal, so the search can
+     * remember states without keeping the state objects.
+     *
+     * @return the key of this state
+     */
+    public abstract long getStateKey();
+
+    /**
+     * Creates the state of a state key, so a search can keep only the keys of the states it reached.
+     *
+     * @param stateKey a key returned by getStateKey of a state of the same problem
+     * @return the state
+     */
+    public abstract AbstractState createState(long stateKey);
+
+    /**
+     * Checks if the state of a state key is the goal state, so a search can test the key without creating the state.
+     * By default the state is created; a problem whose goal state has a known key overrides this.
+     *
+     * @param stateKey a key returned by getStateKey of a state of the same problem
+     * @return true if the state of the key is the goal state, false otherwise
+     */
+    public boolean isGoalStateKey(long stateKey)
+    {
+        return createState(stateKey).isGoalState();
+    }
+
+    /**
+     * Writes the children of this state into the buffer without creating the child states, skipping operators that
+     * cannot be applied. The heuristic delta of a child is how much the state's own heuristic changes (for the white
+     * space puzzle, the manhattan distance).
+     * <p>
+     * A search uses this instead of applying every operator when it is supported, so a problem gets the allocation-free
+     * path by overriding it.
+     *
+     * @param buffer the buffer, which is cleared first
+     * @return true if the children were written, false if this state does not support it and the operators must be applied
+     */
+    public boolean generateSuccessors(SuccessorBuffer buffer)
+    {
+        return false;
+    }
+
 }
@@ -0,0 +1,468 @@
+package AI;
+
+import WhiteSpacePuzzle.Move;
+import WhiteSpacePuzzle.WhiteSpacePuzzle;
+import algorithms.Algorithm;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Defines ARA* (Anytime Repairing A*) for the white space puzzle. It runs weighted A*, which expands by
+ * G(n) + w * H(n), first with a high weight w so a solution is found quickly, then lowers the weight and repairs the
+ * search instead of starting over: only nodes whose G(n) improved are searched again.
+ * <p>
+ * Every solution is at most bound times longer than the shortest one. The bound is cost / lowest F(n) not yet expanded,
+ * and no more than w once the search with weight w finished. Every improved solution is published to the listener with
+ * its bound. The search ends once the bound reaches 1 (the solution is optimal) or the time is up, and returns the best
+ * solution so far, including a goal reached by an unfinished search.
+ */
+public class AnytimeAStar
+{
+    //The amount of expansions between two checks of the clock and the cancellation token
+    private static final int CHECK_INTERVAL = 256;
+
+    //The puzzle that is being solved
+    private WhiteSpacePuzzle puzzle;
+
+    //The algorithm which supplies H(n). Every operator costs 1, so G(n) is the depth.
+    private Algorithm algorithm;
+
+    //The weight of the first search, and how much it is lowered every time
+    private double initialWeight;
+    private double weightStep;
+
+    //Receives every improved solution, can be null
+    private Consumer<Solution> listener;
+
+    //The weight of the current search
+    private double weight;
+
+    //The best node of every state seen (state key -> index in nodes)
+    private LongIntHashMap indexes;
+    private List<SearchNode> nodes;
+
+    //The nodes to expand in the current search, ordered by G(n) + w * H(n)
+    private PriorityQueue<SearchNode> open;
+
+    //The nodes whose G(n) improved after they were expanded in the current search. They are searched again with the next weight.
+    private List<SearchNode> inconsistent;
+
+    //The search in which every state was last expanded (state key -> search), so a state is expanded at most once per search
+    private LongIntHashMap closed;
+    private int searchNumber;
+
+    //The goal node of the best solution so far
+    private SearchNode goal;
+
+    //The best solution so far
+    private Solution solution;
+
+    //The amount of nodes we have expanded (over all searches)
+    private long visitedNumber = 0;
+
+    //When the search started
+    private long start;
+
+    /**
+     * Creates an ARA* search for the initial state of the puzzle that starts with weight 3 and lowers it by 0.5.
+     *
+     * @param puzzle    the puzzle with its initial and goal state set
+     * @param algorithm the algorithm which supplies the heuristic. It must never overestimate for the bound to hold.
+     */
+    public AnytimeAStar(WhiteSpacePuzzle puzzle, Algorithm algorithm)
+    {
+        this(puzzle, algorithm, 3, 0.5);
+    }
+
+    /**
+     * Creates an ARA* search for the initial state of the puzzle.
+     *
+     * @param puzzle        the puzzle with its initial and goal state set
+     * @param algorithm     the algorithm which supplies the heuristic. It must never overestimate for the bound to hold.
+     * @param initialWeight the weight of the first search, at least 1
+     * @param weightStep    how much the weight is lowered after every solution, more than 0
+     */
+    public AnytimeAStar(WhiteSpacePuzzle puzzle, Algorithm algorithm, double initialWeight, double weightStep)
+    {
+        if (initialWeight < 1)
+            throw new IllegalArgumentException("The initial weight must be at least 1 but was " + initialWeight + ".");
+        if (weightStep <= 0)
+            throw new IllegalArgumentException("The weight step must be positive but was " + weightStep + ".");
+
+        this.puzzle = puzzle;
+        this.algorithm = algorithm;
+        this.initialWeight = initialWeight;
+        this.weightStep = weightStep;
+    }
+
+    /**
+     * Sets the listener that receives every improved solution, as soon as it is found. Called on the searching thread.
+     *
+     * @param listener the listener, or null
+     */
+    public void setSolutionListener(Consumer<Solution> listener)
+    {
+        this.listener = listener;
+    }
+
+    /**
+     * Finds a solution and keeps improving it until it is optimal or the time is up.
+     *
+     * @param time the time limit
+     * @param unit the unit of the time limit
+     * @return the best solution, otherwise returns null if none was found in time
+     */
+    public Solution findSolution(long time, TimeUnit unit)
+    {
+        return findSolution(time, unit, null);
+    }
+
+    /**
+     * Finds a solution and keeps improving it until it is optimal, the time is up or the token is cancelled.
+     *
+     * @param time  the time limit
+     * @param unit  the unit of the time limit
+     * @param token stops the search when cancelled, or null
+     * @return the best solution, otherwise returns null if none was found
+     */
+    public Solution findSolution(long time, TimeUnit unit, CancellationToken token)
+    {
+        final long timeLimitNanos = unit.toNanos(time);
+        start = System.nanoTime();
+
+        weight = initialWeight;
+        indexes = new LongIntHashMap();
+        nodes = new ArrayList<>();
+        open = new PriorityQueue<>(this::compare);
+        inconsistent = new ArrayList<>();
+        closed = new LongIntHashMap();
+        searchNumber = 0;
+        goal = null;
+        solution = null;
+        visitedNumber = 0;
+
+        final WhiteSpacePuzzle.State initState = puzzle.getInitState();
+        final SearchNode root = new SearchNode(initState, null, null, 0, algorithm.getHCost(initState));
+        indexes.put(initState.getStateKey(), 0);
+        nodes.add(root);
+        open.add(root);
+
+        while (true)
+        {
+            if (!improvePath(timeLimitNanos, token))
+            {
+                //A goal found before the time was up still counts, with the bound of an unfinished search
+                publish(false);
+                break;
+            }
+
+            publish(true);
+
+            if (solution == null || solution.getBound() <= 1)
+                break;
+
+            //Lower the weight, and search the inconsistent nodes again with it
+            weight = Math.max(1, Math.min(weight - weightStep, solution.getBound()));
+            searchNumber++;
+
+            PriorityQueue<SearchNode> reordered = new PriorityQueue<>(Math.max(1, open.size() + inconsistent.size()), this::compare);
+            for (SearchNode node : open)
+            {
+                if (isCurrent(node))
+                    reordered.add(node);
+            }
+            reordered.addAll(inconsistent);
+            inconsistent.clear();
+            open = reordered;
+        }
+
+        return solution;
+    }
+
+    /**
+     * Runs weighted A* with the current weight until no node in the frontier can lead to a shorter solution.
+     *
+     * @param timeLimitNanos the time limit of the whole search
+     * @param token          stops the search when cancelled, or null
+     * @return true if the search finished, false if the time is up or the token is cancelled
+     */
+    private boolean improvePath(long timeLimitNanos, CancellationToken token)
+    {
+        while (true)
+        {
+            SearchNode node = open.peek();
+            while (node != null && !isCurrent(node))
+            {
+                open.poll();
+                node = open.peek();
+            }
+
+            if (node == null || (goal != null && goal.g <= getPriority(node)))
+                return true;
+
+            //Checked before the node leaves the frontier, so the lowest F(n) of the frontier stays a lower bound
+            if (visitedNumber > 0 && visitedNumber % CHECK_INTERVAL == 0)
+            {
+                if (System.nanoTime() - start >= timeLimitNanos || (token != null && token.isCancelled()))
+                    return false;
+            }
+
+            open.poll();
+            visitedNumber++;
+            closed.put(node.state.getStateKey(), searchNumber);
+
+            if (node.state.isGoalState())
+            {
+                goal = node;
+                continue;
+            }
+
+            expand(node);
+        }
+    }
+
+    /**
+     * Generates the children of a node, keeping every child that is reached with a lower G(n) than before.
+     *
+     * @param node the node to expand
+     */
+    private void expand(SearchNode node)
+    {
+        for (Move move : Move.values())
+        {
+            //Moving back to the parent never helps
+            if (node.move != null && move == node.move.getInverse())
+                continue;
+
+            final WhiteSpacePuzzle.State childState = node.state.move(move);
+            if (childState == null)
+                continue;
+
+            final int g = node.g + 1;
+            final long key = childState.getStateKey();
+            final int index = indexes.get(key, -1);
+            if (index >= 0 && nodes.get(index).g <= g)
+                continue;
+
+            final SearchNode known = index >= 0 ? nodes.get(index) : null;
+            final int h = known != null ? known.h : algorithm.getHCost(childState);
+
+            //A child that cannot lead to a shorter solution is never needed
+            if (goal != null && g + h >= goal.g)
+                continue;
+
+            final SearchNode child = new SearchNode(childState, node, move, g, h);
+            if (index < 0)
+            {
+                indexes.put(key, nodes.size());
+                nodes.add(child);
+            } else
+            {
+                nodes.set(index, child);
+            }
+
+            if (closed.get(key, -1) == searchNumber)
+                inconsistent.add(child);
+            else
+                open.add(child);
+
+            //Keep the goal node current, so the solution always uses the shortest path found to it
+            if (goal != null && key == goal.state.getStateKey())
+                goal = child;
+        }
+    }
+
+    /**
+     * Publishes the best solution if it is shorter or has a tighter bound than the last one.
+     *
+     * @param finished true if the search with the current weight finished, so the weight bounds the solution as well
+     */
+    private void publish(boolean finished)
+    {
+        if (goal == null)
+            return;
+
+        //Every unexpanded node could still lead to a shorter solution, so the shortest solution costs at least their lowest F(n).
+        int lowest = goal.g;
+        for (SearchNode node : open)
+        {
+            if (isCurrent(node))
+                lowest = Math.min(lowest, node.g + node.h);
+        }
+        for (SearchNode node : inconsistent)
+        {
+            lowest = Math.min(lowest, node.g + node.h);
+        }
+
+        final double costRatio = lowest == 0 ? 1 : (double) goal.g / lowest;
+        final double bound = finished ? Math.min(weight, costRatio) : costRatio;
+
+        if (solution != null && solution.getCost() <= goal.g && solution.getBound() <= bound)
+            return;
+
+        solution = new Solution(getPath(goal), weight, bound, System.nanoTime() - start);
+        if (listener != null)
+            listener.accept(solution);
+    }
+
+    /**
+     * Checks if a node is still the best node of its state (it was not replaced by a node with a lower G(n)).
+     *
+     * @param node the node
+     * @return true if current
+     */
+    private boolean isCurrent(SearchNode node)
+    {
+        return nodes.get(indexes.get(node.state.getStateKey(), -1)) == node;
+    }
+
+    /**
+     * The priority of a node in the current search.
+     *
+     * @param node the node
+     * @return G(n) + w * H(n)
+     */
+    private double getPriority(SearchNode node)
+    {
+        return node.g + weight * node.h;
+    }
+
+    private int compare(SearchNode n1, SearchNode n2)
+    {
+        final int byPriority = Double.compare(getPriority(n1), getPriority(n2));
+        //Ties go to the deeper node, which is closer to a goal state
+        return byPriority != 0 ? byPriority : Integer.compare(n2.g, n1.g);
+    }
+
+    /**
+     * Walks the parents of the last node.
+     *
+     * @param node the goal node
+     * @return the moves from the initial state to the node
+     */
+    private List<Move> getPath(SearchNode node)
+    {
+        List<Move> path = new ArrayList<>();
+        for (; node.move != null; node = node.parent)
+        {
+            path.add(node.move);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Counts the amount of nodes we've expanded over all searches
+     * @return # of expanded nodes
+     */
+    public long getVisitedNumber()
+    {
+        return visitedNumber;
+    }
+
+    /**
+     * The weight of the last search.
+     * @return the weight
+     */
+    public double getWeight()
+    {
+        return weight;
+    }
+
+    /**
+     * A solution found by the search.
+     */
+    public static class Solution
+    {
+        private final List<Move> moves;
+        private final double weight;
+        private final double bound;
+        private final long elapsedNanos;
+
+        private Solution(List<Move> moves, double weight, double bound, long elapsedNanos)
+        {
+            this.moves = Collections.unmodifiableList(moves);
+            this.weight = weight;
+            this.bound = bound;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * The moves of the white space from the initial state to the goal state.
+         * @return the moves
+         */
+        public List<Move> getMoves()
+        {
+            return moves;
+        }
+
+        /**
+         * The amount of moves of the solution.
+         * @return # of moves
+         */
+        public int getCost()
+        {
+            return moves.size();
+        }
+
+        /**
+         * The weight of the search that found the solution.
+         * @return the weight
+         */
+        public double getWeight()
+        {
+            return weight;
+        }
+
+        /**
+         * The solution is at most this many times longer than the shortest solution. 1 means optimal.
+         * @return the bound
+         */
+        public double getBound()
+        {
+            return bound;
+        }
+
+        /**
+         * The time from the start of the search until the solution was found.
+         * @return nanoseconds
+         */
+        public long getElapsedNanos()
+        {
+            return elapsedNanos;
+        }
+
+        @Override
+        public String toString()
+        {
+            return String.format("%d moves (w=%.2f, bound=%.3f, %d ms)", getCost(), weight, bound, elapsedNanos / 1000000);
+        }
+    }
+
+    /**
+     * A state reached by the search.
+     */
+    private static class SearchNode
+    {
+        private final WhiteSpacePuzzle.State state;
+        private final SearchNode parent;
+        //The move used to reach this state from the parent
+        private final Move move;
+        private final int g;
+        private final int h;
+
+        private SearchNode(WhiteSpacePuzzle.State state, SearchNode parent, Move move, int g, int h)
+        {
+            this.state = state;
+            this.parent = parent;
+            this.move = move;
+            this.g = g;
+            this.h = h;
+        }
+    }
+}
@@ -0,0 +1,421 @@
+package AI;
+
+import WhiteSpacePuzzle.Move;
+import WhiteSpacePuzzle.WhiteSpacePuzzle;
+import algorithms.Algorithm;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+
+/**
+ * Defines a bidirectional search for the white space puzzle. Since every move can be undone, the puzzle can be searched
+ * forward from the initial state and backward from the goal state at the same time, stopping once the two searches
+ * meet on a path that is proven to be the shortest.
+ * <p>
+ * Two modes are supported:
+ * <ul>
+ * <li>FRONT_TO_END (MM): both searches expand by priority max(F(n), 2 * G(n)), where the backward search estimates the
+ * distance to the initial state. The search stops once the best path found costs no more than the lowest priority.</li>
+ * <li>BREADTH_FIRST: blind bidirectional breadth-first search. Whole layers of the smaller side are expanded and the
+ * search stops after the first layer that meets the other side.</li>
+ * </ul>
+ */
+public class BidirectionalSearch
+{
+    /**
+     * The way both searches choose the next node.
+     */
+    public enum Mode
+    {
+        FRONT_TO_END,
+        BREADTH_FIRST
+    }
+
+    //The puzzle that is being solved
+    private WhiteSpacePuzzle puzzle;
+
+    //The puzzle seen from the goal state: its goal is the initial state, so its costs estimate the distance to the initial state.
+    private WhiteSpacePuzzle reversePuzzle;
+
+    //The heuristic of both directions (null in breadth-first mode)
+    private Algorithm forwardAlgorithm;
+    private Algorithm backwardAlgorithm;
+
+    private Mode mode;
+
+    //The moves in the order they are tried
+    private final Move[] moves = Move.values();
+
+    //The amount of nodes we have expanded (both directions)
+    private long visitedNumber = 0;
+
+    // The max size of both frontiers together.
+    private int maxFrontierSize = 0;
+
+    //The amount of distinct states seen by both directions
+    private int exploredSetSize = 0;
+
+    //The best path found so far: its cost, and the nodes where both directions meet.
+    private int bestCost;
+    private SearchNode forwardMeeting;
+    private SearchNode backwardMeeting;
+
+    /**
+     * Creates a blind bidirectional breadth-first search.
+     *
+     * @param puzzle the puzzle with its initial and goal state set
+     */
+    public BidirectionalSearch(WhiteSpacePuzzle puzzle)
+    {
+        this.puzzle = puzzle;
+        this.mode = Mode.BREADTH_FIRST;
+    }
+
+    /**
+     * Creates a front-to-end bidirectional search (MM).
+     *
+     * @param puzzle    the puzzle with its initial and goal state set
+     * @param heuristic creates the algorithm which supplies H(n) for a puzzle, for example AStarManhattanCostAlgorithm::new.
+     *                  It is used for the puzzle (forward) and for the puzzle with initial and goal state swapped (backward).
+     */
+    public BidirectionalSearch(WhiteSpacePuzzle puzzle, Function<WhiteSpacePuzzle, Algorithm> heuristic)
+    {
+        this.puzzle = puzzle;
+        this.mode = Mode.FRONT_TO_END;
+
+        this.reversePuzzle = new WhiteSpacePuzzle(puzzle.getSize());
+        reversePuzzle.setGoalState(puzzle.getInitState().getState());
+        reversePuzzle.setInitialState(puzzle.getGoalState().getState());
+
+        this.forwardAlgorithm = heuristic.apply(puzzle);
+        this.backwardAlgorithm = heuristic.apply(reversePuzzle);
+    }
+
+    /**
+     * Finds the shortest solution from the initial state to the goal state.
+     *
+     * @return the moves of the white space, otherwise returns null if the searches never meet.
+     */
+    public List<Move> findSolution()
+    {
+        visitedNumber = 0;
+        maxFrontierSize = 0;
+        bestCost = Integer.MAX_VALUE;
+        forwardMeeting = null;
+        backwardMeeting = null;
+
+        if (puzzle.getInitState().isGoalState())
+        {
+            return new ArrayList<>();
+        }
+
+        if (mode == Mode.FRONT_TO_END)
+        {
+            searchFrontToEnd();
+        } else
+        {
+            searchBreadthFirst();
+        }
+
+        return forwardMeeting == null ? null : getPath();
+    }
+
+    /**
+     * Runs MM: expands the side with the lowest priority max(F(n), 2 * G(n)) until the best path costs no more than it.
+     */
+    private void searchFrontToEnd()
+    {
+        final WhiteSpacePuzzle.State goal = reversePuzzle.getInitState();
+
+        Direction forward = new Direction(true, forwardAlgorithm);
+        Direction backward = new Direction(false, backwardAlgorithm);
+        forward.open(new SearchNode(puzzle.getInitState(), null, null, 0, forwardAlgorithm.getHCost(puzzle.getInitState())));
+        backward.open(new SearchNode(goal, null, null, 0, backwardAlgorithm.getHCost(goal)));
+
+        while (true)
+        {
+            final SearchNode nextForward = forward.peek();
+            final SearchNode nextBackward = backward.peek();
+
+            if (nextForward == null || nextBackward == null)
+            {
+                return;
+            }
+
+            //Every path that was not found yet costs at least the lowest priority
+            final int lowest = Math.min(nextForward.priority, nextBackward.priority);
+            if (bestCost <= lowest)
+            {
+                return;
+            }
+
+            if (nextForward.priority <= nextBackward.priority)
+            {
+                expand(forward, backward, forward.poll());
+            } else
+            {
+                expand(backward, forward, backward.poll());
+            }
+
+            maxFrontierSize = Math.max(maxFrontierSize, forward.queue.size() + backward.queue.size());
+        }
+    }
+
+    /**
+     * Runs the blind bidirectional breadth-first search: expands a whole layer of the smaller side at a time.
+     */
+    private void searchBreadthFirst()
+    {
+        final WhiteSpacePuzzle.State goal = puzzle.new State(puzzle.getGoalState().getState());
+
+        Direction forward = new Direction(true, null);
+        Direction backward = new Direction(false, null);
+        forward.open(new SearchNode(puzzle.getInitState(), null, null, 0, 0));
+        backward.open(new SearchNode(goal, null, null, 0, 0));
+
+        while (!forward.layer.isEmpty() && !backward.layer.isEmpty())
+        {
+            if (forward.layer.size() <= backward.layer.size())
+            {
+                expandLayer(forward, backward);
+            } else
+            {
+                expandLayer(backward, forward);
+            }
+
+            maxFrontierSize = Math.max(maxFrontierSize, forward.layer.size() + backward.layer.size());
+
+            //Every shorter path would have met in an earlier layer
+            if (forwardMeeting != null)
+            {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Expands every node of the current layer of a direction.
+     *
+     * @param side  the direction to expand
+     * @param other the opposite direction
+     */
+    private void expandLayer(Direction side, Direction other)
+    {
+        final List<SearchNode> layer = side.layer;
+        side.layer = new ArrayList<>();
+
+        for (SearchNode node : layer)
+        {
+            expand(side, other, node);
+        }
+    }
+
+    /**
+     * Generates the children of a node and checks if they meet the opposite direction.
+     *
+     * @param side  the direction of the node
+     * @param other the opposite direction
+     * @param node  the node to expand
+     */
+    private void expand(Direction side, Direction other, SearchNode node)
+    {
+        visitedNumber++;
+
+        for (Move move : moves)
+        {
+            //Moving back to the parent never helps
+            if (node.move != null && move == node.move.getInverse())
+            {
+                continue;
+            }
+
+            final WhiteSpacePuzzle.State childState = node.state.move(move);
+            if (childState == null)
+            {
+                continue;
+            }
+
+            final int g = node.g + 1;
+            final long key = childState.getStateKey();
+
+            final SearchNode known = side.get(key);
+            if (known != null && known.g <= g)
+            {
+                continue;
+            }
+
+            final int h = side.algorithm == null ? 0 : side.algorithm.getHCost(childState);
+            final SearchNode child = new SearchNode(childState, node, move, g, h);
+            side.open(child);
+
+            final SearchNode meeting = other.get(key);
+            if (meeting != null && g + meeting.g < bestCost)
+            {
+                bestCost = g + meeting.g;
+                forwardMeeting = side.isForward ? child : meeting;
+                backwardMeeting = side.isForward ? meeting : child;
+            }
+        }
+    }
+
+    /**
+     * Joins the forward path to the meeting state with the reversed backward path from it.
+     *
+     * @return the moves from the initial state to the goal state
+     */
+    private List<Move> getPath()
+    {
+        List<Move> path = new ArrayList<>();
+        for (SearchNode node = forwardMeeting; node.move != null; node = node.parent)
+        {
+            path.add(node.move);
+        }
+        Collections.reverse(path);
+
+        //The backward search moved from the goal state, so its moves are undone in reverse order.
+        for (SearchNode node = backwardMeeting; node.move != null; node = node.parent)
+        {
+            path.add(node.move.getInverse());
+        }
+        return path;
+    }
+
+    /**
+     * Returns the way both searches choose the next node.
+     *
+     * @return
+     */
+    public Mode getMode()
+    {
+        return mode;
+    }
+
+    /**
+     * Counts the amount of nodes we've expanded in both directions
+     * @return # of expanded nodes
+     */
+    public long getVisitedNumber()
+    {
+        return visitedNumber;
+    }
+
+    public int getMaxFrontierSize()
+    {
+        return maxFrontierSize;
+    }
+
+    /**
+     * Counts the amount of distinct states seen by both directions
+     * @return # of states
+     */
+    public int getExploredSetSize()
+    {
+        return exploredSetSize;
+    }
+
+    /**
+     * A state reached by one of the directions.
+     */
+    private static class SearchNode
+    {
+        private final WhiteSpacePuzzle.State state;
+        private final SearchNode parent;
+        //The move used to reach this state from the parent
+        private final Move move;
+        private final int g;
+        //max(F(n), 2 * G(n))
+        private final int priority;
+
+        private SearchNode(WhiteSpacePuzzle.State state, SearchNode parent, Move move, int g, int h)
+        {
+            this.state = state;
+            this.parent = parent;
+            this.move = move;
+            this.g = g;
+            this.priority = Math.max(g + h, 2 * g);
+        }
+    }
+
+    /**
+     * The nodes of one direction: the best node of every state seen, and the nodes still to expand.
+     */
+    private class Direction
+    {
+        private final boolean isForward;
+        private final Algorithm algorithm;
+
+        //The best node of every state seen (state key -> index in nodes)
+        private final LongIntHashMap indexes = new LongIntHashMap();
+        private final List<SearchNode> nodes = new ArrayList<>();
+
+        //The open nodes by priority (front-to-end) or the current layer (breadth-first)
+        private final PriorityQueue<SearchNode> queue = new PriorityQueue<>((n1, n2) -> n1.priority != n2.priority ? Integer.compare(n1.priority, n2.priority) : Integer.compare(n1.g, n2.g));
+        private List<SearchNode> layer = new ArrayList<>();
+
+        private Direction(boolean isForward, Algorithm algorithm)
+        {
+            this.isForward = isForward;
+            this.algorithm = algorithm;
+        }
+
+        /**
+         * Remembers a node as the best node of its state and adds it to the nodes to expand.
+         *
+         * @param node the node
+         */
+        private void open(SearchNode node)
+        {
+            final long key = node.state.getStateKey();
+            final int index = indexes.get(key, -1);
+            if (index < 0)
+            {
+                indexes.put(key, nodes.size());
+                nodes.add(node);
+                exploredSetSize++;
+            } else
+            {
+                nodes.set(index, node);
+            }
+
+            if (mode == Mode.FRONT_TO_END)
+                queue.add(node);
+            else
+                layer.add(node);
+        }
+
+        /**
+         * Gets the best node of a state.
+         *
+         * @param key the state key
+         * @return the node, or null if this direction has not seen the state
+         */
+        private SearchNode get(long key)
+        {
+            final int index = indexes.get(key, -1);
+            return index < 0 ? null : nodes.get(index);
+        }
+
+        /**
+         * The next node to expand, skipping nodes that were replaced by a cheaper node of the same state.
+         *
+         * @return the next node, or null if there is none
+         */
+        private SearchNode peek()
+        {
+            while (!queue.isEmpty() && get(queue.peek().state.getStateKey()) != queue.peek())
+            {
+                queue.poll();
+            }
+            return queue.peek();
+        }
+
+        private SearchNode poll()
+        {
+            peek();
+            return queue.poll();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package AI;
+
+/**
+ * An explored set kept as one bit per reachable state, at the index given by a StateIndexer. There is no hashing and no
+ * collision, and an explored state costs one bit, but the whole bitset is allocated up front. It fits when the amount of
+ * reachable states is small, like the 181,440 states of a 3x3 board (about 23 KB).
+ */
+public class BitSetClosedList implements ClosedList
+{
+    //The most words a Java array can hold
+    private static final long MAX_WORDS = Integer.MAX_VALUE - 8;
+
+    //Gives every state its bit
+    private final StateIndexer indexer;
+
+    //The bits, 64 per word
+    private final long[] words;
+
+    //The amount of bits set
+    private int size = 0;
+
+    /**
+     * Creates an empty explored set with a bit for every index of the indexer.
+     *
+     * @param indexer gives every state its index
+     */
+    public BitSetClosedList(StateIndexer indexer)
+    {
+        final long wordNumber = (indexer.getIndexCount() + 63) >>> 6;
+        if (wordNumber > MAX_WORDS)
+            throw new IllegalArgumentException(indexer.getIndexCount() + " states do not fit in a bitset.");
+
+        this.indexer = indexer;
+        this.words = new long[(int) wordNumber];
+    }
+
+    @Override
+    public boolean contains(long stateKey)
+    {
+        final long index = indexer.rank(stateKey);
+        return (words[(int) (index >>> 6)] & (1L << index)) != 0;
+    }
+
+    @Override
+    public boolean add(long stateKey)
+    {
+        final long index = indexer.rank(stateKey);
+        final int word = (int) (index >>> 6);
+        final long bit = 1L << index;
+        if ((words[word] & bit) != 0)
+            return false;
+
+        words[word] |= bit;
+        size++;
+        return true;
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public long getEstimatedBytes()
+    {
+        return (long) words.length * Long.BYTES;
+    }
+}
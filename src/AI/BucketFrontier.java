@@ -0,0 +1,165 @@
+package AI;
+
+import java.util.Arrays;
+import java.util.function.ToIntFunction;
+
+/**
+ * A frontier for whole number costs. Nodes are kept in buckets indexed by F(n) and, inside each bucket, by H(n).
+ * The next node is the one with the lowest F(n), then the lowest H(n), then the one added last (LIFO).
+ * Adding and removing a node is O(1) (amortized) because no comparisons are needed.
+ *
+ * @param <E> The node type
+ */
+public class BucketFrontier<E> implements Frontier<E>
+{
+    //Computes F(n) and H(n) of a node
+    private ToIntFunction<? super E> fCost;
+    private ToIntFunction<? super E> hCost;
+
+    //The buckets indexed by F(n). A bucket is only created once a node of that cost is added.
+    private Bucket[] buckets = new Bucket[64];
+
+    //Every bucket below this index is empty
+    private int minF = Integer.MAX_VALUE;
+
+    //The amount of nodes in the frontier
+    private int size = 0;
+
+    /**
+     * Creates a bucket frontier.
+     *
+     * @param fCost computes F(n) of a node, a positive integer
+     * @param hCost computes H(n) of a node, a positive integer
+     */
+    public BucketFrontier(ToIntFunction<? super E> fCost, ToIntFunction<? super E> hCost)
+    {
+        this.fCost = fCost;
+        this.hCost = hCost;
+    }
+
+    @Override
+    public void add(E element)
+    {
+        final int f = fCost.applyAsInt(element);
+        final int h = hCost.applyAsInt(element);
+
+        if (f < 0 || h < 0)
+            throw new IllegalArgumentException("Bucket frontier costs must be positive but were f=" + f + ", h=" + h + ".");
+
+        if (f >= buckets.length)
+            buckets = Arrays.copyOf(buckets, Math.max(buckets.length << 1, f + 1));
+
+        Bucket bucket = buckets[f];
+        if (bucket == null)
+        {
+            bucket = new Bucket();
+            buckets[f] = bucket;
+        }
+        bucket.push(h, element);
+
+        if (f < minF)
+            minF = f;
+        size++;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E poll()
+    {
+        if (size == 0)
+            return null;
+
+        //Skip the empty buckets. Since the lowest cost only moves up (unless a cheaper node is added), this is amortized O(1).
+        while (buckets[minF] == null || buckets[minF].size == 0)
+            minF++;
+
+        size--;
+        final E element = (E) buckets[minF].pop();
+
+        if (size == 0)
+            minF = Integer.MAX_VALUE;
+
+        return element;
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * The nodes that have the same F(n), kept in stacks indexed by H(n).
+     */
+    private static class Bucket
+    {
+        //The stacks indexed by H(n)
+        private Object[][] stacks = new Object[16][];
+        private int[] stackSizes = new int[16];
+
+        //Every stack below this index is empty
+        private int minH = Integer.MAX_VALUE;
+
+        //The amount of nodes in this bucket
+        private int size = 0;
+
+        /**
+         * Pushes the node to the stack of its H(n).
+         *
+         * @param h       the H(n) of the node
+         * @param element the node
+         */
+        private void push(int h, Object element)
+        {
+            if (h >= stacks.length)
+            {
+                final int length = Math.max(stacks.length << 1, h + 1);
+                stacks = Arrays.copyOf(stacks, length);
+                stackSizes = Arrays.copyOf(stackSizes, length);
+            }
+
+            Object[] stack = stacks[h];
+            if (stack == null)
+            {
+                stack = new Object[8];
+                stacks[h] = stack;
+            } else if (stackSizes[h] == stack.length)
+            {
+                stack = Arrays.copyOf(stack, stack.length << 1);
+                stacks[h] = stack;
+            }
+            stack[stackSizes[h]++] = element;
+
+            if (h < minH)
+                minH = h;
+            size++;
+        }
+
+        /**
+         * Pops the last added node of the lowest H(n).
+         *
+         * @return the node
+         */
+        private Object pop()
+        {
+            while (stackSizes[minH] == 0)
+                minH++;
+
+            final Object[] stack = stacks[minH];
+            final int top = --stackSizes[minH];
+            final Object element = stack[top];
+            stack[top] = null; //let the node be collected
+
+            if (--size == 0)
+                minH = Integer.MAX_VALUE;
+
+            return element;
+        }
+    }
+}
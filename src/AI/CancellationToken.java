@@ -0,0 +1,28 @@
+package AI;
+
+/**
+ * Lets another thread stop a running search. The search checks the token every few polls and ends with the CANCELLED
+ * status, keeping what it found so far. A token can be shared by many searches, for example every search of a request.
+ */
+public class CancellationToken
+{
+    private volatile boolean cancelled = false;
+
+    /**
+     * Asks every search that uses this token to stop.
+     */
+    public void cancel()
+    {
+        cancelled = true;
+    }
+
+    /**
+     * Checks if the searches were asked to stop.
+     *
+     * @return true if cancelled, false otherwise
+     */
+    public boolean isCancelled()
+    {
+        return cancelled;
+    }
+}
@@ -0,0 +1,37 @@
+package AI;
+
+/**
+ * Defines the explored set of a search: the keys of the states that were already expanded, so they are not expanded again.
+ */
+public interface ClosedList
+{
+    /**
+     * Checks if a state was explored.
+     *
+     * @param stateKey the key of the state
+     * @return true if the state was explored, false otherwise
+     */
+    boolean contains(long stateKey);
+
+    /**
+     * Marks a state as explored.
+     *
+     * @param stateKey the key of the state
+     * @return true if the state was not explored before, false otherwise
+     */
+    boolean add(long stateKey);
+
+    /**
+     * The amount of explored states.
+     *
+     * @return # of explored states
+     */
+    int size();
+
+    /**
+     * Estimates the memory held by the explored set.
+     *
+     * @return bytes
+     */
+    long getEstimatedBytes();
+}
@@ -0,0 +1,197 @@
+package AI;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the events of a search with LongAdder counters, so the counters can be read from another thread while the
+ * search runs (for example by a monitoring thread) without slowing it down.
+ *
+ * @param <T> The state type
+ */
+public class CountingSearchListener<T extends AbstractState> implements SearchListener<T>
+{
+    private final LongAdder expanded = new LongAdder();
+    private final LongAdder generated = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder goals = new LongAdder();
+
+    private final LongAccumulator peakFrontierSize = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator peakHeapBytes = new LongAccumulator(Math::max, 0);
+
+    //When the search started and ended (System.nanoTime), 0 if it did not
+    private volatile long startNanos = 0;
+    private volatile long endNanos = 0;
+
+    @Override
+    public void onSearchStarted(AITree<T>.Node root)
+    {
+        startNanos = System.nanoTime();
+        endNanos = 0;
+        sampleHeap();
+    }
+
+    @Override
+    public void onExpand(AITree<T>.Node node)
+    {
+        expanded.increment();
+    }
+
+    @Override
+    public void onGenerate(AITree<T>.Node child)
+    {
+        generated.increment();
+    }
+
+    @Override
+    public void onDuplicatePruned(AITree<T>.Node parent, long stateKey)
+    {
+        duplicates.increment();
+    }
+
+    @Override
+    public void onGoalFound(AITree<T>.Node goal)
+    {
+        goals.increment();
+    }
+
+    @Override
+    public void onFrontierSample(int frontierSize)
+    {
+        peakFrontierSize.accumulate(frontierSize);
+        sampleHeap();
+    }
+
+    @Override
+    public void onSearchFinished(AITree<T>.Node solution)
+    {
+        sampleHeap();
+        endNanos = System.nanoTime();
+    }
+
+    /**
+     * Keeps the used heap if it is the highest so far. Only sampled, so short peaks between samples are missed.
+     */
+    private void sampleHeap()
+    {
+        final Runtime runtime = Runtime.getRuntime();
+        peakHeapBytes.accumulate(runtime.totalMemory() - runtime.freeMemory());
+    }
+
+    /**
+     * Counts the amount of nodes that were expanded
+     * @return # of expanded nodes
+     */
+    public long getExpanded()
+    {
+        return expanded.sum();
+    }
+
+    /**
+     * Counts the amount of children that were added to the frontier
+     * @return # of generated nodes
+     */
+    public long getGenerated()
+    {
+        return generated.sum();
+    }
+
+    /**
+     * Counts the amount of children that were dropped because their state was already explored or queued
+     * @return # of duplicates
+     */
+    public long getDuplicates()
+    {
+        return duplicates.sum();
+    }
+
+    /**
+     * Counts the amount of goal nodes that became the solution
+     * @return # of goals
+     */
+    public long getGoals()
+    {
+        return goals.sum();
+    }
+
+    /**
+     * The share of children that were duplicates.
+     *
+     * @return a number between 0 and 1
+     */
+    public double getDuplicateRatio()
+    {
+        final long duplicates = getDuplicates();
+        final long children = duplicates + getGenerated();
+        return children == 0 ? 0 : (double) duplicates / children;
+    }
+
+    /**
+     * The amount of expanded nodes per second, up to now if the search is still running.
+     *
+     * @return nodes per second
+     */
+    public double getNodesPerSecond()
+    {
+        final long nanos = getElapsedNanos();
+        return nanos == 0 ? 0 : getExpanded() * 1e9 / nanos;
+    }
+
+    /**
+     * The time the search took, up to now if the search is still running.
+     *
+     * @return nanoseconds, 0 if the search did not start
+     */
+    public long getElapsedNanos()
+    {
+        final long start = startNanos;
+        if (start == 0)
+            return 0;
+
+        final long end = endNanos;
+        return (end == 0 ? System.nanoTime() : end) - start;
+    }
+
+    /**
+     * The largest frontier size that was sampled.
+     *
+     * @return # of nodes
+     */
+    public long getPeakFrontierSize()
+    {
+        return peakFrontierSize.get();
+    }
+
+    /**
+     * The largest used heap that was sampled. It includes everything else the JVM holds, not just the search.
+     *
+     * @return bytes
+     */
+    public long getPeakHeapBytes()
+    {
+        return peakHeapBytes.get();
+    }
+
+    /**
+     * Clears every counter, so the listener can be used for the next search.
+     */
+    public void reset()
+    {
+        expanded.reset();
+        generated.reset();
+        duplicates.reset();
+        goals.reset();
+        peakFrontierSize.reset();
+        peakHeapBytes.reset();
+        startNanos = 0;
+        endNanos = 0;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("expanded=%d generated=%d duplicates=%d (%.1f%%) nodes/sec=%.0f peakFrontier=%d peakHeap=%dMB",
+                getExpanded(), getGenerated(), getDuplicates(), getDuplicateRatio() * 100, getNodesPerSecond(),
+                getPeakFrontierSize(), getPeakHeapBytes() >> 20);
+    }
+}
@@ -0,0 +1,463 @@
+package AI;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Defines a breadth-first search that keeps its layers on disk instead of the heap, so it can explore spaces far larger
+ * than memory (for example the 4x4 puzzle). Every layer is a file of sorted, distinct state keys.
+ * <p>
+ * A layer is built in two steps. The states of the current layer are read from a memory-mapped file and expanded into a
+ * buffer of fixed size; every time the buffer is full it is sorted and written as a run. Then the runs are merged, and
+ * duplicates are removed in bulk (delayed duplicate detection): a state is dropped if it is in another run, in the current
+ * layer or in the layer before. Every operator must be undone by another operator, so a child is always in the layer
+ * before, the current layer or the next layer, and only the last two layers need to be kept (frontier search).
+ * <p>
+ * Operator costs are not used: the depth of a state is its amount of moves.
+ *
+ * @param <T> the state, which must be created again from its state key
+ */
+public class ExternalBreadthFirstSearch<T extends AbstractState>
+{
+    //The bytes of a layer file that are mapped at a time
+    private static final int MAP_WINDOW = 1 << 24;
+
+    //The state the search starts from (depth 0)
+    private final T initialState;
+
+    //The operators used to expand a state
+    private final List<AIFunction<T>> operators;
+
+    //The directory of the layer and run files
+    private final File directory;
+
+    //The amount of states expanded in memory before they are sorted and written as a run
+    private int bufferSize = 1 << 22;
+
+    //The deepest layer to build
+    private int maxDepth = Integer.MAX_VALUE;
+
+    //Whether every layer file is kept after the search (layer-<depth>.bin), otherwise they are deleted
+    private boolean keepLayers = false;
+
+    //Receives every layer once it is built, can be null
+    private LayerListener listener;
+
+    //The amount of states of every layer, by depth
+    private final List<Long> layerSizes = new ArrayList<>();
+
+    /**
+     * Creates an external breadth-first search.
+     *
+     * @param initialState the state at depth 0
+     * @param operators    the operators, for example the operators of the OperatorManager. The costs are not used.
+     * @param directory    the directory of the layer and run files, created if it does not exist
+     */
+    public ExternalBreadthFirstSearch(T initialState, Map<AIFunction<T>, Float> operators, File directory)
+    {
+        this.initialState = initialState;
+        this.operators = new ArrayList<>(operators.keySet());
+        this.directory = directory;
+    }
+
+    /**
+     * Builds every layer until no new state is found, or the max depth is reached.
+     *
+     * @return the amount of states of every layer, by depth
+     * @throws IOException if a file cannot be written or read
+     */
+    public List<Long> search() throws IOException
+    {
+        return search(null);
+    }
+
+    /**
+     * Builds every layer until no new state is found, the max depth is reached or the token is cancelled. A cancelled
+     * search stops after the layer it is building.
+     *
+     * @param token stops the search when cancelled, or null
+     * @return the amount of states of every complete layer, by depth
+     * @throws IOException if a file cannot be written or read
+     */
+    public List<Long> search(CancellationToken token) throws IOException
+    {
+        directory.mkdirs();
+        layerSizes.clear();
+
+        final long[] buffer = new long[bufferSize];
+
+        File previous = null;
+        File current = getLayerFile(0);
+        try (DataOutputStream out = createOutput(current))
+        {
+            out.writeLong(initialState.getStateKey());
+        }
+        addLayer(0, 1);
+
+        try
+        {
+            for (int depth = 1; depth <= maxDepth; depth++)
+            {
+                if (token != null && token.isCancelled())
+                    break;
+
+                final List<File> runs = expand(current, buffer, depth);
+                final File next = getLayerFile(depth);
+                final long size;
+                try
+                {
+                    size = merge(runs, current, previous, next);
+                } finally
+                {
+                    for (File run : runs)
+                    {
+                        run.delete();
+                    }
+                }
+
+                if (!keepLayers && previous != null)
+                    previous.delete();
+
+                if (size == 0)
+                {
+                    next.delete();
+                    break;
+                }
+
+                addLayer(depth, size);
+                previous = current;
+                current = next;
+            }
+        } finally
+        {
+            if (!keepLayers)
+            {
+                current.delete();
+                if (previous != null)
+                    previous.delete();
+            }
+        }
+
+        return Collections.unmodifiableList(new ArrayList<>(layerSizes));
+    }
+
+    /**
+     * Expands every state of a layer into sorted runs of distinct children.
+     *
+     * @param layer  the file of the layer
+     * @param buffer the buffer the children are collected in
+     * @param depth  the depth of the children
+     * @return the files of the runs
+     * @throws IOException if a file cannot be written or read
+     */
+    @SuppressWarnings("unchecked")
+    private List<File> expand(File layer, long[] buffer, int depth) throws IOException
+    {
+        List<File> runs = new ArrayList<>();
+        int length = 0;
+
+        try (LayerReader in = new LayerReader(layer))
+        {
+            for (; in.hasValue(); in.advance())
+            {
+                final T state = (T) initialState.createState(in.getValue());
+                for (AIFunction<T> operator : operators)
+                {
+                    final T child = operator.apply(state);
+                    if (child == null)
+                        continue;
+
+                    if (length == buffer.length)
+                    {
+                        runs.add(writeRun(buffer, length, depth, runs.size()));
+                        length = 0;
+                    }
+                    buffer[length++] = child.getStateKey();
+                }
+            }
+        }
+
+        if (length > 0)
+            runs.add(writeRun(buffer, length, depth, runs.size()));
+        return runs;
+    }
+
+    /**
+     * Sorts the buffer and writes its distinct states as a run.
+     *
+     * @return the file of the run
+     * @throws IOException if the file cannot be written
+     */
+    private File writeRun(long[] buffer, int length, int depth, int runNumber) throws IOException
+    {
+        Arrays.sort(buffer, 0, length);
+
+        final File run = new File(directory, "run-" + depth + "-" + runNumber + ".bin");
+        try (DataOutputStream out = createOutput(run))
+        {
+            for (int i = 0; i < length; i++)
+            {
+                if (i == 0 || buffer[i] != buffer[i - 1])
+                    out.writeLong(buffer[i]);
+            }
+        }
+        return run;
+    }
+
+    /**
+     * Merges the runs into the next layer, keeping every state once and dropping the states of the current and
+     * previous layer.
+     *
+     * @param runs     the sorted runs of the children of the current layer
+     * @param current  the current layer
+     * @param previous the layer before, or null at depth 0
+     * @param next     the file of the next layer
+     * @return the amount of states of the next layer
+     * @throws IOException if a file cannot be written or read
+     */
+    private long merge(List<File> runs, File current, File previous, File next) throws IOException
+    {
+        PriorityQueue<LayerReader> heads = new PriorityQueue<>(Math.max(1, runs.size()), (r1, r2) -> Long.compare(r1.getValue(), r2.getValue()));
+        LayerReader currentReader = null;
+        LayerReader previousReader = null;
+        long size = 0;
+
+        try (DataOutputStream out = createOutput(next))
+        {
+            for (File run : runs)
+            {
+                LayerReader reader = new LayerReader(run);
+                if (reader.hasValue())
+                    heads.add(reader);
+                else
+                    reader.close();
+            }
+            currentReader = new LayerReader(current);
+            previousReader = previous == null ? null : new LayerReader(previous);
+
+            boolean hasLast = false;
+            long last = 0;
+            while (!heads.isEmpty())
+            {
+                final LayerReader head = heads.poll();
+                final long key = head.getValue();
+                head.advance();
+                if (head.hasValue())
+                    heads.add(head);
+                else
+                    head.close();
+
+                //The same state from another run
+                if (hasLast && key == last)
+                    continue;
+                hasLast = true;
+                last = key;
+
+                if (contains(currentReader, key) || contains(previousReader, key))
+                    continue;
+
+                out.writeLong(key);
+                size++;
+            }
+        } finally
+        {
+            for (LayerReader reader : heads)
+            {
+                reader.close();
+            }
+            if (currentReader != null)
+                currentReader.close();
+            if (previousReader != null)
+                previousReader.close();
+        }
+        return size;
+    }
+
+    /**
+     * Checks if a sorted layer contains a key, skipping every lower key. The keys checked must never decrease.
+     *
+     * @param reader the reader of the layer, or null
+     * @param key    the key
+     * @return true if the layer contains the key, false otherwise
+     */
+    private static boolean contains(LayerReader reader, long key) throws IOException
+    {
+        if (reader == null)
+            return false;
+
+        while (reader.hasValue() && reader.getValue() < key)
+        {
+            reader.advance();
+        }
+        return reader.hasValue() && reader.getValue() == key;
+    }
+
+    private void addLayer(int depth, long size)
+    {
+        layerSizes.add(size);
+        if (listener != null)
+            listener.onLayer(depth, size);
+    }
+
+    private static DataOutputStream createOutput(File file) throws IOException
+    {
+        return new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16));
+    }
+
+    /**
+     * The file of a layer.
+     *
+     * @param depth the depth of the layer
+     * @return the file, which holds the sorted state keys of the layer as 8-byte big-endian numbers
+     */
+    public File getLayerFile(int depth)
+    {
+        return new File(directory, "layer-" + depth + ".bin");
+    }
+
+    /**
+     * Sets the amount of states expanded in memory before they are sorted and written as a run. It takes 8 bytes per state.
+     *
+     * @param bufferSize the amount of states, at least 1
+     */
+    public void setBufferSize(int bufferSize)
+    {
+        if (bufferSize < 1)
+            throw new IllegalArgumentException("The buffer needs room for at least 1 state but had " + bufferSize + ".");
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Sets the deepest layer to build.
+     *
+     * @param maxDepth the depth, at least 0
+     */
+    public void setMaxDepth(int maxDepth)
+    {
+        if (maxDepth < 0)
+            throw new IllegalArgumentException("The max depth cannot be negative but was " + maxDepth + ".");
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Sets whether every layer file is kept after the search (see getLayerFile), for example to build a pattern database
+     * from them. Otherwise only the last two layers are on disk at a time, and they are deleted at the end.
+     *
+     * @param keepLayers true to keep the layer files
+     */
+    public void setKeepLayers(boolean keepLayers)
+    {
+        this.keepLayers = keepLayers;
+    }
+
+    /**
+     * Sets the listener that receives every layer once it is built. Called on the searching thread.
+     *
+     * @param listener the listener, or null
+     */
+    public void setLayerListener(LayerListener listener)
+    {
+        this.listener = listener;
+    }
+
+    /**
+     * The amount of states of every layer of the last search, by depth.
+     *
+     * @return the layer sizes
+     */
+    public List<Long> getLayerSizes()
+    {
+        return Collections.unmodifiableList(layerSizes);
+    }
+
+    /**
+     * Receives every layer once it is built.
+     */
+    public interface LayerListener
+    {
+        /**
+         * Called once a layer is built.
+         *
+         * @param depth the depth of the layer
+         * @param size  the amount of states of the layer
+         */
+        void onLayer(int depth, long size);
+    }
+
+    /**
+     * Reads a file of state keys in order, mapping a window of the file at a time.
+     */
+    private static class LayerReader implements Closeable
+    {
+        private final RandomAccessFile file;
+        private final FileChannel channel;
+        private final long length;
+
+        //The mapped part of the file and where it starts
+        private MappedByteBuffer window;
+        private long windowStart = 0;
+
+        //The key the reader is at
+        private long value;
+        private boolean hasValue;
+
+        private LayerReader(File file) throws IOException
+        {
+            this.file = new RandomAccessFile(file, "r");
+            this.channel = this.file.getChannel();
+            this.length = channel.size();
+            advance();
+        }
+
+        private boolean hasValue()
+        {
+            return hasValue;
+        }
+
+        private long getValue()
+        {
+            return value;
+        }
+
+        /**
+         * Moves to the next key of the file.
+         */
+        private void advance() throws IOException
+        {
+            if (window == null || !window.hasRemaining())
+            {
+                if (window != null)
+                    windowStart += window.capacity();
+                if (windowStart >= length)
+                {
+                    hasValue = false;
+                    return;
+                }
+                window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, Math.min(MAP_WINDOW, length - windowStart));
+            }
+            value = window.getLong();
+            hasValue = true;
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            window = null;
+            channel.close();
+            file.close();
+        }
+    }
+}
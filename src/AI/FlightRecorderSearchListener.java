@@ -0,0 +1,233 @@
+package AI;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Emits the events of a search as JDK Flight Recorder events, so a search can be profiled with a recording
+ * (for example -XX:StartFlightRecording) without a debugger. An event that is not enabled in the recording costs
+ * a single check.
+ * <p>
+ * The search, goal and frontier sample events are enabled by default. The per node events (expand, generate,
+ * duplicate) are very frequent, so they are disabled by default and must be enabled in the recording settings.
+ *
+ * @param <T> The state type
+ */
+public class FlightRecorderSearchListener<T extends AbstractState> implements SearchListener<T>
+{
+    //The event of the running search, committed once it finishes
+    private SearchEvent search;
+
+    private long expanded = 0;
+    private long generated = 0;
+    private long duplicates = 0;
+    private int peakFrontierSize = 0;
+
+    @Override
+    public void onSearchStarted(AITree<T>.Node root)
+    {
+        expanded = 0;
+        generated = 0;
+        duplicates = 0;
+        peakFrontierSize = 0;
+
+        search = new SearchEvent();
+        search.begin();
+    }
+
+    @Override
+    public void onExpand(AITree<T>.Node node)
+    {
+        expanded++;
+
+        final NodeExpandedEvent event = new NodeExpandedEvent();
+        if (event.isEnabled())
+        {
+            event.stateKey = node.getData().getStateKey();
+            event.moves = node.getMoves();
+            event.gCost = node.getGCost();
+            event.commit();
+        }
+    }
+
+    @Override
+    public void onGenerate(AITree<T>.Node child)
+    {
+        generated++;
+
+        final NodeGeneratedEvent event = new NodeGeneratedEvent();
+        if (event.isEnabled())
+        {
+            event.stateKey = child.getData().getStateKey();
+            event.moves = child.getMoves();
+            event.gCost = child.getGCost();
+            event.commit();
+        }
+    }
+
+    @Override
+    public void onDuplicatePruned(AITree<T>.Node parent, long stateKey)
+    {
+        duplicates++;
+
+        final DuplicatePrunedEvent event = new DuplicatePrunedEvent();
+        if (event.isEnabled())
+        {
+            event.stateKey = stateKey;
+            event.moves = parent.getMoves() + 1;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void onGoalFound(AITree<T>.Node goal)
+    {
+        final GoalFoundEvent event = new GoalFoundEvent();
+        if (event.isEnabled())
+        {
+            event.moves = goal.getMoves();
+            event.gCost = goal.getGCost();
+            event.expanded = expanded;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void onFrontierSample(int frontierSize)
+    {
+        peakFrontierSize = Math.max(peakFrontierSize, frontierSize);
+
+        final FrontierSampleEvent event = new FrontierSampleEvent();
+        if (event.isEnabled())
+        {
+            event.frontierSize = frontierSize;
+            event.expanded = expanded;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void onSearchFinished(AITree<T>.Node solution)
+    {
+        if (search == null)
+            return;
+
+        search.end();
+        if (search.shouldCommit())
+        {
+            search.expanded = expanded;
+            search.generated = generated;
+            search.duplicates = duplicates;
+            search.peakFrontierSize = peakFrontierSize;
+            search.solutionMoves = solution == null ? -1 : solution.getMoves();
+            search.commit();
+        }
+        search = null;
+    }
+
+    @Name("puzzle.Search")
+    @Label("Search")
+    @Category({"8Puzzle", "Search"})
+    @Description("A whole search, from the initial state until the frontier is empty")
+    @StackTrace(false)
+    static class SearchEvent extends Event
+    {
+        @Label("Expanded Nodes")
+        long expanded;
+
+        @Label("Generated Nodes")
+        long generated;
+
+        @Label("Duplicates")
+        long duplicates;
+
+        @Label("Peak Frontier Size")
+        int peakFrontierSize;
+
+        @Label("Solution Moves")
+        @Description("-1 if no solution was found")
+        int solutionMoves;
+    }
+
+    @Name("puzzle.NodeExpanded")
+    @Label("Node Expanded")
+    @Category({"8Puzzle", "Search", "Nodes"})
+    @Enabled(false)
+    @StackTrace(false)
+    static class NodeExpandedEvent extends Event
+    {
+        @Label("State Key")
+        long stateKey;
+
+        @Label("Moves")
+        int moves;
+
+        @Label("G(n)")
+        float gCost;
+    }
+
+    @Name("puzzle.NodeGenerated")
+    @Label("Node Generated")
+    @Category({"8Puzzle", "Search", "Nodes"})
+    @Enabled(false)
+    @StackTrace(false)
+    static class NodeGeneratedEvent extends Event
+    {
+        @Label("State Key")
+        long stateKey;
+
+        @Label("Moves")
+        int moves;
+
+        @Label("G(n)")
+        float gCost;
+    }
+
+    @Name("puzzle.DuplicatePruned")
+    @Label("Duplicate Pruned")
+    @Category({"8Puzzle", "Search", "Nodes"})
+    @Enabled(false)
+    @StackTrace(false)
+    static class DuplicatePrunedEvent extends Event
+    {
+        @Label("State Key")
+        long stateKey;
+
+        @Label("Moves")
+        int moves;
+    }
+
+    @Name("puzzle.GoalFound")
+    @Label("Goal Found")
+    @Category({"8Puzzle", "Search"})
+    @StackTrace(false)
+    static class GoalFoundEvent extends Event
+    {
+        @Label("Moves")
+        int moves;
+
+        @Label("G(n)")
+        float gCost;
+
+        @Label("Expanded Nodes")
+        long expanded;
+    }
+
+    @Name("puzzle.FrontierSample")
+    @Label("Frontier Sample")
+    @Category({"8Puzzle", "Search"})
+    @StackTrace(false)
+    static class FrontierSampleEvent extends Event
+    {
+        @Label("Frontier Size")
+        int frontierSize;
+
+        @Label("Expanded Nodes")
+        long expanded;
+    }
+}
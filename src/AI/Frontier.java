@@ -0,0 +1,37 @@
+package AI;
+
+/**
+ * Defines the frontier of a search, the nodes that are ready to expand/check if goal state. The frontier decides which node comes out next.
+ *
+ * @param <E> The node type
+ */
+public interface Frontier<E>
+{
+    /**
+     * Adds a node to the frontier.
+     *
+     * @param element the node
+     */
+    void add(E element);
+
+    /**
+     * Removes the next node to expand.
+     *
+     * @return the next node, or null if the frontier is empty
+     */
+    E poll();
+
+    /**
+     * Checks if the frontier has no nodes.
+     *
+     * @return true if empty, false otherwise
+     */
+    boolean isEmpty();
+
+    /**
+     * The amount of nodes in the frontier.
+     *
+     * @return # of nodes
+     */
+    int size();
+}
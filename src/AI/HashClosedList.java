@@ -0,0 +1,37 @@
+package AI;
+
+/**
+ * An explored set kept in a hash map of state keys. It works for any state, and only holds the states that were explored.
+ */
+public class HashClosedList implements ClosedList
+{
+    //The keys of the explored states (the value is not used)
+    private final LongIntHashMap keys = new LongIntHashMap();
+
+    @Override
+    public boolean contains(long stateKey)
+    {
+        return keys.containsKey(stateKey);
+    }
+
+    @Override
+    public boolean add(long stateKey)
+    {
+        if (keys.containsKey(stateKey))
+            return false;
+        keys.put(stateKey, 0);
+        return true;
+    }
+
+    @Override
+    public int size()
+    {
+        return keys.size();
+    }
+
+    @Override
+    public long getEstimatedBytes()
+    {
+        return size() * SearchBudget.ESTIMATED_EXPLORED_BYTES;
+    }
+}
@@ -0,0 +1,49 @@
+package AI;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * A frontier backed by a binary heap. Works for any comparator, including algorithms with fractional costs.
+ *
+ * @param <E> The node type
+ */
+public class HeapFrontier<E> implements Frontier<E>
+{
+    //The heap ordered by the comparator
+    private PriorityQueue<E> queue;
+
+    /**
+     * Creates a heap frontier.
+     *
+     * @param comparator decides which node comes out first (the lowest one)
+     */
+    public HeapFrontier(Comparator<? super E> comparator)
+    {
+        this.queue = new PriorityQueue<>(comparator);
+    }
+
+    @Override
+    public void add(E element)
+    {
+        queue.add(element);
+    }
+
+    @Override
+    public E poll()
+    {
+        return queue.poll();
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return queue.isEmpty();
+    }
+
+    @Override
+    public int size()
+    {
+        return queue.size();
+    }
+}
@@ -0,0 +1,125 @@
+package AI;
+
+import java.util.Arrays;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * An indexed frontier for whole number costs, built on a bucket frontier. Nodes cannot be moved between buckets in O(1),
+ * so a replaced node stays in its bucket and is skipped once it comes out. Replacements only happen when a state is
+ * reached with a lower G(n), which is rare, so few replaced nodes are kept.
+ *
+ * @param <E> The node type
+ */
+public class IndexedBucketFrontier<E> implements IndexedFrontier<E>
+{
+    //The buckets, which also hold the replaced nodes
+    private BucketFrontier<E> buckets;
+
+    //Gets the state key of a node
+    private ToLongFunction<? super E> stateKey;
+
+    //The current node of every state (state key -> handle into nodes)
+    private final LongIntHashMap handles = new LongIntHashMap();
+    private Object[] nodes = new Object[64];
+
+    //The handles that are free to use again
+    private int[] freeHandles = new int[64];
+    private int freeSize = 0;
+    private int nextHandle = 0;
+
+    //The amount of current nodes (not counting replaced nodes)
+    private int size = 0;
+
+    /**
+     * Creates an indexed bucket frontier.
+     *
+     * @param fCost    computes F(n) of a node, a positive integer
+     * @param hCost    computes H(n) of a node, a positive integer
+     * @param stateKey gets the state key of a node
+     */
+    public IndexedBucketFrontier(ToIntFunction<? super E> fCost, ToIntFunction<? super E> hCost, ToLongFunction<? super E> stateKey)
+    {
+        this.buckets = new BucketFrontier<>(fCost, hCost);
+        this.stateKey = stateKey;
+    }
+
+    @Override
+    public void add(E element)
+    {
+        final long key = stateKey.applyAsLong(element);
+        final int handle = handles.get(key, -1);
+        if (handle >= 0)
+        {
+            //The old node stays in its bucket but is no longer current
+            nodes[handle] = element;
+        } else
+        {
+            final int newHandle = newHandle();
+            nodes[newHandle] = element;
+            handles.put(key, newHandle);
+            size++;
+        }
+        buckets.add(element);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E poll()
+    {
+        E element;
+        while ((element = buckets.poll()) != null)
+        {
+            final long key = stateKey.applyAsLong(element);
+            final int handle = handles.get(key, -1);
+
+            //Skip the nodes that were replaced
+            if (handle >= 0 && nodes[handle] == element)
+            {
+                handles.remove(key);
+                freeHandle(handle);
+                size--;
+                return element;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(long key)
+    {
+        final int handle = handles.get(key, -1);
+        return handle < 0 ? null : (E) nodes[handle];
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    private int newHandle()
+    {
+        if (freeSize > 0)
+            return freeHandles[--freeSize];
+
+        if (nextHandle == nodes.length)
+            nodes = Arrays.copyOf(nodes, nextHandle << 1);
+        return nextHandle++;
+    }
+
+    private void freeHandle(int handle)
+    {
+        nodes[handle] = null; //let the node be collected
+        if (freeSize == freeHandles.length)
+            freeHandles = Arrays.copyOf(freeHandles, freeSize << 1);
+        freeHandles[freeSize++] = handle;
+    }
+}
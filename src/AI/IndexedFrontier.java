@@ -0,0 +1,18 @@
+package AI;
+
+/**
+ * A frontier that keeps at most one node per state, so the same board is never queued twice. Adding a node whose state is
+ * already in the frontier replaces the old node (decrease-key), and the replaced node never comes out.
+ *
+ * @param <E> The node type
+ */
+public interface IndexedFrontier<E> extends Frontier<E>
+{
+    /**
+     * Gets the node of a state that is in the frontier.
+     *
+     * @param key the state key
+     * @return the node, or null if the state is not in the frontier
+     */
+    E get(long key);
+}
@@ -0,0 +1,166 @@
+package AI;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.ToLongFunction;
+
+/**
+ * An indexed frontier backed by an addressable binary heap. The position of every state in the heap is kept in a map, so
+ * the node of a state is found in O(1) and replaced in O(log n) by moving it up or down the heap.
+ *
+ * @param <E> The node type
+ */
+public class IndexedHeapFrontier<E> implements IndexedFrontier<E>
+{
+    //Decides which node comes out first (the lowest one)
+    private Comparator<? super E> comparator;
+
+    //Gets the state key of a node
+    private ToLongFunction<? super E> stateKey;
+
+    //The heap: the children of index i are 2i + 1 and 2i + 2
+    private Object[] heap = new Object[64];
+    private int size = 0;
+
+    //The index in the heap of every state (state key -> index)
+    private final LongIntHashMap positions = new LongIntHashMap();
+
+    /**
+     * Creates an indexed heap frontier.
+     *
+     * @param comparator decides which node comes out first (the lowest one)
+     * @param stateKey   gets the state key of a node
+     */
+    public IndexedHeapFrontier(Comparator<? super E> comparator, ToLongFunction<? super E> stateKey)
+    {
+        this.comparator = comparator;
+        this.stateKey = stateKey;
+    }
+
+    @Override
+    public void add(E element)
+    {
+        final int position = positions.get(stateKey.applyAsLong(element), -1);
+        if (position >= 0)
+        {
+            //Replace the node of the same state, which may move it either way
+            heap[position] = element;
+            if (siftUp(position) == position)
+                siftDown(position);
+            return;
+        }
+
+        if (size == heap.length)
+            heap = Arrays.copyOf(heap, size << 1);
+
+        heap[size] = element;
+        siftUp(size++);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E poll()
+    {
+        if (size == 0)
+            return null;
+
+        final E first = (E) heap[0];
+        positions.remove(stateKey.applyAsLong(first));
+
+        final Object last = heap[--size];
+        heap[size] = null; //let the node be collected
+        if (size > 0)
+        {
+            heap[0] = last;
+            siftDown(0);
+        }
+        return first;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(long key)
+    {
+        final int position = positions.get(key, -1);
+        return position < 0 ? null : (E) heap[position];
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Moves the node at the index up until its parent is not higher.
+     *
+     * @param index the index
+     * @return the new index of the node
+     */
+    @SuppressWarnings("unchecked")
+    private int siftUp(int index)
+    {
+        final E element = (E) heap[index];
+        while (index > 0)
+        {
+            final int parent = (index - 1) >>> 1;
+            final E parentElement = (E) heap[parent];
+            if (comparator.compare(element, parentElement) >= 0)
+                break;
+
+            place(parentElement, index);
+            index = parent;
+        }
+        place(element, index);
+        return index;
+    }
+
+    /**
+     * Moves the node at the index down until none of its children is lower.
+     *
+     * @param index the index
+     */
+    @SuppressWarnings("unchecked")
+    private void siftDown(int index)
+    {
+        final E element = (E) heap[index];
+        final int half = size >>> 1;
+        while (index < half)
+        {
+            int child = (index << 1) + 1;
+            E childElement = (E) heap[child];
+
+            final int right = child + 1;
+            if (right < size && comparator.compare((E) heap[right], childElement) < 0)
+            {
+                child = right;
+                childElement = (E) heap[child];
+            }
+
+            if (comparator.compare(element, childElement) <= 0)
+                break;
+
+            place(childElement, index);
+            index = child;
+        }
+        place(element, index);
+    }
+
+    /**
+     * Puts a node at an index of the heap and remembers the index of its state.
+     *
+     * @param element the node
+     * @param index   the index
+     */
+    private void place(E element, int index)
+    {
+        heap[index] = element;
+        positions.put(stateKey.applyAsLong(element), index);
+    }
+}
@@ -0,0 +1,215 @@
+package AI;
+
+import WhiteSpacePuzzle.Move;
+import WhiteSpacePuzzle.WhiteSpacePuzzle;
+import algorithms.Algorithm;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Defines IDA* (Iterative Deepening A*) for the white space puzzle. It searches depth-first and only follows nodes whose
+ * F(n) = G(n) + H(n) is within a threshold. When no solution is found, the threshold is raised to the lowest F(n) that went over it.
+ * <p>
+ * Only a single board is kept: moves are applied to it in place and undone when backtracking, so memory stays O(depth)
+ * instead of the O(states) frontier of the AI Tree.
+ */
+public class IterativeDeepeningAStar
+{
+    //Returned by the depth-first search when the goal state is reached.
+    private static final int FOUND = -1;
+
+    //The puzzle that is being solved
+    private WhiteSpacePuzzle puzzle;
+
+    //The algorithm which supplies H(n). Every operator costs 1, so G(n) is the depth.
+    private Algorithm algorithm;
+
+    //The moves in the order they are tried
+    private final Move[] moves = Move.values();
+
+    //The board which is changed in place during the search
+    private WhiteSpacePuzzle.State board;
+
+    //The moves from the initial state to the current node of the search
+    private Move[] path = new Move[64];
+
+    //The highest threshold that is tried before giving up
+    private int maxThreshold = Integer.MAX_VALUE;
+
+    //The amount of nodes we have expanded (over all iterations)
+    private long visitedNumber = 0;
+
+    //The amount of iterations (thresholds) that were needed
+    private int iterations = 0;
+
+    //The threshold of the last iteration
+    private int threshold = 0;
+
+    //The moves of the solution, null if no solution was found.
+    private List<Move> solution = null;
+
+    /**
+     * Creates an IDA* search for the initial state of the puzzle.
+     *
+     * @param puzzle    the puzzle with its initial and goal state set
+     * @param algorithm the algorithm which supplies the heuristic (for example A* Manhattan Cost)
+     */
+    public IterativeDeepeningAStar(WhiteSpacePuzzle puzzle, Algorithm algorithm)
+    {
+        this.puzzle = puzzle;
+        this.algorithm = algorithm;
+    }
+
+    /**
+     * Finds the solution starting from the initial state.
+     *
+     * @return the moves of the white space from the initial state to the goal state, otherwise returns null if no solution was found within the max threshold.
+     */
+    public List<Move> findSolution()
+    {
+        this.board = puzzle.new State(puzzle.getInitState());
+        this.visitedNumber = 0;
+        this.iterations = 0;
+        this.solution = null;
+
+        threshold = algorithm.getHCost(board);
+
+        while (threshold <= maxThreshold)
+        {
+            iterations++;
+
+            final int result = search(0, threshold, null);
+
+            if (result == FOUND)
+            {
+                return solution;
+            }
+
+            //Nothing went over the threshold, so every reachable state was seen and there is no solution.
+            if (result == Integer.MAX_VALUE)
+            {
+                return null;
+            }
+
+            threshold = result;
+        }
+        return null;
+    }
+
+    /**
+     * Searches depth-first below the current board.
+     *
+     * @param depth     G(n) of the current board
+     * @param threshold the highest F(n) that is followed
+     * @param previous  the move used to reach the current board, or null for the initial state
+     * @return FOUND if the goal state was reached, otherwise the lowest F(n) that went over the threshold
+     */
+    private int search(int depth, int threshold, Move previous)
+    {
+        final int f = depth + algorithm.getHCost(board);
+        if (f > threshold)
+        {
+            return f;
+        }
+
+        if (board.isGoalState())
+        {
+            solution = new ArrayList<>(depth);
+            for (int i = 0; i < depth; i++)
+            {
+                solution.add(path[i]);
+            }
+            return FOUND;
+        }
+
+        visitedNumber++;
+
+        if (depth == path.length)
+        {
+            Move[] longerPath = new Move[path.length << 1];
+            System.arraycopy(path, 0, longerPath, 0, path.length);
+            path = longerPath;
+        }
+
+        int min = Integer.MAX_VALUE;
+
+        for (Move move : moves)
+        {
+            //Moving back to the parent never helps
+            if (previous != null && move == previous.getInverse())
+            {
+                continue;
+            }
+
+            if (!board.canMove(move))
+            {
+                continue;
+            }
+
+            board.applyMove(move);
+            path[depth] = move;
+
+            final int result = search(depth + 1, threshold, move);
+
+            board.applyMove(move.getInverse());
+
+            if (result == FOUND)
+            {
+                return FOUND;
+            }
+            if (result < min)
+            {
+                min = result;
+            }
+        }
+        return min;
+    }
+
+    /**
+     * Sets the highest threshold that is tried before giving up, to bound the time spent on deep states.
+     *
+     * @param maxThreshold the highest F(n) to follow
+     */
+    public void setMaxThreshold(int maxThreshold)
+    {
+        this.maxThreshold = maxThreshold;
+    }
+
+    /**
+     * Returns the algorithm that was used for the heuristic.
+     *
+     * @return
+     */
+    public Algorithm getAlgorithm()
+    {
+        return algorithm;
+    }
+
+    /**
+     * Counts the amount of nodes we've expanded over all iterations
+     * @return # of expanded nodes
+     */
+    public long getVisitedNumber()
+    {
+        return visitedNumber;
+    }
+
+    /**
+     * Counts the amount of thresholds that were tried
+     * @return # of iterations
+     */
+    public int getIterations()
+    {
+        return iterations;
+    }
+
+    /**
+     * The threshold of the last iteration. If a solution was found, this is its amount of moves.
+     * @return the last threshold
+     */
+    public int getThreshold()
+    {
+        return threshold;
+    }
+}
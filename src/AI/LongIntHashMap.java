@@ -0,0 +1,291 @@
+package AI;
+
+import java.util.Arrays;
+
+/**
+ * A hash map from primitive long keys to primitive int values. Uses open addressing with linear probing so that no
+ * entry objects or boxed keys are allocated. Used by the AI Tree to remember which states were already explored.
+ */
+public class LongIntHashMap
+{
+    //The key that marks an empty slot. A real key equal to this is kept on the side.
+    private static final long EMPTY = 0L;
+
+    //The table is grown once it is more than half full, which keeps probe sequences short.
+    private static final float LOAD_FACTOR = 0.5f;
+
+    //The keys and values of the table
+    private long[] keys;
+    private int[] values;
+
+    //The amount of slots in use (not counting the zero key)
+    private int assigned = 0;
+
+    //The amount of slots we can use before growing
+    private int resizeAt;
+
+    //The zero key cannot be stored in the table since it marks empty slots
+    private boolean hasZeroKey = false;
+    private int zeroValue;
+
+    /**
+     * Creates an empty map with a small initial capacity.
+     */
+    public LongIntHashMap()
+    {
+        this(16);
+    }
+
+    /**
+     * Creates an empty map that can hold the expected amount of entries without growing.
+     *
+     * @param expectedSize the amount of entries that are expected to be added
+     */
+    public LongIntHashMap(int expectedSize)
+    {
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * Checks if the key is in the map.
+     *
+     * @param key the key
+     * @return true if the key is in the map, false otherwise
+     */
+    public boolean containsKey(long key)
+    {
+        if (key == EMPTY)
+            return hasZeroKey;
+
+        final int mask = keys.length - 1;
+        for (int slot = mix(key) & mask; keys[slot] != EMPTY; slot = (slot + 1) & mask)
+        {
+            if (keys[slot] == key)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets the value of the key.
+     *
+     * @param key          the key
+     * @param defaultValue the value to return if the key is not in the map
+     * @return the value of the key, otherwise the default value
+     */
+    public int get(long key, int defaultValue)
+    {
+        if (key == EMPTY)
+            return hasZeroKey ? zeroValue : defaultValue;
+
+        final int mask = keys.length - 1;
+        for (int slot = mix(key) & mask; keys[slot] != EMPTY; slot = (slot + 1) & mask)
+        {
+            if (keys[slot] == key)
+                return values[slot];
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Puts the value for the key, replacing any old value.
+     *
+     * @param key   the key
+     * @param value the value
+     * @return true if the key was added, false if an old value was replaced
+     */
+    public boolean put(long key, int value)
+    {
+        if (key == EMPTY)
+        {
+            final boolean added = !hasZeroKey;
+            hasZeroKey = true;
+            zeroValue = value;
+            return added;
+        }
+
+        final int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != EMPTY)
+        {
+            if (keys[slot] == key)
+            {
+                values[slot] = value;
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+
+        if (++assigned >= resizeAt)
+            rehash(keys.length << 1);
+
+        return true;
+    }
+
+    /**
+     * Removes the key from the map. The entries after it are shifted back, so no tombstones are left behind.
+     *
+     * @param key the key
+     * @return true if the key was removed, false if it was not in the map
+     */
+    public boolean remove(long key)
+    {
+        if (key == EMPTY)
+        {
+            final boolean removed = hasZeroKey;
+            hasZeroKey = false;
+            return removed;
+        }
+
+        final int mask = keys.length - 1;
+        for (int slot = mix(key) & mask; keys[slot] != EMPTY; slot = (slot + 1) & mask)
+        {
+            if (keys[slot] == key)
+            {
+                shiftBack(slot);
+                assigned--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Fills the slot of a removed key with a later key of the same probe sequence, until an empty slot is reached.
+     *
+     * @param gap the slot of the removed key
+     */
+    private void shiftBack(int gap)
+    {
+        final int mask = keys.length - 1;
+        int slot = gap;
+        while (true)
+        {
+            slot = (slot + 1) & mask;
+            final long key = keys[slot];
+            if (key == EMPTY)
+                break;
+
+            //The key can only move back if its home slot is not between the gap and its current slot
+            final int home = mix(key) & mask;
+            if (((slot - home) & mask) >= ((slot - gap) & mask))
+            {
+                keys[gap] = key;
+                values[gap] = values[slot];
+                gap = slot;
+            }
+        }
+        keys[gap] = EMPTY;
+    }
+
+    /**
+     * The amount of keys in the map.
+     *
+     * @return # of keys
+     */
+    public int size()
+    {
+        return assigned + (hasZeroKey ? 1 : 0);
+    }
+
+    /**
+     * Checks if the map has no keys.
+     *
+     * @return true if empty, false otherwise
+     */
+    public boolean isEmpty()
+    {
+        return size() == 0;
+    }
+
+    /**
+     * Removes every key but keeps the current capacity.
+     */
+    public void clear()
+    {
+        Arrays.fill(keys, EMPTY);
+        assigned = 0;
+        hasZeroKey = false;
+    }
+
+    /**
+     * Spreads the bits of a long key so that keys which only differ in a few bits end in different slots.
+     *
+     * @param key the key
+     * @return a well distributed hash of the key
+     */
+    public static int mix(long key)
+    {
+        //The finalizer of MurmurHash3
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+
+    /**
+     * Moves every entry into a table of the new capacity.
+     *
+     * @param capacity the new capacity, a power of two
+     */
+    private void rehash(int capacity)
+    {
+        if (capacity <= 0)
+            throw new IllegalStateException("The map cannot grow past " + keys.length + " slots.");
+
+        final long[] oldKeys = keys;
+        final int[] oldValues = values;
+
+        allocate(capacity);
+
+        final int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++)
+        {
+            final long key = oldKeys[i];
+            if (key != EMPTY)
+            {
+                int slot = mix(key) & mask;
+                while (keys[slot] != EMPTY)
+                    slot = (slot + 1) & mask;
+
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Creates the arrays for the given capacity.
+     *
+     * @param capacity a power of two
+     */
+    private void allocate(int capacity)
+    {
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+        this.resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    /**
+     * Finds the smallest power of two capacity that holds the expected amount of entries.
+     *
+     * @param expectedSize the amount of expected entries
+     * @return the capacity
+     */
+    private static int capacityFor(int expectedSize)
+    {
+        final long minimum = (long) Math.ceil(Math.max(expectedSize, 4) / LOAD_FACTOR) + 1;
+        if (minimum > (1 << 30))
+            throw new IllegalArgumentException("Too many entries for a single table: " + expectedSize);
+
+        int capacity = 1;
+        while (capacity < minimum)
+            capacity <<= 1;
+        return capacity;
+    }
+}
@@ -0,0 +1,360 @@
+package AI;
+
+import WhiteSpacePuzzle.Move;
+import WhiteSpacePuzzle.WhiteSpacePuzzle;
+import algorithms.Algorithm;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Defines SMA* (Simplified Memory-bounded A*) for the white space puzzle. It works like A* but never keeps more than a
+ * fixed amount of nodes. When the limit is reached, the leaf with the highest F(n) (the shallowest if tied) is forgotten,
+ * and its F(n) is remembered by its parent so the branch is only generated again once it is the best one left.
+ * <p>
+ * F(n) is backed up: once every child of a node was generated, its F(n) becomes the lowest F(n) of its children.
+ * The solution is the shortest one if it is at most (max nodes - 1) moves long, since the whole path has to fit in memory.
+ * If it does not fit, every path that fits has to be ruled out first, which can take very long; a CancellationToken stops it.
+ */
+public class MemoryBoundedAStar
+{
+    //F(n) of a node that cannot lead to a solution that fits in memory
+    private static final int INFINITE = Integer.MAX_VALUE;
+
+    //The amount of generated nodes between two checks of the cancellation token
+    private static final int CHECK_INTERVAL = 256;
+
+    //The amount of moves a node has room for
+    private static final int MOVES = Move.values().length;
+
+    //The puzzle that is being solved
+    private WhiteSpacePuzzle puzzle;
+
+    //The algorithm which supplies H(n). Every operator costs 1, so G(n) is the depth.
+    private Algorithm algorithm;
+
+    //The most nodes that are kept at the same time
+    private int maxNodes;
+
+    //The nodes that can still generate a child: best (lowest F(n), deepest) first, worst (highest F(n), shallowest) last
+    private TreeSet<SearchNode> open;
+
+    //The amount of nodes kept right now
+    private int nodeNumber;
+
+    //Breaks ties between nodes of the same F(n) and depth
+    private long nextId;
+
+    //The amount of nodes we have generated, counting nodes generated again after being forgotten
+    private long visitedNumber = 0;
+
+    //The amount of nodes we have forgotten
+    private long forgottenNumber = 0;
+
+    /**
+     * Creates an SMA* search for the initial state of the puzzle.
+     *
+     * @param puzzle    the puzzle with its initial and goal state set
+     * @param algorithm the algorithm which supplies the heuristic (for example A* Manhattan Cost)
+     * @param maxNodes  the most nodes that are kept at the same time, at least 2
+     */
+    public MemoryBoundedAStar(WhiteSpacePuzzle puzzle, Algorithm algorithm, int maxNodes)
+    {
+        if (maxNodes < 2)
+            throw new IllegalArgumentException("At least 2 nodes are needed but the limit was " + maxNodes + ".");
+
+        this.puzzle = puzzle;
+        this.algorithm = algorithm;
+        this.maxNodes = maxNodes;
+    }
+
+    /**
+     * Finds the solution starting from the initial state.
+     *
+     * @return the moves of the white space from the initial state to the goal state, otherwise returns null if no solution fits in memory.
+     */
+    public List<Move> findSolution()
+    {
+        return findSolution(null);
+    }
+
+    /**
+     * Finds the solution starting from the initial state, stopping early if the token is cancelled.
+     *
+     * @param token stops the search when cancelled, or null
+     * @return the moves of the white space from the initial state to the goal state, otherwise returns null if no solution fits in memory or the search was cancelled.
+     */
+    public List<Move> findSolution(CancellationToken token)
+    {
+        open = new TreeSet<>(MemoryBoundedAStar::compare);
+        nodeNumber = 1;
+        nextId = 0;
+        visitedNumber = 0;
+        forgottenNumber = 0;
+
+        final WhiteSpacePuzzle.State initState = puzzle.getInitState();
+        final SearchNode root = new SearchNode(initState, null, null, algorithm.getHCost(initState), nextId++);
+        open.add(root);
+
+        while (!open.isEmpty())
+        {
+            final SearchNode node = open.first();
+
+            if (node.f == INFINITE)
+                return null;
+
+            if (node.state.isGoalState())
+                return getPath(node);
+
+            if (token != null && visitedNumber % CHECK_INTERVAL == 0 && token.isCancelled())
+                return null;
+
+            final SearchNode child = generate(node);
+
+            //Once every child was generated, F(n) of the node is the lowest F(n) of its children
+            if (node.isFullyGenerated())
+                backUp(node);
+
+            if (!node.hasChildToGenerate())
+                open.remove(node);
+
+            while (nodeNumber >= maxNodes)
+            {
+                forgetWorstLeaf();
+            }
+
+            open.add(child);
+            nodeNumber++;
+        }
+        return null;
+    }
+
+    /**
+     * Generates the next child of a node: a child that was never generated, otherwise the forgotten child with the lowest F(n).
+     *
+     * @param node the node
+     * @return the child
+     */
+    private SearchNode generate(SearchNode node)
+    {
+        int best = -1;
+        for (int i = 0; i < MOVES; i++)
+        {
+            if (node.status[i] == SearchNode.NOT_GENERATED)
+            {
+                best = i;
+                break;
+            }
+            if (node.status[i] == SearchNode.FORGOTTEN && (best < 0 || node.forgottenF[i] < node.forgottenF[best]))
+                best = i;
+        }
+
+        final Move move = Move.values()[best];
+        final WhiteSpacePuzzle.State childState = node.state.move(move);
+        final SearchNode child = new SearchNode(childState, node, move, 0, nextId++);
+
+        if (node.status[best] == SearchNode.FORGOTTEN)
+        {
+            //The F(n) it had when it was forgotten, which includes everything that was backed up into it
+            child.f = node.forgottenF[best];
+        } else if (!childState.isGoalState() && child.depth >= maxNodes - 1)
+        {
+            //The path to a child of this node would not fit in memory
+            child.f = INFINITE;
+        } else
+        {
+            //F(n) never decreases along a path
+            child.f = Math.max(node.f, child.depth + algorithm.getHCost(childState));
+        }
+
+        node.status[best] = SearchNode.IN_MEMORY;
+        node.children[best] = child;
+        visitedNumber++;
+        return child;
+    }
+
+    /**
+     * Sets F(n) of a node to the lowest F(n) of its children, and backs up its parent if it changed.
+     *
+     * @param node the node, which has every child generated
+     */
+    private void backUp(SearchNode node)
+    {
+        for (; node != null && node.isFullyGenerated(); node = node.parent)
+        {
+            int lowest = INFINITE;
+            for (int i = 0; i < MOVES; i++)
+            {
+                if (node.status[i] == SearchNode.IN_MEMORY)
+                    lowest = Math.min(lowest, node.children[i].f);
+                else if (node.status[i] == SearchNode.FORGOTTEN)
+                    lowest = Math.min(lowest, node.forgottenF[i]);
+            }
+
+            if (lowest == node.f)
+                return;
+
+            final boolean isOpen = open.remove(node);
+            node.f = lowest;
+            if (isOpen)
+                open.add(node);
+        }
+    }
+
+    /**
+     * Forgets the leaf with the highest F(n), the shallowest if tied. Its parent remembers its F(n) and can generate it again.
+     */
+    private void forgetWorstLeaf()
+    {
+        final Iterator<SearchNode> worstFirst = open.descendingIterator();
+        while (worstFirst.hasNext())
+        {
+            final SearchNode leaf = worstFirst.next();
+            if (leaf.parent == null || !leaf.isLeaf())
+                continue;
+
+            worstFirst.remove();
+
+            final SearchNode parent = leaf.parent;
+            final int index = leaf.move.ordinal();
+            parent.status[index] = SearchNode.FORGOTTEN;
+            parent.forgottenF[index] = leaf.f;
+            parent.children[index] = null;
+
+            //The parent can generate the forgotten child again
+            open.add(parent);
+
+            nodeNumber--;
+            forgottenNumber++;
+            return;
+        }
+        throw new IllegalStateException("No leaf can be forgotten with " + maxNodes + " nodes.");
+    }
+
+    private static int compare(SearchNode n1, SearchNode n2)
+    {
+        if (n1.f != n2.f)
+            return Integer.compare(n1.f, n2.f);
+        //Deeper nodes first, so the shallowest node of the highest F(n) is forgotten first
+        if (n1.depth != n2.depth)
+            return Integer.compare(n2.depth, n1.depth);
+        return Long.compare(n1.id, n2.id);
+    }
+
+    /**
+     * Walks the parents of the last node.
+     *
+     * @param node the goal node
+     * @return the moves from the initial state to the node
+     */
+    private List<Move> getPath(SearchNode node)
+    {
+        List<Move> path = new ArrayList<>();
+        for (; node.move != null; node = node.parent)
+        {
+            path.add(node.move);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Counts the amount of nodes we've generated, counting nodes that were generated again after being forgotten
+     * @return # of generated nodes
+     */
+    public long getVisitedNumber()
+    {
+        return visitedNumber;
+    }
+
+    /**
+     * Counts the amount of nodes we've forgotten to stay within the limit
+     * @return # of forgotten nodes
+     */
+    public long getForgottenNumber()
+    {
+        return forgottenNumber;
+    }
+
+    public int getMaxNodes()
+    {
+        return maxNodes;
+    }
+
+    /**
+     * A state reached by the search, with the status of each of its moves.
+     */
+    private static class SearchNode
+    {
+        //The status of a move of the node
+        private static final byte NOT_GENERATED = 0;
+        private static final byte IN_MEMORY = 1;
+        private static final byte FORGOTTEN = 2;
+        //The move is impossible or moves back to the parent
+        private static final byte SKIPPED = 3;
+
+        private final WhiteSpacePuzzle.State state;
+        private final SearchNode parent;
+        //The move used to reach this state from the parent
+        private final Move move;
+        private final int depth;
+        private final long id;
+        //The lowest cost of a solution through this node that is known so far
+        private int f;
+
+        //By move ordinal: the status of the move, the child if in memory, and F(n) of the child if forgotten
+        private final byte[] status = new byte[MOVES];
+        private final SearchNode[] children = new SearchNode[MOVES];
+        private final int[] forgottenF = new int[MOVES];
+
+        private SearchNode(WhiteSpacePuzzle.State state, SearchNode parent, Move move, int f, long id)
+        {
+            this.state = state;
+            this.parent = parent;
+            this.move = move;
+            this.depth = parent == null ? 0 : parent.depth + 1;
+            this.f = f;
+            this.id = id;
+
+            for (Move next : Move.values())
+            {
+                //Moving back to the parent never helps
+                if (!state.canMove(next) || (move != null && next == move.getInverse()))
+                    status[next.ordinal()] = SKIPPED;
+            }
+        }
+
+        private boolean isFullyGenerated()
+        {
+            for (byte moveStatus : status)
+            {
+                if (moveStatus == NOT_GENERATED)
+                    return false;
+            }
+            return true;
+        }
+
+        private boolean hasChildToGenerate()
+        {
+            for (byte moveStatus : status)
+            {
+                if (moveStatus == NOT_GENERATED || moveStatus == FORGOTTEN)
+                    return true;
+            }
+            return false;
+        }
+
+        private boolean isLeaf()
+        {
+            for (byte moveStatus : status)
+            {
+                if (moveStatus == IN_MEMORY)
+                    return false;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package AI;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the nodes of a search as parallel primitive arrays (struct of arrays) instead of objects: the state key, the parent,
+ * G(n), H(n), the amount of moves and the operator of every node. A node is addressed by its index. The arrays grow in
+ * fixed size chunks, so growing never copies the nodes that are already stored.
+ * <p>
+ * A node takes BYTES_PER_NODE bytes, against well over 100 bytes for a node object with its state.
+ */
+public class NodeArena
+{
+    //The bytes of a single node: state key, parent, G(n), H(n), moves and operator
+    public static final int BYTES_PER_NODE = 8 + 4 + 4 + 4 + 4 + 1;
+
+    //The parent of a root node
+    public static final int NO_PARENT = -1;
+
+    //The operator of a root node
+    public static final int NO_OPERATOR = -1;
+
+    //Every chunk holds 2^CHUNK_BITS nodes
+    private static final int CHUNK_BITS = 16;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    //The chunks of every field, indexed by chunk
+    private long[][] stateKeys = new long[16][];
+    private int[][] parents = new int[16][];
+    private float[][] gCosts = new float[16][];
+    private int[][] hCosts = new int[16][];
+    private int[][] moves = new int[16][];
+    private byte[][] operators = new byte[16][];
+
+    //The amount of nodes
+    private int size = 0;
+
+    /**
+     * Adds a node.
+     *
+     * @param stateKey the key of the state of the node
+     * @param parent   the index of the parent, or NO_PARENT
+     * @param gCost    G(n)
+     * @param hCost    H(n)
+     * @param moves    the amount of moves needed to reach the state
+     * @param operator the index of the operator used to reach the state (at most 127), or NO_OPERATOR
+     * @return the index of the node
+     */
+    public int add(long stateKey, int parent, float gCost, int hCost, int moves, int operator)
+    {
+        if (size == Integer.MAX_VALUE)
+            throw new IllegalStateException("The arena cannot hold more than " + Integer.MAX_VALUE + " nodes.");
+
+        final int chunk = size >>> CHUNK_BITS;
+        if (chunk == stateKeys.length)
+            growChunkTable();
+
+        if (stateKeys[chunk] == null)
+        {
+            stateKeys[chunk] = new long[CHUNK_SIZE];
+            parents[chunk] = new int[CHUNK_SIZE];
+            gCosts[chunk] = new float[CHUNK_SIZE];
+            hCosts[chunk] = new int[CHUNK_SIZE];
+            this.moves[chunk] = new int[CHUNK_SIZE];
+            operators[chunk] = new byte[CHUNK_SIZE];
+        }
+
+        final int offset = size & CHUNK_MASK;
+        stateKeys[chunk][offset] = stateKey;
+        parents[chunk][offset] = parent;
+        gCosts[chunk][offset] = gCost;
+        hCosts[chunk][offset] = hCost;
+        this.moves[chunk][offset] = moves;
+        operators[chunk][offset] = (byte) operator;
+
+        return size++;
+    }
+
+    public long getStateKey(int index)
+    {
+        return stateKeys[index >>> CHUNK_BITS][index & CHUNK_MASK];
+    }
+
+    public int getParent(int index)
+    {
+        return parents[index >>> CHUNK_BITS][index & CHUNK_MASK];
+    }
+
+    public float getGCost(int index)
+    {
+        return gCosts[index >>> CHUNK_BITS][index & CHUNK_MASK];
+    }
+
+    public int getHCost(int index)
+    {
+        return hCosts[index >>> CHUNK_BITS][index & CHUNK_MASK];
+    }
+
+    public int getMoves(int index)
+    {
+        return moves[index >>> CHUNK_BITS][index & CHUNK_MASK];
+    }
+
+    public int getOperator(int index)
+    {
+        return operators[index >>> CHUNK_BITS][index & CHUNK_MASK];
+    }
+
+    /**
+     * The amount of nodes in the arena.
+     *
+     * @return # of nodes
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    private void growChunkTable()
+    {
+        final int length = stateKeys.length << 1;
+        stateKeys = Arrays.copyOf(stateKeys, length);
+        parents = Arrays.copyOf(parents, length);
+        gCosts = Arrays.copyOf(gCosts, length);
+        hCosts = Arrays.copyOf(hCosts, length);
+        moves = Arrays.copyOf(moves, length);
+        operators = Arrays.copyOf(operators, length);
+    }
+}
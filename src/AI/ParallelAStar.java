@@ -0,0 +1,437 @@
+package AI;
+
+import WhiteSpacePuzzle.Move;
+import WhiteSpacePuzzle.WhiteSpacePuzzle;
+import algorithms.Algorithm;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Defines HDA* (Hash Distributed A*) for the white space puzzle. Every state is owned by one worker thread, chosen by
+ * the hash of its state key. A worker keeps its own frontier and explored set, so no locks are needed: generated
+ * children are sent to their owner through a lock-free queue.
+ * <p>
+ * Since the workers do not expand in global F(n) order, a goal state found first may not be the shortest. The best
+ * solution cost is shared, every node that cannot beat it is dropped, and the search only ends once every worker is
+ * idle and no child is in transit. The best solution is then optimal.
+ */
+public class ParallelAStar
+{
+    //The puzzle that is being solved
+    private WhiteSpacePuzzle puzzle;
+
+    //The algorithm which supplies H(n). Every operator costs 1, so G(n) is the depth.
+    private Algorithm algorithm;
+
+    //The workers, indexed by owner
+    private Worker[] workers;
+
+    //The cost of the best solution so far, and its last node
+    private final AtomicInteger bestCost = new AtomicInteger(Integer.MAX_VALUE);
+    private volatile SearchNode solution;
+
+    //The amount of children that were sent but not yet added to the frontier of their owner
+    private final AtomicLong inFlight = new AtomicLong();
+
+    //Increased every time an idle worker receives work. Used to detect that every worker stayed idle.
+    private final AtomicLong activity = new AtomicLong();
+
+    //Set once the search is over
+    private volatile boolean finished;
+
+    //The first error thrown by a worker
+    private volatile RuntimeException failure;
+
+    /**
+     * Creates a parallel A* search for the initial state of the puzzle.
+     *
+     * @param puzzle    the puzzle with its initial and goal state set
+     * @param algorithm the algorithm which supplies the heuristic. It is called from every worker at the same time.
+     * @param threads   the amount of worker threads
+     */
+    public ParallelAStar(WhiteSpacePuzzle puzzle, Algorithm algorithm, int threads)
+    {
+        if (threads < 1)
+            throw new IllegalArgumentException("At least one worker thread is needed but was " + threads + ".");
+
+        this.puzzle = puzzle;
+        this.algorithm = algorithm;
+        this.workers = new Worker[threads];
+    }
+
+    /**
+     * Creates a parallel A* search that uses every available core.
+     *
+     * @param puzzle    the puzzle with its initial and goal state set
+     * @param algorithm the algorithm which supplies the heuristic
+     */
+    public ParallelAStar(WhiteSpacePuzzle puzzle, Algorithm algorithm)
+    {
+        this(puzzle, algorithm, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Finds the shortest solution starting from the initial state.
+     *
+     * @return the moves of the white space from the initial state to the goal state, otherwise returns null if no solution was found.
+     * @throws InterruptedException if the calling thread is interrupted while waiting for the workers
+     */
+    public List<Move> findSolution() throws InterruptedException
+    {
+        bestCost.set(Integer.MAX_VALUE);
+        solution = null;
+        inFlight.set(0);
+        activity.set(0);
+        finished = false;
+        failure = null;
+
+        for (int i = 0; i < workers.length; i++)
+        {
+            workers[i] = new Worker(i);
+        }
+
+        final WhiteSpacePuzzle.State initState = puzzle.getInitState();
+        send(new SearchNode(initState, null, null, 0, algorithm.getHCost(initState)));
+
+        Thread[] threads = new Thread[workers.length];
+        for (int i = 0; i < workers.length; i++)
+        {
+            threads[i] = new Thread(workers[i], "hda-worker-" + i);
+            threads[i].start();
+        }
+
+        try
+        {
+            for (Thread thread : threads)
+            {
+                thread.join();
+            }
+        } catch (InterruptedException e)
+        {
+            finished = true;
+            throw e;
+        }
+
+        if (failure != null)
+        {
+            throw failure;
+        }
+
+        return solution == null ? null : getPath(solution);
+    }
+
+    /**
+     * Sends a node to the frontier of its owner.
+     *
+     * @param node the node
+     */
+    private void send(SearchNode node)
+    {
+        inFlight.incrementAndGet();
+        workers[getOwner(node.state.getStateKey())].inbox.offer(node);
+    }
+
+    /**
+     * The worker that owns a state.
+     *
+     * @param key the state key
+     * @return the index of the worker
+     */
+    private int getOwner(long key)
+    {
+        return (LongIntHashMap.mix(key) & Integer.MAX_VALUE) % workers.length;
+    }
+
+    /**
+     * Keeps the node if it is a better solution than the best so far.
+     *
+     * @param node the goal node
+     */
+    private synchronized void offerSolution(SearchNode node)
+    {
+        if (node.g < bestCost.get())
+        {
+            solution = node;
+            bestCost.set(node.g);
+        }
+    }
+
+    /**
+     * Checks if the search is over: every worker is idle, no child is in transit, and no worker received work while checking.
+     *
+     * @return true if the search is over
+     */
+    private boolean isTerminated()
+    {
+        final long before = activity.get();
+
+        for (Worker worker : workers)
+        {
+            if (!worker.idle)
+                return false;
+        }
+
+        if (inFlight.get() != 0)
+            return false;
+
+        return activity.get() == before;
+    }
+
+    /**
+     * Walks the parents of the last node.
+     *
+     * @param node the goal node
+     * @return the moves from the initial state to the node
+     */
+    private List<Move> getPath(SearchNode node)
+    {
+        List<Move> path = new ArrayList<>();
+        for (; node.move != null; node = node.parent)
+        {
+            path.add(node.move);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Counts the amount of nodes all workers have expanded
+     * @return # of expanded nodes
+     */
+    public long getVisitedNumber()
+    {
+        long visitedNumber = 0;
+        for (Worker worker : workers)
+        {
+            if (worker != null)
+                visitedNumber += worker.visitedNumber;
+        }
+        return visitedNumber;
+    }
+
+    /**
+     * Counts the amount of children that were sent to another worker
+     * @return # of sent children
+     */
+    public long getSentNumber()
+    {
+        long sentNumber = 0;
+        for (Worker worker : workers)
+        {
+            if (worker != null)
+                sentNumber += worker.sentNumber;
+        }
+        return sentNumber;
+    }
+
+    /**
+     * The amount of worker threads.
+     * @return # of workers
+     */
+    public int getThreads()
+    {
+        return workers.length;
+    }
+
+    /**
+     * A state reached by the search.
+     */
+    private static class SearchNode
+    {
+        private final WhiteSpacePuzzle.State state;
+        private final SearchNode parent;
+        //The move used to reach this state from the parent
+        private final Move move;
+        private final int g;
+        private final int h;
+
+        private SearchNode(WhiteSpacePuzzle.State state, SearchNode parent, Move move, int g, int h)
+        {
+            this.state = state;
+            this.parent = parent;
+            this.move = move;
+            this.g = g;
+            this.h = h;
+        }
+    }
+
+    /**
+     * A worker thread. Only the owner touches its frontier and explored set; other threads only add to its inbox.
+     */
+    private class Worker implements Runnable
+    {
+        private final int index;
+
+        //The children sent by any worker (multiple producers, this worker is the only consumer)
+        private final Queue<SearchNode> inbox = new ConcurrentLinkedQueue<>();
+
+        //The frontier and the best G(n) of every state this worker has seen
+        private Frontier<SearchNode> frontier = createFrontier();
+        private final LongIntHashMap bestG = new LongIntHashMap();
+
+        //True while this worker has nothing to expand
+        private volatile boolean idle = false;
+
+        private long visitedNumber = 0;
+        private long sentNumber = 0;
+
+        private Worker(int index)
+        {
+            this.index = index;
+        }
+
+        @Override
+        public void run()
+        {
+            try
+            {
+                while (!finished)
+                {
+                    receive();
+
+                    final SearchNode node = next();
+                    if (node == null)
+                    {
+                        idle = true;
+                        if (inbox.isEmpty() && isTerminated())
+                        {
+                            finished = true;
+                        } else
+                        {
+                            Thread.yield();
+                        }
+                        continue;
+                    }
+
+                    if (node.state.isGoalState())
+                    {
+                        offerSolution(node);
+                        continue;
+                    }
+
+                    expand(node);
+                }
+            } catch (RuntimeException e)
+            {
+                failure = e;
+                finished = true;
+            }
+        }
+
+        /**
+         * Adds every child in the inbox to the frontier.
+         */
+        private void receive()
+        {
+            if (inbox.isEmpty())
+                return;
+
+            if (idle)
+            {
+                idle = false;
+                activity.incrementAndGet();
+            }
+
+            SearchNode node;
+            while ((node = inbox.poll()) != null)
+            {
+                open(node);
+                inFlight.decrementAndGet();
+            }
+        }
+
+        /**
+         * Removes the next node to expand, skipping nodes that were replaced by a cheaper node of the same state.
+         * If the best node cannot beat the best solution, no node can, so the frontier is emptied.
+         *
+         * @return the next node, or null if there is none
+         */
+        private SearchNode next()
+        {
+            SearchNode node;
+            while ((node = frontier.poll()) != null)
+            {
+                if (node.g + node.h >= bestCost.get())
+                {
+                    frontier = createFrontier();
+                    return null;
+                }
+
+                if (bestG.get(node.state.getStateKey(), Integer.MAX_VALUE) == node.g)
+                {
+                    return node;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Generates the children of a node and sends each one to its owner.
+         *
+         * @param node the node to expand
+         */
+        private void expand(SearchNode node)
+        {
+            visitedNumber++;
+
+            for (Move move : Move.values())
+            {
+                //Moving back to the parent never helps
+                if (node.move != null && move == node.move.getInverse())
+                {
+                    continue;
+                }
+
+                final WhiteSpacePuzzle.State childState = node.state.move(move);
+                if (childState == null)
+                {
+                    continue;
+                }
+
+                final int g = node.g + 1;
+                final int h = algorithm.getHCost(childState);
+                if (g + h >= bestCost.get())
+                {
+                    continue;
+                }
+
+                final SearchNode child = new SearchNode(childState, node, move, g, h);
+                if (getOwner(childState.getStateKey()) == index)
+                {
+                    open(child);
+                } else
+                {
+                    sentNumber++;
+                    send(child);
+                }
+            }
+        }
+
+        /**
+         * Adds a node to the frontier unless this worker already reached its state with a lower or equal G(n).
+         *
+         * @param node the node
+         */
+        private void open(SearchNode node)
+        {
+            final long key = node.state.getStateKey();
+            if (bestG.get(key, Integer.MAX_VALUE) <= node.g)
+            {
+                return;
+            }
+            bestG.put(key, node.g);
+            frontier.add(node);
+        }
+
+        private Frontier<SearchNode> createFrontier()
+        {
+            return new BucketFrontier<SearchNode>(node -> node.g + node.h, node -> node.h);
+        }
+    }
+}
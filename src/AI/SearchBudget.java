@@ -0,0 +1,178 @@
+package AI;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Defines the limits of a search: a time limit, a maximum amount of expanded nodes, a maximum frontier size and a maximum
+ * estimated memory. A search that reaches a limit stops with the CUTOFF status. A budget never changes; every with-method
+ * returns a new budget.
+ * <p>
+ * Example: SearchBudget.unlimited().withTimeLimit(2, TimeUnit.SECONDS).withMaxEstimatedBytes(512L << 20)
+ */
+public class SearchBudget
+{
+    /**
+     * The reason a search was cut off.
+     */
+    public enum Limit
+    {
+        TIME,
+        EXPANSIONS,
+        FRONTIER_SIZE,
+        MEMORY
+    }
+
+    //A rough size of a node in the frontier: the node view and its state. Every generated node also takes NodeArena.BYTES_PER_NODE.
+    public static final long ESTIMATED_OPEN_NODE_BYTES = 64;
+
+    //A rough size of an entry of an explored set kept in a hash map (see HashClosedList)
+    public static final long ESTIMATED_EXPLORED_BYTES = 24;
+
+    private static final SearchBudget UNLIMITED = new SearchBudget(Long.MAX_VALUE, Long.MAX_VALUE, Integer.MAX_VALUE, Long.MAX_VALUE);
+
+    //The time limit in nanoseconds, measured from the start of the search
+    private final long timeLimitNanos;
+
+    private final long maxExpansions;
+    private final int maxFrontierSize;
+    private final long maxEstimatedBytes;
+
+    private SearchBudget(long timeLimitNanos, long maxExpansions, int maxFrontierSize, long maxEstimatedBytes)
+    {
+        this.timeLimitNanos = timeLimitNanos;
+        this.maxExpansions = maxExpansions;
+        this.maxFrontierSize = maxFrontierSize;
+        this.maxEstimatedBytes = maxEstimatedBytes;
+    }
+
+    /**
+     * A budget without any limit.
+     *
+     * @return the budget
+     */
+    public static SearchBudget unlimited()
+    {
+        return UNLIMITED;
+    }
+
+    /**
+     * Limits the wall clock time of the search.
+     *
+     * @param time the time
+     * @param unit the unit of the time
+     * @return the new budget
+     */
+    public SearchBudget withTimeLimit(long time, TimeUnit unit)
+    {
+        if (time < 0)
+            throw new IllegalArgumentException("The time limit cannot be negative but was " + time + ".");
+
+        return new SearchBudget(unit.toNanos(time), maxExpansions, maxFrontierSize, maxEstimatedBytes);
+    }
+
+    /**
+     * Limits the amount of nodes that are expanded.
+     *
+     * @param maxExpansions # of expanded nodes
+     * @return the new budget
+     */
+    public SearchBudget withMaxExpansions(long maxExpansions)
+    {
+        if (maxExpansions < 0)
+            throw new IllegalArgumentException("The max expansions cannot be negative but was " + maxExpansions + ".");
+
+        return new SearchBudget(timeLimitNanos, maxExpansions, maxFrontierSize, maxEstimatedBytes);
+    }
+
+    /**
+     * Limits the amount of nodes in the frontier.
+     *
+     * @param maxFrontierSize # of nodes
+     * @return the new budget
+     */
+    public SearchBudget withMaxFrontierSize(int maxFrontierSize)
+    {
+        if (maxFrontierSize < 0)
+            throw new IllegalArgumentException("The max frontier size cannot be negative but was " + maxFrontierSize + ".");
+
+        return new SearchBudget(timeLimitNanos, maxExpansions, maxFrontierSize, maxEstimatedBytes);
+    }
+
+    /**
+     * Limits the estimated memory of the search (see estimateBytes).
+     *
+     * @param maxEstimatedBytes bytes
+     * @return the new budget
+     */
+    public SearchBudget withMaxEstimatedBytes(long maxEstimatedBytes)
+    {
+        if (maxEstimatedBytes < 0)
+            throw new IllegalArgumentException("The max estimated bytes cannot be negative but was " + maxEstimatedBytes + ".");
+
+        return new SearchBudget(timeLimitNanos, maxExpansions, maxFrontierSize, maxEstimatedBytes);
+    }
+
+    /**
+     * Estimates the memory held by a search from the amount of nodes it generated, the size of its frontier and its
+     * explored set.
+     *
+     * @param generatedNodes # of generated nodes (the size of the node arena)
+     * @param frontierSize   # of nodes in the frontier
+     * @param exploredSet    the explored set
+     * @return bytes
+     */
+    public static long estimateBytes(long generatedNodes, long frontierSize, ClosedList exploredSet)
+    {
+        return generatedNodes * NodeArena.BYTES_PER_NODE + frontierSize * ESTIMATED_OPEN_NODE_BYTES + exploredSet.getEstimatedBytes();
+    }
+
+    /**
+     * Checks the limits that are cheap to check, which are checked on every poll.
+     *
+     * @param expandedNumber  # of expanded nodes
+     * @param frontierSize    # of nodes in the frontier
+     * @param estimatedBytes  the estimated memory of the search
+     * @return the limit that was reached, or null if none
+     */
+    Limit checkCounts(long expandedNumber, int frontierSize, long estimatedBytes)
+    {
+        if (expandedNumber >= maxExpansions)
+            return Limit.EXPANSIONS;
+        if (frontierSize > maxFrontierSize)
+            return Limit.FRONTIER_SIZE;
+        if (estimatedBytes > maxEstimatedBytes)
+            return Limit.MEMORY;
+        return null;
+    }
+
+    /**
+     * Checks if the time limit was reached.
+     *
+     * @param elapsedNanos the time since the start of the search
+     * @return true if the time is up
+     */
+    boolean isTimeUp(long elapsedNanos)
+    {
+        return elapsedNanos >= timeLimitNanos;
+    }
+
+    public long getTimeLimitNanos()
+    {
+        return timeLimitNanos;
+    }
+
+    public long getMaxExpansions()
+    {
+        return maxExpansions;
+    }
+
+    public int getMaxFrontierSize()
+    {
+        return maxFrontierSize;
+    }
+
+    public long getMaxEstimatedBytes()
+    {
+        return maxEstimatedBytes;
+    }
+}
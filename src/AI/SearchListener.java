@@ -0,0 +1,138 @@
+package AI;
+
+/**
+ * Receives the events of a search, for instrumentation. Every method does nothing by default, so a listener only
+ * overrides the events it needs. The methods are called on the searching thread and should return quickly.
+ *
+ * @param <T> The state type
+ */
+public interface SearchListener<T extends AbstractState>
+{
+    /**
+     * Called once before the first node is polled.
+     *
+     * @param root the node of the initial state
+     */
+    default void onSearchStarted(AITree<T>.Node root)
+    {
+    }
+
+    /**
+     * Called when a node is expanded, before its children are generated.
+     *
+     * @param node the node
+     */
+    default void onExpand(AITree<T>.Node node)
+    {
+    }
+
+    /**
+     * Called for every child that is added to the frontier.
+     *
+     * @param child the child node
+     */
+    default void onGenerate(AITree<T>.Node child)
+    {
+    }
+
+    /**
+     * Called when a generated child is dropped because its state was already explored, or is already in the frontier
+     * with a lower or equal G(n).
+     *
+     * @param parent   the node that was expanded
+     * @param stateKey the state key of the dropped child (see AbstractState.getStateKey), so no state is created for it
+     */
+    default void onDuplicatePruned(AITree<T>.Node parent, long stateKey)
+    {
+    }
+
+    /**
+     * Called when a goal node becomes the solution.
+     *
+     * @param goal the goal node
+     */
+    default void onGoalFound(AITree<T>.Node goal)
+    {
+    }
+
+    /**
+     * Called every few polls with the size of the frontier.
+     *
+     * @param frontierSize # of nodes in the frontier
+     */
+    default void onFrontierSample(int frontierSize)
+    {
+    }
+
+    /**
+     * Called once after the search ends.
+     *
+     * @param solution the goal node, or null if no solution was found
+     */
+    default void onSearchFinished(AITree<T>.Node solution)
+    {
+    }
+
+    /**
+     * Creates a listener that passes every event to both listeners.
+     *
+     * @param first  the first listener
+     * @param second the second listener
+     * @param <T>    The state type
+     * @return the combined listener
+     */
+    static <T extends AbstractState> SearchListener<T> both(SearchListener<T> first, SearchListener<T> second)
+    {
+        return new SearchListener<T>()
+        {
+            @Override
+            public void onSearchStarted(AITree<T>.Node root)
+            {
+                first.onSearchStarted(root);
+                second.onSearchStarted(root);
+            }
+
+            @Override
+            public void onExpand(AITree<T>.Node node)
+            {
+                first.onExpand(node);
+                second.onExpand(node);
+            }
+
+            @Override
+            public void onGenerate(AITree<T>.Node child)
+            {
+                first.onGenerate(child);
+                second.onGenerate(child);
+            }
+
+            @Override
+            public void onDuplicatePruned(AITree<T>.Node parent, long stateKey)
+            {
+                first.onDuplicatePruned(parent, stateKey);
+                second.onDuplicatePruned(parent, stateKey);
+            }
+
+            @Override
+            public void onGoalFound(AITree<T>.Node goal)
+            {
+                first.onGoalFound(goal);
+                second.onGoalFound(goal);
+            }
+
+            @Override
+            public void onFrontierSample(int frontierSize)
+            {
+                first.onFrontierSample(frontierSize);
+                second.onFrontierSample(frontierSize);
+            }
+
+            @Override
+            public void onSearchFinished(AITree<T>.Node solution)
+            {
+                first.onSearchFinished(solution);
+                second.onSearchFinished(solution);
+            }
+        };
+    }
+}
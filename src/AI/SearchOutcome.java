@@ -0,0 +1,149 @@
+package AI;
+
+/**
+ * The outcome of a search: why it ended, the solution if one was found, the node that came closest to the goal, and the
+ * statistics of the search up to the point it ended.
+ *
+ * @param <T> The state type
+ */
+public class SearchOutcome<T extends AbstractState>
+{
+    /**
+     * The reason a search ended.
+     */
+    public enum Status
+    {
+        //A goal state was found
+        SOLVED,
+        //The frontier became empty without reaching a goal state
+        NO_SOLUTION,
+        //A limit of the budget was reached first
+        CUTOFF,
+        //The cancellation token was cancelled first
+        CANCELLED
+    }
+
+    private final Status status;
+    private final SearchBudget.Limit limit;
+
+    private final AITree<T>.Node solution;
+    private final AITree<T>.Node closestNode;
+
+    private final int visitedNumber;
+    private final long expandedNumber;
+    private final int exploredSetSize;
+    private final int maxFrontierSize;
+    private final long estimatedBytes;
+    private final long elapsedNanos;
+
+    SearchOutcome(Status status, SearchBudget.Limit limit, AITree<T>.Node solution, AITree<T>.Node closestNode, int visitedNumber,
+                  long expandedNumber, int exploredSetSize, int maxFrontierSize, long estimatedBytes, long elapsedNanos)
+    {
+        this.status = status;
+        this.limit = limit;
+        this.solution = solution;
+        this.closestNode = closestNode;
+        this.visitedNumber = visitedNumber;
+        this.expandedNumber = expandedNumber;
+        this.exploredSetSize = exploredSetSize;
+        this.maxFrontierSize = maxFrontierSize;
+        this.estimatedBytes = estimatedBytes;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public Status getStatus()
+    {
+        return status;
+    }
+
+    /**
+     * The limit that cut off the search.
+     *
+     * @return the limit, or null if the status is not CUTOFF
+     */
+    public SearchBudget.Limit getLimit()
+    {
+        return limit;
+    }
+
+    public boolean isSolved()
+    {
+        return status == Status.SOLVED;
+    }
+
+    /**
+     * Gets the goal node.
+     *
+     * @return the goal node, or null if the status is not SOLVED
+     */
+    public AITree<T>.Node getSolution()
+    {
+        return solution;
+    }
+
+    /**
+     * Gets the polled node with the lowest H(n) (the fewest moves if tied), which is the best guess of how close the
+     * search came to the goal state.
+     *
+     * @return the node, or null if nothing was polled
+     */
+    public AITree<T>.Node getClosestNode()
+    {
+        return closestNode;
+    }
+
+    /**
+     * Counts the amount of nodes that were polled (counting duplicates)
+     * @return # of visited nodes
+     */
+    public int getVisitedNumber()
+    {
+        return visitedNumber;
+    }
+
+    /**
+     * Counts the amount of nodes that were expanded
+     * @return # of expanded nodes
+     */
+    public long getExpandedNumber()
+    {
+        return expandedNumber;
+    }
+
+    /**
+     * Counts the amount of distinct states that were explored
+     * @return size of the explored set
+     */
+    public int getExploredSetSize()
+    {
+        return exploredSetSize;
+    }
+
+    public int getMaxFrontierSize()
+    {
+        return maxFrontierSize;
+    }
+
+    /**
+     * The memory held by the search when it ended, estimated by SearchBudget.estimateBytes.
+     *
+     * @return bytes
+     */
+    public long getEstimatedBytes()
+    {
+        return estimatedBytes;
+    }
+
+    public long getElapsedNanos()
+    {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString()
+    {
+        return status + (limit == null ? "" : " (" + limit + ")") + ": visited=" + visitedNumber + " expanded=" + expandedNumber
+                + " explored=" + exploredSetSize + " maxFrontier=" + maxFrontierSize + " estimatedBytes=" + estimatedBytes
+                + " elapsedMs=" + elapsedNanos / 1000000;
+    }
+}
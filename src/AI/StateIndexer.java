@@ -0,0 +1,31 @@
+package AI;
+
+/**
+ * Defines a perfect hash of the states of a problem: every reachable state gets its own index between 0 and the amount of
+ * indexes, with no gaps or collisions, so the states can be kept in plain arrays or bitsets.
+ */
+public interface StateIndexer
+{
+    /**
+     * The amount of indexes, which is the amount of reachable states.
+     *
+     * @return # of indexes
+     */
+    long getIndexCount();
+
+    /**
+     * Gets the index of a state.
+     *
+     * @param stateKey the key of a reachable state
+     * @return the index, between 0 and getIndexCount() - 1
+     */
+    long rank(long stateKey);
+
+    /**
+     * Gets the state of an index.
+     *
+     * @param index an index between 0 and getIndexCount() - 1
+     * @return the key of the state
+     */
+    long unrank(long index);
+}
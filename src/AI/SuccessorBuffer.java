@@ -0,0 +1,106 @@
+package AI;
+
+import java.util.Arrays;
+
+/**
+ * A reusable list of the children of a state, written by AbstractState.generateSuccessors without creating the child
+ * states. Every child is its state key, the id of the operator that reaches it, the cost of that operator and how much
+ * the state's own heuristic changes. The arrays grow as needed and are kept, so a buffer used for every expansion of a
+ * search allocates nothing once it is large enough.
+ */
+public class SuccessorBuffer
+{
+    private long[] stateKeys;
+    private int[] operatorIds;
+    private float[] costs;
+    private int[] heuristicDeltas;
+
+    //The amount of children in the buffer
+    private int size = 0;
+
+    /**
+     * Creates a buffer with room for 4 children, the most a board can have.
+     */
+    public SuccessorBuffer()
+    {
+        this(4);
+    }
+
+    /**
+     * Creates a buffer.
+     *
+     * @param capacity the amount of children it has room for before growing
+     */
+    public SuccessorBuffer(int capacity)
+    {
+        capacity = Math.max(1, capacity);
+        this.stateKeys = new long[capacity];
+        this.operatorIds = new int[capacity];
+        this.costs = new float[capacity];
+        this.heuristicDeltas = new int[capacity];
+    }
+
+    /**
+     * Removes every child, keeping the arrays.
+     */
+    public void clear()
+    {
+        size = 0;
+    }
+
+    /**
+     * Adds a child.
+     *
+     * @param stateKey       the key of the child state
+     * @param operatorId     the id of the operator that reaches the child (see AIFunction.getOperatorId)
+     * @param cost           the cost of the operator
+     * @param heuristicDelta the heuristic of the child minus the heuristic of the parent, for the state's own heuristic
+     */
+    public void add(long stateKey, int operatorId, float cost, int heuristicDelta)
+    {
+        if (size == stateKeys.length)
+        {
+            final int capacity = size << 1;
+            stateKeys = Arrays.copyOf(stateKeys, capacity);
+            operatorIds = Arrays.copyOf(operatorIds, capacity);
+            costs = Arrays.copyOf(costs, capacity);
+            heuristicDeltas = Arrays.copyOf(heuristicDeltas, capacity);
+        }
+
+        stateKeys[size] = stateKey;
+        operatorIds[size] = operatorId;
+        costs[size] = cost;
+        heuristicDeltas[size] = heuristicDelta;
+        size++;
+    }
+
+    /**
+     * The amount of children in the buffer.
+     *
+     * @return # of children
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    public long getStateKey(int index)
+    {
+        return stateKeys[index];
+    }
+
+    public int getOperatorId(int index)
+    {
+        return operatorIds[index];
+    }
+
+    public float getCost(int index)
+    {
+        return costs[index];
+    }
+
+    public int getHeuristicDelta(int index)
+    {
+        return heuristicDeltas[index];
+    }
+}
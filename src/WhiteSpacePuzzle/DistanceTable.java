@@ -0,0 +1,332 @@
+package WhiteSpacePuzzle;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Defines the complete distance table of the 3x3 puzzle: the exact amount of moves from every solvable board to one goal
+ * state. There are only 9! / 2 = 181,440 solvable boards, so the table is built with one backward breadth-first search
+ * and takes about 90 KB.
+ * <p>
+ * A board is stored at its index given by the PermutationIndexer of the goal state. Every entry is 4 bits holding the
+ * distance modulo 15 (15 marks an entry not reached yet). A move always changes the distance by exactly 1, so the
+ * distance modulo 15 is enough to walk down to the goal state, which gives a solution in O(depth) lookups.
+ */
+public class DistanceTable
+{
+    //Marks the start of a distance table file
+    private static final int MAGIC = 0x44535431; //"DST1"
+
+    //The only size of board the table fits in memory for
+    private static final int SIZE = 3;
+    private static final int CELLS = SIZE * SIZE;
+
+    //The amount of solvable boards (9! / 2)
+    private static final int ENTRIES = 181440;
+
+    //Distances are stored modulo this, which leaves 15 to mark entries not reached yet
+    private static final int MODULUS = 15;
+    private static final int UNSET = 0xF;
+
+    //The tables built or loaded by loadOrBuild, by packed goal state
+    private static final HashMap<Long, DistanceTable> TABLES = new HashMap<>();
+
+    //The packed goal state the distances were computed for
+    private final long goalBoard;
+
+    //Gives every solvable board its entry
+    private final PermutationIndexer indexer;
+
+    //Two entries of 4 bits per byte
+    private final byte[] table;
+
+    private DistanceTable(long goalBoard, byte[] table)
+    {
+        this.goalBoard = goalBoard;
+        this.indexer = new PermutationIndexer(SIZE, goalBoard);
+        this.table = table;
+    }
+
+    /**
+     * Builds the distance table with a backward breadth-first search from the goal state of the puzzle.
+     *
+     * @param puzzle a 3x3 puzzle whose goal state is used
+     * @return the distance table
+     */
+    public static DistanceTable build(WhiteSpacePuzzle puzzle)
+    {
+        if (puzzle.getSize() != SIZE)
+            throw new IllegalArgumentException("A distance table can only be built for a 3x3 board but the board was " + puzzle.getSize() + "x" + puzzle.getSize() + ".");
+
+        final long goalBoard = puzzle.getGoalState().getPackedState();
+
+        byte[] costs = new byte[ENTRIES / 2];
+        Arrays.fill(costs, (byte) 0xFF);
+        DistanceTable distances = new DistanceTable(goalBoard, costs);
+
+        //Every board is queued once, so the queue never needs more room than the amount of entries
+        long[] queue = new long[ENTRIES];
+        int head = 0;
+        int tail = 0;
+
+        distances.set(distances.getIndex(goalBoard), 0);
+        queue[tail++] = goalBoard;
+
+        final Move[] moves = Move.values();
+        while (head < tail)
+        {
+            final long board = queue[head++];
+            final int next = (distances.get(distances.getIndex(board)) + 1) % MODULUS;
+            final int spaceIndex = getSpaceIndex(board);
+
+            for (Move move : moves)
+            {
+                final long child = move(board, spaceIndex, move);
+                if (child == board)
+                    continue;
+
+                final int index = distances.getIndex(child);
+                if (distances.get(index) == UNSET)
+                {
+                    distances.set(index, next);
+                    queue[tail++] = child;
+                }
+            }
+        }
+        return distances;
+    }
+
+    /**
+     * Loads the distance table of the goal state of the puzzle from the directory, or builds (and saves) it if it is
+     * missing. Tables are kept in memory once loaded, so every goal state is loaded at most once.
+     *
+     * @param puzzle    a 3x3 puzzle whose goal state is used
+     * @param directory the directory of the files
+     * @return the distance table
+     * @throws IOException if a built table cannot be saved
+     */
+    public static synchronized DistanceTable loadOrBuild(WhiteSpacePuzzle puzzle, File directory) throws IOException
+    {
+        final long goal = puzzle.getGoalState().getPackedState();
+        DistanceTable distances = TABLES.get(goal);
+        if (distances != null)
+            return distances;
+
+        final File file = new File(directory, getFileName(puzzle));
+        if (file.isFile())
+        {
+            DistanceTable loaded = load(file);
+            if (loaded.isFor(puzzle))
+                distances = loaded;
+        }
+
+        if (distances == null)
+        {
+            distances = build(puzzle);
+            directory.mkdirs();
+            distances.save(file);
+        }
+
+        TABLES.put(goal, distances);
+        return distances;
+    }
+
+    /**
+     * Loads a distance table from a file.
+     *
+     * @param file the file written by save
+     * @return the distance table
+     * @throws IOException if the file cannot be read or is not a distance table
+     */
+    public static DistanceTable load(File file) throws IOException
+    {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 1 << 16)))
+        {
+            if (in.readInt() != MAGIC)
+                throw new IOException(file + " is not a distance table.");
+
+            final long goalBoard = in.readLong();
+            if (in.readInt() != ENTRIES)
+                throw new IOException(file + " is truncated or corrupt.");
+
+            byte[] table = new byte[ENTRIES / 2];
+            in.readFully(table);
+            if (in.read() != -1)
+                throw new IOException(file + " is truncated or corrupt.");
+
+            return new DistanceTable(goalBoard, table);
+        } catch (EOFException e)
+        {
+            throw new IOException(file + " is truncated or corrupt.", e);
+        }
+    }
+
+    /**
+     * Saves the distance table to a file: a small header followed by two entries per byte.
+     *
+     * @param file the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public void save(File file) throws IOException
+    {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16)))
+        {
+            out.writeInt(MAGIC);
+            out.writeLong(goalBoard);
+            out.writeInt(ENTRIES);
+            out.write(table);
+        }
+    }
+
+    /**
+     * The exact amount of moves from a board to the goal state.
+     *
+     * @param packedBoard the packed board
+     * @return the amount of moves, or -1 if the board cannot reach the goal state
+     */
+    public int getDistance(long packedBoard)
+    {
+        if (!indexer.isReachable(packedBoard))
+            return -1;
+
+        int distance = 0;
+        for (long board = packedBoard; board != goalBoard; board = move(board, getSpaceIndex(board), getCloserMove(board)))
+        {
+            distance++;
+        }
+        return distance;
+    }
+
+    /**
+     * Checks if a neighbor of a board is one move closer to the goal state than the board, with a single lookup. A move
+     * always changes the distance by exactly 1, so the neighbor is otherwise one move further away.
+     *
+     * @param neighbor the packed neighbor, reachable from the goal state
+     * @param distance the exact distance of the board the neighbor was moved from
+     * @return true if the neighbor is at distance - 1, false if it is at distance + 1
+     */
+    public boolean isCloser(long neighbor, int distance)
+    {
+        return distance > 0 && get(getIndex(neighbor)) == (distance - 1) % MODULUS;
+    }
+
+    /**
+     * Finds the shortest solution by always moving to a board that is one move closer to the goal state.
+     *
+     * @param state the state to solve
+     * @return the moves of the white space from the state to the goal state, otherwise returns null if the state cannot reach the goal state
+     */
+    public List<Move> solve(WhiteSpacePuzzle.State state)
+    {
+        long board = state.getPackedState();
+        if (!indexer.isReachable(board))
+            return null;
+
+        List<Move> path = new ArrayList<>();
+        while (board != goalBoard)
+        {
+            final Move move = getCloserMove(board);
+            path.add(move);
+            board = move(board, getSpaceIndex(board), move);
+        }
+        return path;
+    }
+
+    /**
+     * Gets the move of a solvable board to a neighbor that is one move closer to the goal state.
+     *
+     * @param board the packed board, not the goal state
+     * @return the move
+     */
+    private Move getCloserMove(long board)
+    {
+        final int closer = (get(getIndex(board)) + MODULUS - 1) % MODULUS;
+        final int spaceIndex = getSpaceIndex(board);
+        for (Move move : Move.values())
+        {
+            final long child = move(board, spaceIndex, move);
+            if (child != board && get(getIndex(child)) == closer)
+                return move;
+        }
+        throw new IllegalStateException("No neighbor is closer to the goal state. The table is corrupt.");
+    }
+
+    /**
+     * Checks if this distance table was built for the goal state and size of the puzzle.
+     *
+     * @param puzzle the puzzle
+     * @return true if the distances are valid for the puzzle, false otherwise
+     */
+    public boolean isFor(WhiteSpacePuzzle puzzle)
+    {
+        return puzzle.getSize() == SIZE && puzzle.getGoalState().getPackedState() == goalBoard;
+    }
+
+    private int getIndex(long board)
+    {
+        return (int) indexer.rank(board);
+    }
+
+    private int get(int index)
+    {
+        return (table[index >> 1] >>> ((index & 1) << 2)) & 0xF;
+    }
+
+    private void set(int index, int distance)
+    {
+        final int shift = (index & 1) << 2;
+        table[index >> 1] = (byte) ((table[index >> 1] & ~(0xF << shift)) | (distance << shift));
+    }
+
+    private static int getSpaceIndex(long board)
+    {
+        for (int position = 0; position < CELLS; position++)
+        {
+            if (WhiteSpacePuzzle.getTile(board, position) == 0)
+                return position;
+        }
+        throw new IllegalArgumentException("The board has no white space.");
+    }
+
+    /**
+     * Moves the white space of a packed board.
+     *
+     * @param board      the packed board
+     * @param spaceIndex the position of the white space
+     * @param move       the direction
+     * @return the packed board after the move, or the same board if the white space is at the edge
+     */
+    private static long move(long board, int spaceIndex, Move move)
+    {
+        final int row = spaceIndex / SIZE + move.getRowOffset();
+        final int col = spaceIndex % SIZE + move.getColOffset();
+        if (row < 0 || row >= SIZE || col < 0 || col >= SIZE)
+            return board;
+
+        final int target = row * SIZE + col;
+        final long tile = WhiteSpacePuzzle.getTile(board, target);
+        return (board & ~(0xFL << (target * 4))) | (tile << (spaceIndex * 4));
+    }
+
+    /**
+     * The name of the file of the distance table of the puzzle, which includes the goal state.
+     *
+     * @param puzzle the puzzle
+     * @return the file name
+     */
+    private static String getFileName(WhiteSpacePuzzle puzzle)
+    {
+        return "distances-" + SIZE + "-" + Long.toHexString(puzzle.getGoalState().getPackedState()) + ".bin";
+    }
+}
@@ -0,0 +1,130 @@
+package WhiteSpacePuzzle;
+
+/**
+ * Defines the linear conflict cost of a puzzle. Two tiles are in linear conflict if they are in their goal row (or column)
+ * but in the wrong order, so one of them has to leave the line and come back: 2 moves more than the manhattan distance.
+ * <p>
+ * The conflicts of a line only depend on the goal columns (or rows) of the tiles that belong to that line, so the
+ * conflict cost of every possible line is precomputed once and a line is then evaluated with a single lookup.
+ */
+public class LinearConflictTable
+{
+    //Square size of the board
+    private final int size;
+
+    //The conflict cost of a line, indexed by the line key (a digit per cell: 0 if the tile does not belong to the line, goal index + 1 otherwise)
+    private final byte[] conflicts;
+
+    //The goal row and goal column of every tile
+    private final int[] goalRows;
+    private final int[] goalCols;
+
+    /**
+     * Creates the linear conflict table for the goal state of the puzzle.
+     *
+     * @param puzzle the puzzle
+     */
+    public LinearConflictTable(WhiteSpacePuzzle puzzle)
+    {
+        this.size = puzzle.getSize();
+
+        final int cells = size * size;
+        this.goalRows = new int[cells];
+        this.goalCols = new int[cells];
+        for (int tile = 0; tile < cells; tile++)
+        {
+            goalRows[tile] = puzzle.getGoalPosition(tile) / size;
+            goalCols[tile] = puzzle.getGoalPosition(tile) % size;
+        }
+
+        int keys = 1;
+        for (int i = 0; i < size; i++)
+        {
+            keys *= size + 1;
+        }
+
+        this.conflicts = new byte[keys];
+        final int[] line = new int[size];
+        for (int key = 0; key < keys; key++)
+        {
+            int rest = key;
+            for (int cell = 0; cell < size; cell++)
+            {
+                line[cell] = rest % (size + 1) - 1;
+                rest /= size + 1;
+            }
+            conflicts[key] = (byte) getConflictCost(line);
+        }
+    }
+
+    /**
+     * The manhattan distance plus the linear conflicts of every row and column.
+     *
+     * @param state the state
+     * @return the cost, which never overestimates
+     */
+    public int getCost(WhiteSpacePuzzle.State state)
+    {
+        return state.getManhattanDistanceCost() + getConflictCost(state.getPackedState());
+    }
+
+    /**
+     * The linear conflicts of every row and column.
+     *
+     * @param board the packed board
+     * @return 2 moves per tile that has to leave its line
+     */
+    public int getConflictCost(long board)
+    {
+        int cost = 0;
+
+        for (int line = 0; line < size; line++)
+        {
+            int rowKey = 0;
+            int colKey = 0;
+
+            //Built from the last cell so the first cell ends up as the lowest digit
+            for (int cell = size - 1; cell >= 0; cell--)
+            {
+                final int rowTile = WhiteSpacePuzzle.getTile(board, line * size + cell);
+                final int colTile = WhiteSpacePuzzle.getTile(board, cell * size + line);
+
+                rowKey = rowKey * (size + 1) + (rowTile != 0 && goalRows[rowTile] == line ? goalCols[rowTile] + 1 : 0);
+                colKey = colKey * (size + 1) + (colTile != 0 && goalCols[colTile] == line ? goalRows[colTile] + 1 : 0);
+            }
+
+            cost += conflicts[rowKey] + conflicts[colKey];
+        }
+        return cost;
+    }
+
+    /**
+     * The conflict cost of a line: 2 moves for every tile that has to be removed so the rest is in goal order.
+     *
+     * @param line the goal index of the tile in every cell, -1 if the tile does not belong to the line
+     * @return the conflict cost
+     */
+    private static int getConflictCost(int[] line)
+    {
+        //The longest increasing subsequence of the goal indexes is the largest set of tiles that can stay
+        int tiles = 0;
+        int longest = 0;
+        int[] lengths = new int[line.length];
+
+        for (int i = 0; i < line.length; i++)
+        {
+            if (line[i] < 0)
+                continue;
+
+            tiles++;
+            lengths[i] = 1;
+            for (int j = 0; j < i; j++)
+            {
+                if (line[j] >= 0 && line[j] < line[i] && lengths[j] + 1 > lengths[i])
+                    lengths[i] = lengths[j] + 1;
+            }
+            longest = Math.max(longest, lengths[i]);
+        }
+        return 2 * (tiles - longest);
+    }
+}
@@ -0,0 +1,126 @@
+package WhiteSpacePuzzle;
+
+/**
+ * Defines the directions the white space can move in.
+ */
+public enum Move
+{
+    LEFT(0, -1, 'L'),
+    DOWN(1, 0, 'D'),
+    RIGHT(0, 1, 'R'),
+    UP(-1, 0, 'U');
+
+    //How the white space changes its row and column
+    private final int rowOffset;
+    private final int colOffset;
+
+    //A single character that represents this move
+    private final char symbol;
+
+    //Every move by ordinal, so a lookup does not copy the array the way values() does
+    private static final Move[] MOVES = values();
+
+    Move(int rowOffset, int colOffset, char symbol)
+    {
+        this.rowOffset = rowOffset;
+        this.colOffset = colOffset;
+        this.symbol = symbol;
+    }
+
+    /**
+     * How the row of the white space changes.
+     *
+     * @return -1, 0 or 1
+     */
+    public int getRowOffset()
+    {
+        return rowOffset;
+    }
+
+    /**
+     * How the column of the white space changes.
+     *
+     * @return -1, 0 or 1
+     */
+    public int getColOffset()
+    {
+        return colOffset;
+    }
+
+    /**
+     * A single character that represents this move.
+     *
+     * @return 'L', 'D', 'R' or 'U'
+     */
+    public char getSymbol()
+    {
+        return symbol;
+    }
+
+    /**
+     * Gets the move with an ordinal, which is the operator id of the move in a successor buffer.
+     *
+     * @param ordinal the ordinal
+     * @return the move
+     */
+    public static Move fromOrdinal(int ordinal)
+    {
+        return MOVES[ordinal];
+    }
+
+    /**
+     * Gets the move that a character represents.
+     *
+     * @param symbol 'L', 'D', 'R' or 'U'
+     * @return the move
+     */
+    public static Move fromSymbol(char symbol)
+    {
+        for (Move move : values())
+        {
+            if (move.symbol == symbol)
+                return move;
+        }
+        throw new IllegalArgumentException("No move is represented by '" + symbol + "'.");
+    }
+
+    /**
+     * The same move on the board reflected across its main diagonal (rows become columns).
+     *
+     * @return the reflected move
+     */
+    public Move getTranspose()
+    {
+        switch (this)
+        {
+            case LEFT:
+                return UP;
+            case DOWN:
+                return RIGHT;
+            case RIGHT:
+                return DOWN;
+            default:
+                return LEFT;
+        }
+    }
+
+    /**
+     * The move which undoes this move.
+     *
+     * @return the opposite move
+     */
+    public Move getInverse()
+    {
+        switch (this)
+        {
+            case LEFT:
+                return RIGHT;
+            case DOWN:
+                return UP;
+            case RIGHT:
+                return LEFT;
+            default:
+                return DOWN;
+        }
+    }
+}
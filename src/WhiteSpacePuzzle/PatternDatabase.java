@@ -0,0 +1,604 @@
+package WhiteSpacePuzzle;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Defines a pattern database: the exact amount of moves a group of tiles (the pattern) needs to reach its goal positions,
+ * for every placement of those tiles. Only moves of pattern tiles are counted, so the costs of disjoint groups can be
+ * added and still never overestimate.
+ * <p>
+ * A placement is stored at its rank: the positions of the pattern tiles read as a number with mixed radix
+ * (cells, cells - 1, ...), which gives cells! / (cells - k)! entries of one byte each.
+ */
+public class PatternDatabase
+{
+    //Marks the start of a pattern database file
+    private static final int MAGIC = 0x50444231; //"PDB1"
+
+    //The cost of a placement that was not reached (yet)
+    private static final int UNSET = 0xFF;
+
+    //The marks of a (placement, white space position) in the search: not reached, expanded, or queued in a layer of
+    //even (QUEUED) or odd (QUEUED + 1) depth
+    private static final int UNVISITED = 0;
+    private static final int EXPANDED = 1;
+    private static final int QUEUED = 2;
+
+    //The databases built or loaded by loadOrBuild, by file name (which identifies the size, the pattern and the goal state)
+    private static final HashMap<String, PatternDatabase> DATABASES = new HashMap<>();
+
+    //Square size and amount of cells of the board
+    private final int size;
+    private final int cells;
+
+    //The tiles of the pattern, and the index of every tile in the pattern (-1 if the tile is not in the pattern)
+    private final int[] tiles;
+    private final int[] patternIndex;
+
+    //The packed goal state the costs were computed for
+    private final long goalBoard;
+
+    //The costs indexed by rank. Either on the heap or memory-mapped from a file.
+    private final ByteBuffer table;
+
+    private PatternDatabase(int size, int[] tiles, long goalBoard, ByteBuffer table)
+    {
+        this.size = size;
+        this.cells = size * size;
+        this.tiles = tiles.clone();
+        this.goalBoard = goalBoard;
+        this.table = table;
+
+        this.patternIndex = new int[cells];
+        Arrays.fill(patternIndex, -1);
+        for (int i = 0; i < tiles.length; i++)
+        {
+            patternIndex[tiles[i]] = i;
+        }
+    }
+
+    /**
+     * Builds the pattern database with a backward breadth-first search from the goal state of the puzzle.
+     *
+     * @param puzzle the puzzle whose goal state is used
+     * @param tiles  the tiles of the pattern. Must not contain the white space (0).
+     * @return the pattern database
+     */
+    public static PatternDatabase build(WhiteSpacePuzzle puzzle, int[] tiles)
+    {
+        final int size = puzzle.getSize();
+        final int cells = size * size;
+        final long goalBoard = puzzle.getGoalState().getPackedState();
+
+        validate(tiles, cells);
+
+        final long entries = countEntries(cells, tiles.length);
+        if (entries > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("A pattern of " + tiles.length + " tiles is too large for a " + size + "x" + size + " board.");
+
+        final byte[] costs = new byte[(int) entries];
+        Arrays.fill(costs, (byte) UNSET);
+
+        PatternDatabase database = new PatternDatabase(size, tiles, goalBoard, ByteBuffer.wrap(costs));
+        database.search(costs, puzzle.getGoalState().getSpaceIndex());
+        return database;
+    }
+
+    /**
+     * Loads a pattern database from a file. The file is memory-mapped, so the costs are only read from disk when used.
+     *
+     * @param file the file written by save
+     * @return the pattern database
+     * @throws IOException if the file cannot be read or is not a pattern database
+     */
+    public static PatternDatabase load(File file) throws IOException
+    {
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r"); FileChannel channel = randomAccessFile.getChannel())
+        {
+            final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buffer.getInt() != MAGIC)
+                throw new IOException(file + " is not a pattern database.");
+
+            final int size = buffer.getInt();
+            final int[] tiles = new int[buffer.getInt()];
+            for (int i = 0; i < tiles.length; i++)
+            {
+                tiles[i] = buffer.getInt();
+            }
+            final long goalBoard = buffer.getLong();
+            final long entries = buffer.getLong();
+
+            if (entries != countEntries(size * size, tiles.length) || buffer.remaining() != entries)
+                throw new IOException(file + " is truncated or corrupt.");
+
+            return new PatternDatabase(size, tiles, goalBoard, buffer.slice());
+        }
+    }
+
+    /**
+     * Loads the pattern databases of the partition from the directory, or builds (and saves) the ones that are missing
+     * or were built for another goal state. Databases are kept in memory once loaded, so every pattern and goal state is
+     * loaded or built at most once, even when many threads ask for it.
+     *
+     * @param puzzle    the puzzle whose goal state is used
+     * @param partition the disjoint groups of tiles
+     * @param directory the directory of the files
+     * @return one pattern database per group
+     * @throws IOException if a built database cannot be saved
+     */
+    public static synchronized PatternDatabase[] loadOrBuild(WhiteSpacePuzzle puzzle, int[][] partition, File directory) throws IOException
+    {
+        PatternDatabase[] databases = new PatternDatabase[partition.length];
+
+        for (int i = 0; i < partition.length; i++)
+        {
+            final String fileName = getFileName(puzzle, partition[i]);
+            databases[i] = DATABASES.get(fileName);
+            if (databases[i] != null)
+                continue;
+
+            final File file = new File(directory, fileName);
+
+            if (file.isFile())
+            {
+                PatternDatabase loaded = load(file);
+                if (loaded.isFor(puzzle) && Arrays.equals(loaded.tiles, partition[i]))
+                    databases[i] = loaded;
+            }
+
+            if (databases[i] == null)
+            {
+                databases[i] = build(puzzle, partition[i]);
+
+                directory.mkdirs();
+                databases[i].save(file);
+            }
+
+            DATABASES.put(fileName, databases[i]);
+        }
+        return databases;
+    }
+
+    /**
+     * Estimates the heap that loadOrBuild needs to build the databases of the partition that are neither in memory nor
+     * saved in the directory: 5 bytes per placement of the group being built, plus 1 byte per placement of every group
+     * built before it.
+     *
+     * @param puzzle    the puzzle whose goal state is used
+     * @param partition the disjoint groups of tiles
+     * @param directory the directory of the files
+     * @return the peak amount of bytes, or 0 if every database can be loaded
+     */
+    public static synchronized long getBuildMemory(WhiteSpacePuzzle puzzle, int[][] partition, File directory)
+    {
+        final int cells = puzzle.getSize() * puzzle.getSize();
+
+        long built = 0;
+        long peak = 0;
+        for (int[] tiles : partition)
+        {
+            final String fileName = getFileName(puzzle, tiles);
+            if (DATABASES.containsKey(fileName) || new File(directory, fileName).isFile())
+                continue;
+
+            final long entries = countEntries(cells, tiles.length);
+            peak = Math.max(peak, built + 5 * entries);
+            built += entries;
+        }
+        return peak;
+    }
+
+    /**
+     * The default partition of the tiles into disjoint groups: 4-4 for 3x3 boards and 7-8 for 4x4 boards.
+     * Building takes 5 bytes of heap per placement: about 2.5 GB for the group of 8 tiles on a 4x4 board (518,918,400
+     * placements, run with -Xmx4g so the arrays fit) and about 290 MB for the group of 7. Loading a built database maps
+     * its file instead.
+     *
+     * @param size the square size of the board
+     * @return the groups of tiles
+     */
+    public static int[][] getDefaultPartition(int size)
+    {
+        switch (size)
+        {
+            case 2:
+                return new int[][]{{1, 2, 3}};
+            case 3:
+                return new int[][]{{1, 2, 3, 4}, {5, 6, 7, 8}};
+            case 4:
+                return new int[][]{{1, 2, 3, 4, 5, 6, 7}, {8, 9, 10, 11, 12, 13, 14, 15}};
+            default:
+                throw new IllegalArgumentException("There is no default partition for a " + size + "x" + size + " board.");
+        }
+    }
+
+    /**
+     * Saves the pattern database to a file: a small header followed by one byte per rank.
+     *
+     * @param file the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public void save(File file) throws IOException
+    {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16)))
+        {
+            out.writeInt(MAGIC);
+            out.writeInt(size);
+            out.writeInt(tiles.length);
+            for (int tile : tiles)
+            {
+                out.writeInt(tile);
+            }
+            out.writeLong(goalBoard);
+            out.writeLong(table.capacity());
+
+            final byte[] chunk = new byte[1 << 16];
+            for (int offset = 0; offset < table.capacity(); offset += chunk.length)
+            {
+                final int length = Math.min(chunk.length, table.capacity() - offset);
+                for (int i = 0; i < length; i++)
+                {
+                    chunk[i] = table.get(offset + i);
+                }
+                out.write(chunk, 0, length);
+            }
+        }
+    }
+
+    /**
+     * The amount of moves the pattern tiles need to reach their goal positions.
+     *
+     * @param packedBoard the packed board
+     * @return the cost of the pattern tiles
+     */
+    public int getCost(long packedBoard)
+    {
+        //The positions of the pattern tiles, 4 bits each in pattern order
+        long positions = 0;
+        for (int position = 0; position < cells; position++)
+        {
+            final int index = patternIndex[WhiteSpacePuzzle.getTile(packedBoard, position)];
+            if (index >= 0)
+            {
+                positions |= (long) position << (index * 4);
+            }
+        }
+
+        int rank = 0;
+        int used = 0;
+        for (int i = 0; i < tiles.length; i++)
+        {
+            final int position = (int) (positions >>> (i * 4)) & 0xF;
+            rank = rank * (cells - i) + position - Integer.bitCount(used & ((1 << position) - 1));
+            used |= 1 << position;
+        }
+
+        return table.get(rank) & 0xFF;
+    }
+
+    /**
+     * Checks if this pattern database was built for the goal state and size of the puzzle.
+     *
+     * @param puzzle the puzzle
+     * @return true if the costs are valid for the puzzle, false otherwise
+     */
+    public boolean isFor(WhiteSpacePuzzle puzzle)
+    {
+        return puzzle.getSize() == size && puzzle.getGoalState().getPackedState() == goalBoard;
+    }
+
+    /**
+     * Gets the tiles of the pattern.
+     *
+     * @return a copy of the tiles
+     */
+    public int[] getTiles()
+    {
+        return tiles.clone();
+    }
+
+    /**
+     * Fills the costs with a 0-1 breadth-first search over (placement, white space position). Moving the white space
+     * onto a pattern tile costs 1, any other move costs 0. Instead of queueing the free moves, all positions the white
+     * space can reach without touching a pattern tile (its region) are queued at once, so every region is queued once.
+     * <p>
+     * The layers are not kept in lists: every (placement, white space position) has a 2-bit mark, one int per placement,
+     * and a layer is every position queued with the parity of its depth. A layer is found by scanning the marks, and its
+     * positions are marked expanded once they are, so the search needs 5 bytes per placement (with the costs) at most.
+     *
+     * @param costs      the costs indexed by rank
+     * @param goalSpace  the position of the white space in the goal state
+     */
+    private void search(byte[] costs, int goalSpace)
+    {
+        final int k = tiles.length;
+        final int[][] neighbors = getNeighbors();
+
+        final int[] marks = new int[costs.length];
+        //The low bit of the mark of every position of the board
+        final int laneMask = (int) ((1L << (2 * cells)) - 1) & 0x55555555;
+
+        final int[] positions = new int[k];
+        final int[] occupant = new int[cells];
+        final int[] region = new int[cells];
+
+        for (int i = 0; i < k; i++)
+        {
+            positions[i] = getGoalPosition(tiles[i]);
+        }
+        fillOccupant(positions, occupant);
+
+        final int goalRank = rank(positions);
+        costs[goalRank] = 0;
+        queueRegion(marks, goalRank, goalSpace, QUEUED, occupant, neighbors, region);
+
+        boolean queued = true;
+        for (int depth = 0; queued; depth++)
+        {
+            queued = false;
+            final int current = QUEUED + (depth & 1);
+            final int next = QUEUED + ((depth + 1) & 1);
+            final int currentLanes = current * 0x55555555;
+
+            for (int rank = 0; rank < marks.length; rank++)
+            {
+                //The positions of this placement queued in the current layer
+                final int difference = marks[rank] ^ currentLanes;
+                int lanes = ~(difference | (difference >>> 1)) & laneMask;
+                if (lanes == 0)
+                {
+                    continue;
+                }
+
+                unrank(rank, positions);
+                fillOccupant(positions, occupant);
+
+                for (; lanes != 0; lanes &= lanes - 1)
+                {
+                    final int from = Integer.numberOfTrailingZeros(lanes) >>> 1;
+                    setMark(marks, rank, from, EXPANDED);
+
+                    //Moving a pattern tile into the white space costs 1
+                    for (int neighbor : neighbors[from])
+                    {
+                        final int tile = occupant[neighbor];
+                        if (tile < 0)
+                        {
+                            continue;
+                        }
+
+                        positions[tile] = from;
+                        final int movedRank = rank(positions);
+                        positions[tile] = neighbor;
+
+                        if (getMark(marks, movedRank, neighbor) != UNVISITED)
+                        {
+                            continue;
+                        }
+
+                        occupant[from] = tile;
+                        occupant[neighbor] = -1;
+                        queueRegion(marks, movedRank, neighbor, next, occupant, neighbors, region);
+                        occupant[neighbor] = tile;
+                        occupant[from] = -1;
+
+                        if ((costs[movedRank] & 0xFF) == UNSET)
+                        {
+                            costs[movedRank] = (byte) (depth + 1);
+                        }
+                        queued = true;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Queues every position the white space reaches for free, for a placement.
+     *
+     * @param marks     the marks of every (rank, white space position)
+     * @param rank      the rank of the placement
+     * @param space     the position of the white space, not visited yet
+     * @param mark      the mark of the layer the region is queued in
+     * @param occupant  the pattern tile at every position (-1 if none)
+     * @param neighbors the neighbors of every position
+     * @param region    a buffer for the positions of the region
+     */
+    private static void queueRegion(int[] marks, int rank, int space, int mark, int[] occupant, int[][] neighbors, int[] region)
+    {
+        int regionSize = 0;
+        region[regionSize++] = space;
+        setMark(marks, rank, space, mark);
+
+        //A region is always queued as a whole, so an unvisited start means the whole region is unvisited
+        for (int r = 0; r < regionSize; r++)
+        {
+            for (int neighbor : neighbors[region[r]])
+            {
+                if (occupant[neighbor] < 0 && getMark(marks, rank, neighbor) == UNVISITED)
+                {
+                    setMark(marks, rank, neighbor, mark);
+                    region[regionSize++] = neighbor;
+                }
+            }
+        }
+    }
+
+    private static void fillOccupant(int[] positions, int[] occupant)
+    {
+        Arrays.fill(occupant, -1);
+        for (int i = 0; i < positions.length; i++)
+        {
+            occupant[positions[i]] = i;
+        }
+    }
+
+    /**
+     * The rank of a placement of the pattern tiles.
+     *
+     * @param positions the position of every pattern tile
+     * @return the rank
+     */
+    private int rank(int[] positions)
+    {
+        int rank = 0;
+        int used = 0;
+        for (int i = 0; i < positions.length; i++)
+        {
+            rank = rank * (cells - i) + positions[i] - Integer.bitCount(used & ((1 << positions[i]) - 1));
+            used |= 1 << positions[i];
+        }
+        return rank;
+    }
+
+    /**
+     * The placement of the pattern tiles of a rank.
+     *
+     * @param rank      the rank
+     * @param positions filled with the position of every pattern tile
+     */
+    private void unrank(int rank, int[] positions)
+    {
+        final int k = positions.length;
+
+        //The digits of the mixed radix number, the last digit has radix cells - k + 1
+        for (int i = k - 1; i >= 0; i--)
+        {
+            positions[i] = rank % (cells - i);
+            rank /= (cells - i);
+        }
+
+        //A digit counts the free positions below the position
+        int used = 0;
+        for (int i = 0; i < k; i++)
+        {
+            int position = -1;
+            for (int free = positions[i]; free >= 0; free--)
+            {
+                position++;
+                while ((used & (1 << position)) != 0)
+                    position++;
+            }
+            positions[i] = position;
+            used |= 1 << position;
+        }
+    }
+
+    /**
+     * Gets the goal position of a tile from the packed goal state.
+     *
+     * @param tile the tile
+     * @return the position of the tile in the goal state
+     */
+    private int getGoalPosition(int tile)
+    {
+        for (int position = 0; position < cells; position++)
+        {
+            if (WhiteSpacePuzzle.getTile(goalBoard, position) == tile)
+                return position;
+        }
+        throw new IllegalStateException("Tile " + tile + " is not in the goal state.");
+    }
+
+    /**
+     * The positions next to every position of the board.
+     *
+     * @return the neighbors indexed by position
+     */
+    private int[][] getNeighbors()
+    {
+        int[][] neighbors = new int[cells][];
+        for (int position = 0; position < cells; position++)
+        {
+            final int row = position / size;
+            final int col = position % size;
+
+            int[] list = new int[4];
+            int count = 0;
+            for (Move move : Move.values())
+            {
+                final int r = row + move.getRowOffset();
+                final int c = col + move.getColOffset();
+                if (r >= 0 && r < size && c >= 0 && c < size)
+                    list[count++] = r * size + c;
+            }
+            neighbors[position] = Arrays.copyOf(list, count);
+        }
+        return neighbors;
+    }
+
+    /**
+     * The file name of a pattern database, which identifies the size, the pattern and the goal state.
+     *
+     * @param puzzle the puzzle
+     * @param tiles  the tiles of the pattern
+     * @return the file name
+     */
+    private static String getFileName(WhiteSpacePuzzle puzzle, int[] tiles)
+    {
+        String name = "pdb-" + puzzle.getSize() + "-";
+        for (int i = 0; i < tiles.length; i++)
+        {
+            name += (i == 0 ? "" : "_") + tiles[i];
+        }
+        return name + "-" + Long.toHexString(puzzle.getGoalState().getPackedState()) + ".bin";
+    }
+
+    /**
+     * Checks that the tiles are distinct tiles of the board and not the white space.
+     *
+     * @param tiles the tiles of the pattern
+     * @param cells the amount of cells of the board
+     */
+    private static void validate(int[] tiles, int cells)
+    {
+        if (tiles.length == 0 || tiles.length >= cells)
+            throw new IllegalArgumentException("A pattern needs between 1 and " + (cells - 2) + " tiles.");
+
+        boolean[] seen = new boolean[cells];
+        for (int tile : tiles)
+        {
+            if (tile <= 0 || tile >= cells || seen[tile])
+                throw new IllegalArgumentException("Tile " + tile + " cannot be used in a pattern.");
+            seen[tile] = true;
+        }
+    }
+
+    /**
+     * The amount of placements of k tiles on the board: cells! / (cells - k)!
+     *
+     * @param cells the amount of cells
+     * @param k     the amount of tiles
+     * @return the amount of ranks
+     */
+    private static long countEntries(int cells, int k)
+    {
+        long entries = 1;
+        for (int i = 0; i < k; i++)
+        {
+            entries *= cells - i;
+        }
+        return entries;
+    }
+
+    private static int getMark(int[] marks, int rank, int position)
+    {
+        return (marks[rank] >>> (position << 1)) & 3;
+    }
+
+    private static void setMark(int[] marks, int rank, int position, int mark)
+    {
+        final int shift = position << 1;
+        marks[rank] = (marks[rank] & ~(3 << shift)) | (mark << shift);
+    }
+}
@@ -0,0 +1,183 @@
+package WhiteSpacePuzzle;
+
+import AI.StateIndexer;
+
+/**
+ * Gives every board that can reach the goal state its own index, using the packed board as the state key.
+ * <p>
+ * The index is (position of the white space) * (cells - 1)! / 2 + (rank of the order of the tiles) / 2. The rank is the
+ * Lehmer code of the tiles read row by row. Ranks 2k and 2k + 1 only swap the last two tiles, so for a fixed position of
+ * the white space exactly one of them can reach the goal state. This gives cells! / 2 indexes: 181,440 on a 3x3 board
+ * and about 10^13 on a 4x4 board.
+ */
+public class PermutationIndexer implements StateIndexer
+{
+    //Square size and amount of cells of the board
+    private final int size;
+    private final int cells;
+
+    //The amount of tile orders that can reach the goal state for one position of the white space ((cells - 1)! / 2)
+    private final long orders;
+
+    //The parity every board that can reach the goal state has (see getParity)
+    private final int goalParity;
+
+    /**
+     * Creates the indexer of the boards that can reach the goal state of the puzzle.
+     *
+     * @param puzzle the puzzle whose goal state is used
+     */
+    public PermutationIndexer(WhiteSpacePuzzle puzzle)
+    {
+        this(puzzle.getSize(), puzzle.getGoalState().getPackedState());
+    }
+
+    /**
+     * Creates the indexer of the boards that can reach a goal state.
+     *
+     * @param size      the square size of the board, 2 to 4
+     * @param goalBoard the packed goal state
+     */
+    public PermutationIndexer(int size, long goalBoard)
+    {
+        if (size < 2 || size > 4)
+            throw new IllegalArgumentException("Boards of size 2 to 4 can be indexed but the size was " + size + ".");
+
+        this.size = size;
+        this.cells = size * size;
+
+        long factorial = 1;
+        for (int i = 2; i < cells; i++)
+        {
+            factorial *= i;
+        }
+        this.orders = factorial / 2;
+        this.goalParity = getParity(goalBoard);
+    }
+
+    @Override
+    public long getIndexCount()
+    {
+        return cells * orders;
+    }
+
+    @Override
+    public long rank(long stateKey)
+    {
+        int spaceIndex = 0;
+        long rank = 0;
+        int used = 0;
+        int tileNumber = 0;
+        for (int position = 0; position < cells; position++)
+        {
+            final int tile = WhiteSpacePuzzle.getTile(stateKey, position);
+            if (tile == 0)
+            {
+                spaceIndex = position;
+                continue;
+            }
+
+            //The amount of unused tiles lower than this tile, which is its digit in the Lehmer code
+            final int digit = (tile - 1) - Integer.bitCount(used & ((1 << (tile - 1)) - 1));
+            rank = rank * (cells - 1 - tileNumber) + digit;
+            used |= 1 << (tile - 1);
+            tileNumber++;
+        }
+        return spaceIndex * orders + (rank >> 1);
+    }
+
+    @Override
+    public long unrank(long index)
+    {
+        final int spaceIndex = (int) (index / orders);
+        long rank = (index % orders) << 1;
+
+        //The digits of the Lehmer code, last digit first
+        final int tiles = cells - 1;
+        int[] digits = new int[tiles];
+        for (int i = tiles - 1; i >= 0; i--)
+        {
+            final int radix = tiles - i;
+            digits[i] = (int) (rank % radix);
+            rank /= radix;
+        }
+
+        long board = 0;
+        int used = 0;
+        int lastPosition = -1;
+        int secondLastPosition = -1;
+        for (int i = 0, position = 0; i < tiles; i++, position++)
+        {
+            if (position == spaceIndex)
+                position++;
+
+            //The digit-th lowest unused tile
+            int tile = 0;
+            int remaining = digits[i];
+            while ((used & (1 << tile)) != 0 || remaining > 0)
+            {
+                if ((used & (1 << tile)) == 0)
+                    remaining--;
+                tile++;
+            }
+            used |= 1 << tile;
+            board |= (long) (tile + 1) << (position * 4);
+
+            secondLastPosition = lastPosition;
+            lastPosition = position;
+        }
+
+        //Rank 2k is the other order of the pair, so swap the last two tiles
+        if (!isReachable(board))
+        {
+            final long last = WhiteSpacePuzzle.getTile(board, lastPosition);
+            final long secondLast = WhiteSpacePuzzle.getTile(board, secondLastPosition);
+            board &= ~((0xFL << (lastPosition * 4)) | (0xFL << (secondLastPosition * 4)));
+            board |= (secondLast << (lastPosition * 4)) | (last << (secondLastPosition * 4));
+        }
+        return board;
+    }
+
+    /**
+     * Checks if a board can reach the goal state.
+     *
+     * @param board the packed board
+     * @return true if the board can reach the goal state, false otherwise
+     */
+    public boolean isReachable(long board)
+    {
+        return getParity(board) == goalParity;
+    }
+
+    /**
+     * The parity that no move changes: the parity of the order of the tiles, plus the row of the white space when the
+     * width is even (a vertical move then jumps over an odd amount of tiles).
+     *
+     * @param board the packed board
+     * @return 0 or 1
+     */
+    private int getParity(long board)
+    {
+        int inversions = 0;
+        int used = 0;
+        int spaceRow = 0;
+        for (int position = 0; position < cells; position++)
+        {
+            final int tile = WhiteSpacePuzzle.getTile(board, position);
+            if (tile == 0)
+            {
+                spaceRow = position / size;
+                continue;
+            }
+            //The tiles lower than this tile that come after it
+            inversions += (tile - 1) - Integer.bitCount(used & ((1 << (tile - 1)) - 1));
+            used |= 1 << (tile - 1);
+        }
+        return (size % 2 == 0 ? inversions + spaceRow : inversions) & 1;
+    }
+
+    public int getSize()
+    {
+        return size;
+    }
+}
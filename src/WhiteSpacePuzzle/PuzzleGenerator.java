@@ -0,0 +1,200 @@
+package WhiteSpacePuzzle;
+
+import AI.IterativeDeepeningAStar;
+import algorithms.AStarWalkingDistanceAlgorithm;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates solvable boards for a puzzle, for load tests and benchmarks. The same seed always generates the same boards.
+ */
+public class PuzzleGenerator
+{
+    //The puzzle whose size and goal state are used
+    private WhiteSpacePuzzle puzzle;
+
+    //The seeded source of randomness
+    private Random random;
+
+    //A copy of the puzzle whose initial state is set to every board atDepth measures, and the search that solves it.
+    //Created on the first use, so the walking distance table is only built once per generator.
+    private WhiteSpacePuzzle distancePuzzle;
+    private IterativeDeepeningAStar distanceSearch;
+
+    /**
+     * Creates a generator.
+     *
+     * @param puzzle the puzzle whose size and goal state are used
+     * @param seed   the seed
+     */
+    public PuzzleGenerator(WhiteSpacePuzzle puzzle, long seed)
+    {
+        this.puzzle = puzzle;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Generates a uniformly random solvable board: a random permutation of the tiles, with two tiles swapped if it has the wrong parity.
+     *
+     * @return the board
+     */
+    public int[][] randomBoard()
+    {
+        final int size = puzzle.getSize();
+        final int cells = size * size;
+
+        int[] tiles = new int[cells];
+        for (int i = 0; i < cells; i++)
+        {
+            tiles[i] = i;
+        }
+        for (int i = cells - 1; i > 0; i--)
+        {
+            final int j = random.nextInt(i + 1);
+            final int tile = tiles[i];
+            tiles[i] = tiles[j];
+            tiles[j] = tile;
+        }
+
+        int[][] board = toBoard(tiles);
+        if (!puzzle.isSolvable(board))
+        {
+            //Swapping two tiles (not the white space) flips the parity
+            final int first = tiles[0] == 0 ? 1 : 0;
+            final int second = tiles[first + 1] == 0 ? first + 2 : first + 1;
+            final int tile = tiles[first];
+            tiles[first] = tiles[second];
+            tiles[second] = tile;
+            board = toBoard(tiles);
+        }
+        return board;
+    }
+
+    /**
+     * Generates a board by moving the white space randomly from the goal state, never undoing the last move.
+     * The optimal solution of the board is at most the length of the walk.
+     *
+     * @param length the amount of moves
+     * @return the board
+     */
+    public int[][] randomWalk(int length)
+    {
+        WhiteSpacePuzzle.State state = puzzle.new State(puzzle.getGoalState().getState());
+        Move previous = null;
+
+        for (int i = 0; i < length; i++)
+        {
+            final Move move = randomMove(state, previous);
+            state.applyMove(move);
+            previous = move;
+        }
+        return state.getState();
+    }
+
+    /**
+     * Generates a board whose optimal solution has exactly the amount of moves. Starting at the goal state, the white
+     * space only moves to boards that are one move further away, and starts again if there is none.
+     * Every step solves up to 3 boards optimally, so deep 4x4 boards take a while.
+     *
+     * @param depth       the amount of moves of the optimal solution
+     * @param maxAttempts the amount of walks to try before giving up
+     * @return the board
+     * @throws IllegalStateException if no walk reached the depth
+     */
+    public int[][] atDepth(int depth, int maxAttempts)
+    {
+        for (int attempt = 0; attempt < maxAttempts; attempt++)
+        {
+            WhiteSpacePuzzle.State state = puzzle.new State(puzzle.getGoalState().getState());
+
+            int distance = 0;
+            while (distance < depth)
+            {
+                //Every neighbor is either one move closer or one move further
+                Move[] further = new Move[4];
+                int count = 0;
+                for (Move move : Move.values())
+                {
+                    final WhiteSpacePuzzle.State next = state.move(move);
+                    if (next != null && getDistance(next) == distance + 1)
+                    {
+                        further[count++] = move;
+                    }
+                }
+
+                if (count == 0)
+                {
+                    break;
+                }
+
+                state.applyMove(further[random.nextInt(count)]);
+                distance++;
+            }
+
+            if (distance == depth)
+            {
+                return state.getState();
+            }
+        }
+        throw new IllegalStateException("No board with an optimal solution of " + depth + " moves was found in " + maxAttempts + " attempts.");
+    }
+
+    /**
+     * Picks a random move the white space can make, other than undoing the previous move.
+     *
+     * @param state    the state
+     * @param previous the previous move, or null
+     * @return the move
+     */
+    private Move randomMove(WhiteSpacePuzzle.State state, Move previous)
+    {
+        Move[] moves = new Move[4];
+        int count = 0;
+        for (Move move : Move.values())
+        {
+            if (state.canMove(move) && (previous == null || move != previous.getInverse()))
+            {
+                moves[count++] = move;
+            }
+        }
+        return moves[random.nextInt(count)];
+    }
+
+    /**
+     * The amount of moves of the optimal solution of a state.
+     *
+     * @param state the state
+     * @return the amount of moves
+     */
+    private int getDistance(WhiteSpacePuzzle.State state)
+    {
+        if (distanceSearch == null)
+        {
+            distancePuzzle = new WhiteSpacePuzzle(puzzle.getSize());
+            distancePuzzle.setGoalState(puzzle.getGoalState().getState());
+            distanceSearch = new IterativeDeepeningAStar(distancePuzzle, new AStarWalkingDistanceAlgorithm(distancePuzzle));
+        }
+
+        distancePuzzle.setInitialState(state.getState());
+        final List<Move> solution = distanceSearch.findSolution();
+        return solution.size();
+    }
+
+    /**
+     * Turns tiles in row order into a 2D board.
+     *
+     * @param tiles the tiles
+     * @return the board
+     */
+    private int[][] toBoard(int[] tiles)
+    {
+        final int size = puzzle.getSize();
+        int[][] board = new int[size][size];
+        for (int i = 0; i < tiles.length; i++)
+        {
+            board[i / size][i % size] = tiles[i];
+        }
+        return board;
+    }
+}
@@ -0,0 +1,204 @@
+package WhiteSpacePuzzle;
+
+import AI.LongIntHashMap;
+
+import java.util.Arrays;
+
+/**
+ * Defines the walking distance cost of a puzzle. The vertical walking distance only keeps, for every row, how many tiles
+ * of every goal row it holds, and counts the vertical moves needed to bring every tile to its goal row when tiles of
+ * the same goal row are interchangeable. The horizontal walking distance does the same for columns. Their sum never
+ * overestimates and is at least the manhattan distance.
+ * <p>
+ * The distance of every row pattern is precomputed with a breadth-first search from the goal pattern, so a state is
+ * evaluated with two lookups.
+ */
+public class WalkingDistanceTable
+{
+    //The bits of a single count in a pattern key. A count is at most 4, so 3 bits are enough.
+    private static final int COUNT_BITS = 3;
+
+    //Square size of the board
+    private final int size;
+
+    //The goal row and goal column of every tile
+    private final int[] goalRows;
+    private final int[] goalCols;
+
+    //The distances of the row patterns (vertical) and column patterns (horizontal)
+    private final LongIntHashMap verticalDistances;
+    private final LongIntHashMap horizontalDistances;
+
+    /**
+     * Creates the walking distance tables for the goal state of the puzzle.
+     *
+     * @param puzzle the puzzle
+     */
+    public WalkingDistanceTable(WhiteSpacePuzzle puzzle)
+    {
+        this.size = puzzle.getSize();
+
+        final int cells = size * size;
+        this.goalRows = new int[cells];
+        this.goalCols = new int[cells];
+        for (int tile = 0; tile < cells; tile++)
+        {
+            goalRows[tile] = puzzle.getGoalPosition(tile) / size;
+            goalCols[tile] = puzzle.getGoalPosition(tile) % size;
+        }
+
+        this.verticalDistances = search(goalRows[0]);
+        this.horizontalDistances = goalRows[0] == goalCols[0] ? verticalDistances : search(goalCols[0]);
+    }
+
+    /**
+     * The vertical plus the horizontal walking distance.
+     *
+     * @param state the state
+     * @return the cost, which never overestimates
+     */
+    public int getCost(WhiteSpacePuzzle.State state)
+    {
+        return getCost(state.getPackedState());
+    }
+
+    /**
+     * The vertical plus the horizontal walking distance.
+     *
+     * @param board the packed board
+     * @return the cost, which never overestimates
+     */
+    public int getCost(long board)
+    {
+        long verticalKey = 0;
+        long horizontalKey = 0;
+
+        for (int position = 0; position < size * size; position++)
+        {
+            final int tile = WhiteSpacePuzzle.getTile(board, position);
+            final int row = position / size;
+            final int col = position % size;
+
+            if (tile == 0)
+            {
+                verticalKey |= (long) row << getSpaceShift();
+                horizontalKey |= (long) col << getSpaceShift();
+            } else
+            {
+                verticalKey += 1L << getCountShift(row, goalRows[tile]);
+                horizontalKey += 1L << getCountShift(col, goalCols[tile]);
+            }
+        }
+
+        return verticalDistances.get(verticalKey, 0) + horizontalDistances.get(horizontalKey, 0);
+    }
+
+    /**
+     * Computes the distance of every line pattern with a breadth-first search from the goal pattern.
+     *
+     * @param goalSpaceLine the line of the white space in the goal state
+     * @return the distances indexed by pattern key
+     */
+    private LongIntHashMap search(int goalSpaceLine)
+    {
+        //Every line holds its own tiles, except the line of the white space which holds one less
+        int[][] counts = new int[size][size];
+        for (int line = 0; line < size; line++)
+        {
+            counts[line][line] = line == goalSpaceLine ? size - 1 : size;
+        }
+
+        LongIntHashMap distances = new LongIntHashMap();
+        long[] current = {encode(counts, goalSpaceLine)};
+        distances.put(current[0], 0);
+
+        for (int depth = 1; current.length > 0; depth++)
+        {
+            long[] next = new long[16];
+            int nextSize = 0;
+
+            for (long key : current)
+            {
+                final int space = decode(key, counts);
+
+                //The white space changes line with a tile of the next line
+                for (int other = space - 1; other <= space + 1; other += 2)
+                {
+                    if (other < 0 || other >= size)
+                        continue;
+
+                    for (int goal = 0; goal < size; goal++)
+                    {
+                        if (counts[other][goal] == 0)
+                            continue;
+
+                        counts[other][goal]--;
+                        counts[space][goal]++;
+                        final long moved = encode(counts, other);
+                        counts[other][goal]++;
+                        counts[space][goal]--;
+
+                        if (!distances.containsKey(moved))
+                        {
+                            distances.put(moved, depth);
+                            if (nextSize == next.length)
+                                next = Arrays.copyOf(next, nextSize << 1);
+                            next[nextSize++] = moved;
+                        }
+                    }
+                }
+            }
+            current = Arrays.copyOf(next, nextSize);
+        }
+        return distances;
+    }
+
+    /**
+     * Creates the key of a line pattern.
+     *
+     * @param counts the amount of tiles of every goal line, for every line
+     * @param space  the line of the white space
+     * @return the key
+     */
+    private long encode(int[][] counts, int space)
+    {
+        long key = (long) space << getSpaceShift();
+        for (int line = 0; line < size; line++)
+        {
+            for (int goal = 0; goal < size; goal++)
+            {
+                key += (long) counts[line][goal] << getCountShift(line, goal);
+            }
+        }
+        return key;
+    }
+
+    /**
+     * Reads a line pattern from its key.
+     *
+     * @param key    the key
+     * @param counts filled with the amount of tiles of every goal line, for every line
+     * @return the line of the white space
+     */
+    private int decode(long key, int[][] counts)
+    {
+        for (int line = 0; line < size; line++)
+        {
+            for (int goal = 0; goal < size; goal++)
+            {
+                counts[line][goal] = (int) (key >>> getCountShift(line, goal)) & ((1 << COUNT_BITS) - 1);
+            }
+        }
+        return (int) (key >>> getSpaceShift());
+    }
+
+    private int getCountShift(int line, int goal)
+    {
+        return (line * size + goal) * COUNT_BITS;
+    }
+
+    private int getSpaceShift()
+    {
+        return size * size * COUNT_BITS;
+    }
+}
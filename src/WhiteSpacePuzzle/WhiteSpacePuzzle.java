@@ -2,8 +2,12 @@ package WhiteSpacePuzzle;
 
 import AI.AbstractState;
 import AI.AIFunction;
+import AI.SuccessorBuffer;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 
 /**
@@ -11,6 +15,15 @@ import java.util.HashMap;
  */
 public class WhiteSpacePuzzle {
 
+    //The largest square size whose board still fits in a single packed long (16 tiles * 4 bits)
+    public static final int MAX_SIZE = 4;
+
+    //The amount of bits used by a single tile in the packed board
+    private static final int TILE_BITS = 4;
+
+    //The mask of a single tile in the packed board
+    private static final long TILE_MASK = 0xFL;
+
     //Square Size
     private int SIZE;
 
@@ -20,6 +33,17 @@ public class WhiteSpacePuzzle {
 
     private State goalState;
 
+    //The distance tables of the goal state, indexed by tile * SIZE * SIZE + position. Built once per goal state.
+    private int[] manhattanTable;
+    private int[] misplacedTable;
+    private int[] euclideanTable;
+
+    //The position of every tile in the goal state
+    private int[] goalPositions;
+
+    //The moves the white space can make from every position, so children are generated without checking the edges
+    private Move[][] neighborMoves;
+
     //Manages operators
     private OperatorManager operatorManager;
 
@@ -29,11 +53,39 @@ public class WhiteSpacePuzzle {
      * @param size
      */
     public WhiteSpacePuzzle(int size) {
+        if (size < 2 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("The puzzle size must be between 2 and " + MAX_SIZE + " but was " + size + ".");
+        }
         SIZE = size;
         this.operatorManager = new OperatorManager();
+        buildNeighborMoves();
         setDefaultGoalState();
     }
 
+    /**
+     * Builds the moves the white space can make from every position.
+     */
+    private void buildNeighborMoves() {
+        final int cells = SIZE * SIZE;
+        this.neighborMoves = new Move[cells][];
+
+        for (int position = 0; position < cells; position++) {
+            final int row = position / SIZE;
+            final int col = position % SIZE;
+
+            Move[] moves = new Move[Move.values().length];
+            int length = 0;
+            for (Move move : Move.values()) {
+                final int targetRow = row + move.getRowOffset();
+                final int targetCol = col + move.getColOffset();
+                if (targetRow >= 0 && targetRow < SIZE && targetCol >= 0 && targetCol < SIZE) {
+                    moves[length++] = move;
+                }
+            }
+            neighborMoves[position] = Arrays.copyOf(moves, length);
+        }
+    }
+
     /**
      * Gets the size of the puzzle board
      *
@@ -47,8 +99,12 @@ public class WhiteSpacePuzzle {
      * Sets the initial state.
      *
      * @param initState
+     * @throws IllegalArgumentException if the board is not a permutation of the tiles, or cannot reach the goal state
      */
     public void setInitialState(int[][] initState) {
+        if (!isSolvable(initState)) {
+            throw new IllegalArgumentException("The initial state cannot reach the goal state: " + Arrays.deepToString(initState));
+        }
         State state = new State(initState);
         this.initState = state;
     }
@@ -77,12 +133,193 @@ public class WhiteSpacePuzzle {
         }
         localGoalState[SIZE - 1][SIZE - 1] = State.SPACE;
         this.goalState = new State(localGoalState, true);
+        buildDistanceTables();
     }
 
 
+    /**
+     * Sets the goal state
+     *
+     * @param goalState
+     * @throws IllegalArgumentException if the board is not a permutation of the tiles, or cannot be reached from the initial state
+     */
     public void setGoalState(int[][] goalState) {
+        validateBoard(goalState);
+        if (initState != null && getParity(initState.board) != getParity(pack(goalState))) {
+            throw new IllegalArgumentException("The goal state cannot be reached from the initial state: " + Arrays.deepToString(goalState));
+        }
         State state = new State(goalState, true);
         this.goalState = state;
+        buildDistanceTables();
+    }
+
+    /**
+     * Checks if the goal state can be reached from the board. Every move keeps the parity of the inversions (pairs of
+     * tiles in the wrong order, not counting the white space), plus the row of the white space on boards of even size.
+     * So the board is solvable if and only if this parity equals the parity of the goal state.
+     *
+     * @param board the board
+     * @return true if the goal state can be reached, false otherwise
+     * @throws IllegalArgumentException if the board is not a permutation of the tiles
+     */
+    public boolean isSolvable(int[][] board) {
+        validateBoard(board);
+        return getParity(pack(board)) == getParity(goalState.board);
+    }
+
+    /**
+     * Checks that the board has the size of the puzzle and holds every tile (0 to SIZE * SIZE - 1) exactly once.
+     *
+     * @param board the board
+     * @throws IllegalArgumentException if the board is not valid
+     */
+    private void validateBoard(int[][] board) {
+        if (board.length != SIZE) {
+            throw new IllegalArgumentException("The board needs " + SIZE + " rows but had " + board.length + ".");
+        }
+
+        boolean[] seen = new boolean[SIZE * SIZE];
+        for (int[] row : board) {
+            if (row.length != SIZE) {
+                throw new IllegalArgumentException("The board needs " + SIZE + " columns but had " + row.length + ".");
+            }
+            for (int tile : row) {
+                if (tile < 0 || tile >= SIZE * SIZE || seen[tile]) {
+                    throw new IllegalArgumentException("The board must hold every tile from 0 to " + (SIZE * SIZE - 1) + " exactly once.");
+                }
+                seen[tile] = true;
+            }
+        }
+    }
+
+    /**
+     * The parity that no move changes: the inversions of the tiles, plus the row of the white space on boards of even size.
+     *
+     * @param packed the packed board
+     * @return 0 or 1
+     */
+    private int getParity(long packed) {
+        final int cells = SIZE * SIZE;
+
+        int parity = 0;
+        for (int i = 0; i < cells; i++) {
+            final int tile = getTile(packed, i);
+            if (tile == State.SPACE) {
+                if (SIZE % 2 == 0) {
+                    parity += i / SIZE;
+                }
+                continue;
+            }
+
+            for (int j = i + 1; j < cells; j++) {
+                final int other = getTile(packed, j);
+                if (other != State.SPACE && other < tile) {
+                    parity++;
+                }
+            }
+        }
+        return parity & 1;
+    }
+
+    /**
+     * Prints a packed board in a readable format.
+     *
+     * @param packed the packed board
+     * @return rows of tiles
+     */
+    private String unpackToString(long packed) {
+        String s = "";
+        for (int i = 0; i < SIZE; i++) {
+            for (int j = 0; j < SIZE; j++) {
+                s += getTile(packed, i * SIZE + j) + " ";
+            }
+            s += "\n";
+        }
+        return s;
+    }
+
+    /**
+     * Builds the tables which hold the distance of every tile at every position to its goal position. The costs of
+     * a state are then sums of table lookups, and moving a tile only changes one term of each sum.
+     */
+    private void buildDistanceTables() {
+        final int cells = SIZE * SIZE;
+
+        this.goalPositions = new int[cells];
+        for (int position = 0; position < cells; position++) {
+            goalPositions[getTile(goalState.board, position)] = position;
+        }
+
+        this.manhattanTable = new int[cells * cells];
+        this.misplacedTable = new int[cells * cells];
+        this.euclideanTable = new int[cells * cells];
+
+        for (int tile = 0; tile < cells; tile++) {
+            //The white space never counts
+            if (tile == State.SPACE) {
+                continue;
+            }
+
+            final int goalRow = goalPositions[tile] / SIZE;
+            final int goalCol = goalPositions[tile] % SIZE;
+
+            for (int position = 0; position < cells; position++) {
+                final int rowDistance = Math.abs(goalRow - position / SIZE);
+                final int colDistance = Math.abs(goalCol - position % SIZE);
+
+                manhattanTable[tile * cells + position] = rowDistance + colDistance;
+                misplacedTable[tile * cells + position] = position == goalPositions[tile] ? 0 : 1;
+                euclideanTable[tile * cells + position] = (int) Math.sqrt(rowDistance * rowDistance + colDistance * colDistance);
+            }
+        }
+
+        //The costs of the initial state were computed for the old goal state
+        if (initState != null) {
+            initState.setCosts();
+        }
+    }
+
+    /**
+     * Gets the position of a tile in the goal state.
+     *
+     * @param tile the tile
+     * @return the position (row * SIZE + col) of the tile in the goal state
+     */
+    public int getGoalPosition(int tile) {
+        return goalPositions[tile];
+    }
+
+    /**
+     * Gets the manhattan distance of a tile at a position to its goal position.
+     *
+     * @param tile     the tile
+     * @param position the position (row * SIZE + col)
+     * @return the manhattan distance, 0 for the white space
+     */
+    public int getManhattanDistance(int tile, int position) {
+        return manhattanTable[tile * SIZE * SIZE + position];
+    }
+
+    /**
+     * Checks if a tile at a position is misplaced.
+     *
+     * @param tile     the tile
+     * @param position the position (row * SIZE + col)
+     * @return 1 if the tile is not at its goal position, 0 if it is or for the white space
+     */
+    public int getMisplacedTile(int tile, int position) {
+        return misplacedTable[tile * SIZE * SIZE + position];
+    }
+
+    /**
+     * Gets the euclidean distance of a tile at a position to its goal position, rounded down.
+     *
+     * @param tile     the tile
+     * @param position the position (row * SIZE + col)
+     * @return the euclidean distance, 0 for the white space
+     */
+    public int getEuclideanDistance(int tile, int position) {
+        return euclideanTable[tile * SIZE * SIZE + position];
     }
 
     /**
@@ -103,16 +340,58 @@ public class WhiteSpacePuzzle {
         return operatorManager;
     }
 
+    /**
+     * Packs a 2D board into a long. Every tile takes 4 bits and the tile at (row, col) is stored at position row * SIZE + col.
+     *
+     * @param board the 2D board
+     * @return the packed board
+     */
+    public long pack(int[][] board) {
+        long packed = 0;
+        for (int i = 0; i < SIZE; i++) {
+            for (int j = 0; j < SIZE; j++) {
+                packed |= ((long) board[i][j] & TILE_MASK) << ((i * SIZE + j) * TILE_BITS);
+            }
+        }
+        return packed;
+    }
+
+    /**
+     * Unpacks a packed board into a new 2D board.
+     *
+     * @param packed the packed board
+     * @return a new 2D board
+     */
+    public int[][] unpack(long packed) {
+        int[][] board = new int[SIZE][SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            for (int j = 0; j < SIZE; j++) {
+                board[i][j] = getTile(packed, i * SIZE + j);
+            }
+        }
+        return board;
+    }
+
+    /**
+     * Gets the tile at the given position of a packed board.
+     *
+     * @param packed   the packed board
+     * @param position the position (row * SIZE + col)
+     * @return the tile at the position
+     */
+    public static int getTile(long packed, int position) {
+        return (int) ((packed >>> (position * TILE_BITS)) & TILE_MASK);
+    }
+
     /**
      * Defines the states for the puzzle. The state object is used to track what state we are on in the 8 puzzle.
      */
     public class State extends AbstractState {
-        //The current state
-        private int[][] state;
+        //The current state, packed 4 bits per tile.
+        private long board;
 
-        //The location of the white space
-        int rowIndex = -1;
-        int colIndex = -1;
+        //The location of the white space (row * SIZE + col)
+        private byte spaceIndex;
 
         //The number that is used to define the white-space
         private static final int SPACE = 0;
@@ -121,12 +400,14 @@ public class WhiteSpacePuzzle {
         private int manhattanDistanceCost;
         private int misplacedTileCost;
         private int euclideanDistanceCost;
+        //Whether the costs were computed. A state created from its key computes them when they are first asked for.
+        private boolean hasCosts;
 
         /**
-         * Default constructor that creates a 2D state array.
+         * Default constructor that creates an empty board.
          */
         public State() {
-            this.state = new int[SIZE][SIZE];
+            this.board = 0;
         }
 
         /**
@@ -135,13 +416,7 @@ public class WhiteSpacePuzzle {
          * @param oldState The old state. Use this node to copy the parent nodes without worry of reference copy object.
          */
         public State(int[][] oldState) {
-            this.state = new int[SIZE][SIZE];
-
-            for (int i = 0; i < SIZE; i++) {
-                for (int j = 0; j < SIZE; j++) {
-                    state[i][j] = oldState[i][j];
-                }
-            }
+            this.board = pack(oldState);
             findSpaceIndexes();
             setCosts();
         }
@@ -153,13 +428,7 @@ public class WhiteSpacePuzzle {
          * @param isGoal   true to set the goal state (and skip costs), false to not set the goal state
          */
         private State(int[][] oldState, boolean isGoal) {
-            this.state = new int[SIZE][SIZE];
-
-            for (int i = 0; i < SIZE; i++) {
-                for (int j = 0; j < SIZE; j++) {
-                    state[i][j] = oldState[i][j];
-                }
-            }
+            this.board = pack(oldState);
             findSpaceIndexes();
 
             if (!isGoal) {
@@ -167,13 +436,88 @@ public class WhiteSpacePuzzle {
             }
         }
 
+        /**
+         * Creates a state from its packed board (its state key). The costs are computed when they are first asked for,
+         * since a search that reads the heuristic from its own node often never needs them.
+         *
+         * @param board the packed board
+         */
+        private State(long board) {
+            this.board = board;
+            findSpaceIndexes();
+        }
+
+        /**
+         * Copies another state.
+         *
+         * @param other the state to copy
+         */
+        public State(State other) {
+            this.board = other.board;
+            this.spaceIndex = other.spaceIndex;
+            this.manhattanDistanceCost = other.manhattanDistanceCost;
+            this.misplacedTileCost = other.misplacedTileCost;
+            this.euclideanDistanceCost = other.euclideanDistanceCost;
+            this.hasCosts = other.hasCosts;
+        }
+
         /**
          * Returns this state data
          *
-         * @return the 2D state array
+         * @return a new 2D state array. Changing it does not change this state, use setState instead.
          */
         public int[][] getState() {
-            return state;
+            return unpack(board);
+        }
+
+        /**
+         * Returns the packed state data
+         *
+         * @return the board packed 4 bits per tile
+         */
+        public long getPackedState() {
+            return board;
+        }
+
+        /**
+         * The packed board is unique for every state, so it is also the state key.
+         *
+         * @return the packed board
+         */
+        @Override
+        public long getStateKey() {
+            return board;
+        }
+
+        @Override
+        public State createState(long stateKey) {
+            return new State(stateKey);
+        }
+
+        @Override
+        public boolean isGoalStateKey(long stateKey) {
+            return stateKey == getGoalState().board;
+        }
+
+        /**
+         * Writes the children of this state without creating them: only the moves the white space can make from its
+         * position are tried, and the heuristic delta is the change of the manhattan distance.
+         *
+         * @param buffer the buffer, which is cleared first
+         * @return true
+         */
+        @Override
+        public boolean generateSuccessors(SuccessorBuffer buffer) {
+            buffer.clear();
+
+            final int cells = SIZE * SIZE;
+            for (Move move : neighborMoves[spaceIndex]) {
+                final int position = getTilePosition(move);
+                final int tile = getTile(board, position);
+                final int delta = manhattanTable[tile * cells + spaceIndex] - manhattanTable[tile * cells + position];
+                buffer.add(swapSpaceWith(position), move.ordinal(), operatorManager.getCost(move), delta);
+            }
+            return true;
         }
 
         /**
@@ -182,7 +526,7 @@ public class WhiteSpacePuzzle {
          * @param state the state data
          */
         public void setState(int[][] state) {
-            this.state = state;
+            this.board = pack(state);
             findSpaceIndexes();
             setCosts();
 
@@ -204,7 +548,7 @@ public class WhiteSpacePuzzle {
          * @return an integer that is 0 or higher that represents the column index of the white space in the 2D array.
          */
         public int getColIndex() {
-            return colIndex;
+            return spaceIndex % SIZE;
         }
 
         /**
@@ -213,24 +557,116 @@ public class WhiteSpacePuzzle {
          * @return an integer that is 0 or higher that represents the row index of the white space in the 2D array.
          */
         public int getRowIndex() {
-            return rowIndex;
+            return spaceIndex / SIZE;
         }
 
         /**
-         * Finds the white space in the 2D array which updates col index and row index.
+         * The position of the white-space.
+         *
+         * @return row * SIZE + col of the white space
+         */
+        public int getSpaceIndex() {
+            return spaceIndex;
+        }
+
+        /**
+         * Finds the white space in the packed board which updates the space index.
          */
         private void findSpaceIndexes() {
-            for (int i = 0; i < SIZE; i++) {
-                for (int j = 0; j < SIZE; j++) {
-                    if (state[i][j] == SPACE) {
-                        rowIndex = i;
-                        colIndex = j;
-                        return;
-                    }
+            for (int i = 0; i < SIZE * SIZE; i++) {
+                if (getTile(board, i) == SPACE) {
+                    spaceIndex = (byte) i;
+                    return;
                 }
             }
         }
 
+        /**
+         * Checks if the white space can move in the direction.
+         *
+         * @param move the direction
+         * @return true if the white space stays on the board, false otherwise
+         */
+        public boolean canMove(Move move) {
+            final int row = getRowIndex() + move.getRowOffset();
+            final int col = getColIndex() + move.getColOffset();
+            return row >= 0 && row < SIZE && col >= 0 && col < SIZE;
+        }
+
+        /**
+         * Creates the state where the white space moved in the direction. This state does not change.
+         *
+         * @param move the direction
+         * @return the new state, or null if the white space cannot move in the direction
+         */
+        public State move(Move move) {
+            if (!canMove(move)) {
+                return null;
+            }
+
+            State child = new State(this);
+            child.slide(getTilePosition(move));
+            return child;
+        }
+
+        /**
+         * Moves the white space in the direction, changing this state (no new state is created). Apply the inverse move to undo it.
+         *
+         * @param move the direction. The white space must be able to move in it.
+         */
+        public void applyMove(Move move) {
+            if (!canMove(move)) {
+                throw new IllegalArgumentException("The white space cannot move " + move + " from row " + getRowIndex() + ", column " + getColIndex() + ".");
+            }
+
+            slide(getTilePosition(move));
+        }
+
+        /**
+         * Slides the tile at the position into the white space. The costs are updated from the distance tables of
+         * the one tile that moved, instead of being computed again.
+         *
+         * @param position the position of the tile next to the white space
+         */
+        private void slide(int position) {
+            final int cells = SIZE * SIZE;
+            final int tile = getTile(board, position);
+
+            //The tile moves from its position to the old white space
+            final int from = tile * cells + position;
+            final int to = tile * cells + spaceIndex;
+
+            if (hasCosts) {
+                this.manhattanDistanceCost += manhattanTable[to] - manhattanTable[from];
+                this.misplacedTileCost += misplacedTable[to] - misplacedTable[from];
+                this.euclideanDistanceCost += euclideanTable[to] - euclideanTable[from];
+            }
+
+            this.board = swapSpaceWith(position);
+            this.spaceIndex = (byte) position;
+        }
+
+        /**
+         * The position of the tile that swaps places with the white space when moving in the direction.
+         *
+         * @param move the direction
+         * @return the position (row * SIZE + col) of the tile
+         */
+        public int getTilePosition(Move move) {
+            return spaceIndex + move.getRowOffset() * SIZE + move.getColOffset();
+        }
+
+        /**
+         * Swaps the white space with the tile at the given position.
+         *
+         * @param position the position of the tile next to the white space
+         * @return the packed board after the swap
+         */
+        private long swapSpaceWith(int position) {
+            final long tile = (board >>> (position * TILE_BITS)) & TILE_MASK;
+            return (board & ~(TILE_MASK << (position * TILE_BITS))) | (tile << (spaceIndex * TILE_BITS));
+        }
+
         /**
          * Sets the costs for misplaced tiles and manhattan distance to reduce computation time. (increases memory space in return)
          */
@@ -240,39 +676,21 @@ public class WhiteSpacePuzzle {
             int manhattanDistanceCost = 0;
             int euclideanDistanceCost = 0;
 
-            for (int i = 0; i < SIZE; i++) {
-                for (int j = 0; j < SIZE; j++) {
-
-                    if (state[i][j] != SPACE) //If this is not the space
-                    {
-                        if (state[i][j] != goalState.state[i][j]) //If not the goal state
-                        {
-                            misplacedCost++; //This tile is misplaced, increase the cost by 1.
+            final int cells = SIZE * SIZE;
 
+            for (int position = 0; position < cells; position++) {
+                //The tables hold 0 for the white space, so it never counts.
+                final int index = getTile(board, position) * cells + position;
 
-                            findGoalState:
-                            //This loop computes the manhattan distance to find the goal state.
-                            for (int findGoalStateRow = 0; findGoalStateRow < SIZE; findGoalStateRow++) {
-                                for (int findGoalStateCol = 0; findGoalStateCol < SIZE; findGoalStateCol++) {
-                                    if (state[i][j] == goalState.state[findGoalStateRow][findGoalStateCol]) {
-
-                                        manhattanDistanceCost += Math.abs(findGoalStateRow - i) + Math.abs(findGoalStateCol - j);
-                                        euclideanDistanceCost += Math.sqrt(Math.pow(findGoalStateRow - i, 2) + Math.pow(findGoalStateCol - j, 2));
-                                        break findGoalState;
-                                    }
-                                }
-                            }
-
-                        }
-                    }
-                }
+                misplacedCost += misplacedTable[index];
+                manhattanDistanceCost += manhattanTable[index];
+                euclideanDistanceCost += euclideanTable[index];
             }
 
             this.manhattanDistanceCost = manhattanDistanceCost;
             this.misplacedTileCost = misplacedCost;
             this.euclideanDistanceCost = euclideanDistanceCost;
-
-
+            this.hasCosts = true;
         }
 
         /**
@@ -281,6 +699,9 @@ public class WhiteSpacePuzzle {
          * @return the cost of misplaced tiles
          */
         public int getMisplacedTileCost() {
+            if (!hasCosts) {
+                setCosts();
+            }
             return this.misplacedTileCost;
         }
 
@@ -290,6 +711,9 @@ public class WhiteSpacePuzzle {
          * @return the manhattan distance cost
          */
         public int getManhattanDistanceCost() {
+            if (!hasCosts) {
+                setCosts();
+            }
             return manhattanDistanceCost;
         }
 
@@ -299,11 +723,14 @@ public class WhiteSpacePuzzle {
          * @return
          */
         public int getEuclideanDistanceCost() {
+            if (!hasCosts) {
+                setCosts();
+            }
             return euclideanDistanceCost;
         }
 
         /**
-         * Defines the equal operator by comparing the elements in the indexes i,j.
+         * Defines the equal operator by comparing the packed boards.
          *
          * @param obj the object in comparison
          * @return true if equal, false otherwise
@@ -312,35 +739,29 @@ public class WhiteSpacePuzzle {
         public boolean equals(Object obj) {
             if (obj != null) {
                 if (obj instanceof State) {
-                    State otherState = (State) obj;
-
-                    for (int i = 0; i < SIZE; i++) {
-                        for (int j = 0; j < SIZE; j++) {
-                            if (this.state[i][j] != otherState.state[i][j])
-                                return false;
-                        }
-                    }
-
-                    return true;
-
+                    return this.board == ((State) obj).board;
                 }
             }
             return false;
         }
 
+        /**
+         * Hashes the packed board so equal states have equal hashes.
+         *
+         * @return the hash of the packed board
+         */
+        @Override
+        public int hashCode() {
+            return Long.hashCode(board);
+        }
+
         /**
          * Prints the state data in a readable format
          *
          * @return
          */
         public String toString() {
-            String s = "";
-            for (int i = 0; i < SIZE; i++) {
-                for (int j = 0; j < SIZE; j++) {
-                    s += state[i][j] + " ";
-                }
-                s += "\n";
-            }
+            String s = unpackToString(board);
 
             if (s.isEmpty())
                 return s;
@@ -349,27 +770,84 @@ public class WhiteSpacePuzzle {
         }
     }
 
+    /**
+     * An operator which moves the white space in one direction.
+     */
+    public class MoveFunction extends AIFunction<State> {
+        //The direction of this operator
+        private final Move move;
+
+        /**
+         * Creates the operator
+         *
+         * @param move the direction the white space moves in
+         * @param name the name of the operator
+         */
+        private MoveFunction(Move move, String name) {
+            this.move = move;
+            setName(name);
+            setOperatorId(move.ordinal());
+            setInverseOperatorId(move.getInverse().ordinal());
+        }
+
+        /**
+         * Gets the direction the white space moves in
+         *
+         * @return the direction
+         */
+        public Move getMove() {
+            return move;
+        }
+
+        /**
+         * Moves the white space of the state
+         *
+         * @param state the state to move from (does not change)
+         * @return the new state, or null if the white space is already at the edge
+         */
+        @Override
+        public State apply(State state) {
+            return state.move(move);
+        }
+    }
+
     /**
      * Defines the manager which handles all operators and their costs
      */
     public class OperatorManager {
-        //A map that contains the function and their cost
+        //A map that contains the function and their cost, in the order of the moves (so every search expands the same way)
         private HashMap<AIFunction<State>, Float> operators;
 
+        //The cost of every move by ordinal, as written to a SuccessorBuffer
+        private final float[] moveCosts = new float[Move.values().length];
+
         /**
          * Default constructor that adds operators and their costs
          */
         public OperatorManager() {
-            this.operators = new HashMap<>();
+            this.operators = new LinkedHashMap<>();
             this.operators.put(getMoveLeftFunction(), (float) 1);
             this.operators.put(getMoveDownFunction(), (float) 1);
             this.operators.put(getMoveRightFunction(), (float) 1);
             this.operators.put(getMoveUpFunction(), (float) 1);
 
+            for (Map.Entry<AIFunction<State>, Float> operator : operators.entrySet()) {
+                moveCosts[((MoveFunction) operator.getKey()).getMove().ordinal()] = operator.getValue();
+            }
         }
 
         /**
-         * Gets the operators in a map (function and cost)
+         * Gets the cost of a move, as it was when the operators were created.
+         *
+         * @param move the move
+         * @return the cost
+         */
+        public float getCost(Move move) {
+            return moveCosts[move.ordinal()];
+        }
+
+        /**
+         * Gets the operators in a map (function and cost), in the order LEFT, DOWN, RIGHT, UP
          *
          * @return
          */
@@ -383,31 +861,7 @@ public class WhiteSpacePuzzle {
          * @return the function which defines what moving left does
          */
         public AIFunction<State> getMoveLeftFunction() {
-
-
-            AIFunction<State> function = new AIFunction<State>() {
-                @Override
-                public State apply(State state) {
-                    final int[][] oldStateArr = state.getState();
-                    State newState = new State(oldStateArr);
-                    int[][] newStateArr = newState.getState();
-
-                    //If this is the most far left you can go
-                    if (newState.getColIndex() != 0) {
-                        //Update the array by swapping white space with the other value
-                        newStateArr[newState.getRowIndex()][newState.getColIndex()] = newStateArr[newState.getRowIndex()][newState.getColIndex() - 1];
-                        newStateArr[newState.getRowIndex()][newState.getColIndex() - 1] = State.SPACE;
-                        return newState;
-
-                    } else {
-                        return null;
-                    }
-                }
-            };
-
-            function.setName("MoveLeftFunction");
-
-            return function;
+            return new MoveFunction(Move.LEFT, "MoveLeftFunction");
         }
 
         /**
@@ -416,30 +870,7 @@ public class WhiteSpacePuzzle {
          * @return the function which defines what moving down does
          */
         public AIFunction<State> getMoveDownFunction() {
-
-
-            AIFunction<State> function = new AIFunction<State>() {
-                @Override
-                public State apply(State state) {
-                    final int[][] oldStateArr = state.getState();
-                    State newState = new State(oldStateArr);
-                    int[][] newStateArr = newState.getState();
-
-                    //If this is the most far down you can go
-                    if (newState.getRowIndex() != SIZE - 1) {
-                        //Update the array by swapping white space with the other value
-                        newStateArr[newState.getRowIndex()][newState.getColIndex()] = newStateArr[newState.getRowIndex() + 1][newState.getColIndex()];
-                        newStateArr[newState.getRowIndex() + 1][newState.getColIndex()] = State.SPACE;
-                        return newState;
-
-                    } else {
-                        return null;
-                    }
-                }
-            };
-            function.setName("MoveDownFunction");
-
-            return function;
+            return new MoveFunction(Move.DOWN, "MoveDownFunction");
         }
 
         /**
@@ -448,30 +879,7 @@ public class WhiteSpacePuzzle {
          * @return the function which defines what moving right does
          */
         public AIFunction<State> getMoveRightFunction() {
-
-
-            AIFunction<State> function = new AIFunction<State>() {
-                @Override
-                public State apply(State state) {
-                    final int[][] oldStateArr = state.getState();
-                    State newState = new State(oldStateArr);
-                    int[][] newStateArr = newState.getState();
-
-                    //If this is the most far right you can go
-                    if (newState.getColIndex() != SIZE - 1) {
-                        //Update the array by swapping white space with the other value
-                        newStateArr[newState.getRowIndex()][newState.getColIndex()] = newStateArr[newState.getRowIndex()][newState.getColIndex() + 1];
-                        newStateArr[newState.getRowIndex()][newState.getColIndex() + 1] = State.SPACE;
-                        return newState;
-
-                    } else {
-                        return null;
-                    }
-                }
-            };
-            function.setName("MoveRightFunction");
-
-            return function;
+            return new MoveFunction(Move.RIGHT, "MoveRightFunction");
         }
 
         /**
@@ -480,30 +888,7 @@ public class WhiteSpacePuzzle {
          * @return the function which defines what moving up does
          */
         public AIFunction<State> getMoveUpFunction() {
-
-
-            AIFunction<State> function = new AIFunction<State>() {
-                @Override
-                public State apply(State state) {
-                    final int[][] oldStateArr = state.getState();
-                    State newState = new State(oldStateArr);
-                    int[][] newStateArr = newState.getState();
-
-                    //If this is the most far up you can go
-                    if (newState.getRowIndex() != 0) {
-                        //Update the array by swapping white space with the other value
-                        newStateArr[newState.getRowIndex()][newState.getColIndex()] = newStateArr[newState.getRowIndex() - 1][newState.getColIndex()];
-                        newStateArr[newState.getRowIndex() - 1][newState.getColIndex()] = State.SPACE;
-                        return newState;
-
-                    } else {
-                        return null;
-                    }
-                }
-            };
-            function.setName("MoveUpFunction");
-
-            return function;
+            return new MoveFunction(Move.UP, "MoveUpFunction");
         }
 
     }
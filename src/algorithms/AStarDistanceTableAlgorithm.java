@@ -0,0 +1,67 @@
+package algorithms;
+
+import AI.AbstractState;
+import AI.SuccessorBuffer;
+import WhiteSpacePuzzle.DistanceTable;
+import WhiteSpacePuzzle.WhiteSpacePuzzle;
+import AI.AITree;
+
+/**
+ * An informed heuristic search algorithm using A* with the exact distances of the complete 3x3 distance table. The cost
+ * is never wrong, so only the nodes of a shortest path are expanded. The drivers solve a board with DistanceTable.solve
+ * directly; this algorithm gives the exact cost to the search engines that take an Algorithm.
+ * @param <T> The AbstractNode which we need for comparisons (to choose what to expand next in the priority queue)
+ */
+public class AStarDistanceTableAlgorithm<T extends AITree<AbstractState>.Node> extends Algorithm<T>
+{
+    //The distances of every board to the goal state of the puzzle
+    private DistanceTable distances;
+
+    public AStarDistanceTableAlgorithm(WhiteSpacePuzzle puzzle, DistanceTable distances)
+    {
+        super(puzzle);
+
+        if (!distances.isFor(puzzle))
+            throw new IllegalArgumentException("The distance table was built for another goal state or size.");
+        this.distances = distances;
+    }
+
+    /**
+     * The distance table the costs are read from.
+     *
+     * @return the distance table
+     */
+    public DistanceTable getDistances()
+    {
+        return distances;
+    }
+
+    @Override
+    public int compare(T o1, T o2)
+    {
+        if (o1 != null && o2 != null)
+        {
+            AITree.Node state1 = (AITree.Node) o1;
+            AITree.Node state2 = (AITree.Node) o2;
+
+            //definition of exact distance cost, using the H(n) the tree keeps for every node instead of walking the table again. a higher number means the first object (o1) is larger. a lower number means the second object (o2) is larger. if the value is 0, the objects are equal.
+            return (int) ((state1.getGCost() + state1.getHCost()) - (state2.getGCost() + state2.getHCost()));
+        }
+
+        throw new NullPointerException("Could not compare objects. Are they null or not an instance of AITree.Node?");
+    }
+
+    @Override
+    public int getHCost(AbstractState state)
+    {
+        //A board that cannot reach the goal state is never generated from a solvable initial state
+        return Math.max(0, distances.getDistance(((WhiteSpacePuzzle.State) state).getPackedState()));
+    }
+
+    @Override
+    public int getChildHCost(AbstractState parent, int parentHCost, SuccessorBuffer successors, int index)
+    {
+        //A move changes the distance by exactly 1, so one lookup tells which way
+        return distances.isCloser(successors.getStateKey(index), parentHCost) ? parentHCost - 1 : parentHCost + 1;
+    }
+}
@@ -2,6 +2,8 @@ package algorithms;
 
 import AI.AITree;
 import AI.AbstractState;
+import AI.SuccessorBuffer;
+import WhiteSpacePuzzle.Move;
 import WhiteSpacePuzzle.WhiteSpacePuzzle;
 
 /**
@@ -38,4 +40,21 @@ public class AStarEuclideanCostAlgorithm<T extends AITree<AbstractState>.Node> e
 
         throw new NullPointerException("Could not compare objects. Are they null or not an instance of AITree.Node?");
     }
+
+    @Override
+    public int getHCost(AbstractState state)
+    {
+        return ((WhiteSpacePuzzle.State) state).getEuclideanDistanceCost();
+    }
+
+    @Override
+    public int getChildHCost(AbstractState parent, int parentHCost, SuccessorBuffer successors, int index)
+    {
+        //Only the tile that slid into the white space of the parent changes its distance
+        final WhiteSpacePuzzle.State state = (WhiteSpacePuzzle.State) parent;
+        final int to = state.getSpaceIndex();
+        final int from = state.getTilePosition(Move.fromOrdinal(successors.getOperatorId(index)));
+        final int tile = WhiteSpacePuzzle.getTile(successors.getStateKey(index), to);
+        return parentHCost + getPuzzle().getEuclideanDistance(tile, to) - getPuzzle().getEuclideanDistance(tile, from);
+    }
 }
@@ -1,6 +1,7 @@
 package algorithms;
 
 import AI.AbstractState;
+import AI.SuccessorBuffer;
 import WhiteSpacePuzzle.WhiteSpacePuzzle;
 import AI.AITree;
 
@@ -37,4 +38,17 @@ public class AStarManhattanCostAlgorithm<T extends AITree<AbstractState>.Node> e
 
         throw new NullPointerException("Could not compare objects. Are they null or not an instance of AITree.Node?");
     }
+
+    @Override
+    public int getHCost(AbstractState state)
+    {
+        return ((WhiteSpacePuzzle.State) state).getManhattanDistanceCost();
+    }
+
+    @Override
+    public int getChildHCost(AbstractState parent, int parentHCost, SuccessorBuffer successors, int index)
+    {
+        //The heuristic delta of a board is the change of the manhattan distance
+        return parentHCost + successors.getHeuristicDelta(index);
+    }
 }
@@ -0,0 +1,97 @@
+package algorithms;
+
+import AI.AbstractState;
+import AI.SuccessorBuffer;
+import WhiteSpacePuzzle.PatternDatabase;
+import WhiteSpacePuzzle.WhiteSpacePuzzle;
+import AI.AITree;
+
+/**
+ * An informed heuristic search algorithm using A* with additive disjoint pattern databases. The cost is the sum of the
+ * costs of every pattern database, which never overestimates since every move only moves a tile of one pattern.
+ * @param <T> The AbstractNode which we need for comparisons (to choose what to expand next in the priority queue)
+ */
+public class AStarPatternDatabaseAlgorithm<T extends AITree<AbstractState>.Node> extends Algorithm<T>
+{
+    //The pattern databases of disjoint groups of tiles
+    private PatternDatabase[] databases;
+
+    public AStarPatternDatabaseAlgorithm(WhiteSpacePuzzle puzzle, PatternDatabase... databases)
+    {
+        super(puzzle);
+
+        boolean[] used = new boolean[puzzle.getSize() * puzzle.getSize()];
+        for (PatternDatabase database : databases)
+        {
+            if (!database.isFor(puzzle))
+                throw new IllegalArgumentException("A pattern database was built for another goal state or size.");
+
+            for (int tile : database.getTiles())
+            {
+                if (used[tile])
+                    throw new IllegalArgumentException("Tile " + tile + " is in more than one pattern database, so the costs cannot be added.");
+                used[tile] = true;
+            }
+        }
+        this.databases = databases.clone();
+    }
+
+    @Override
+    public int compare(T o1, T o2)
+    {
+        if (o1 != null && o2 != null)
+        {
+            AITree.Node state1 = (AITree.Node) o1;
+            AITree.Node state2 = (AITree.Node) o2;
+
+            if (state1.getData() != null && state2.getData() != null)
+            {
+                //definition of pattern database cost. a higher number means the first object (o1) is larger. a lower number means the second object (o2) is larger. if the value is 0, the objects are equal.
+                return (int) ((state1.getGCost() + getHCost(state1.getData())) - (state2.getGCost() + getHCost(state2.getData())));
+            }
+
+        }
+
+        throw new NullPointerException("Could not compare objects. Are they null or not an instance of AITree.Node?");
+    }
+
+    @Override
+    public int getHCost(AbstractState state)
+    {
+        return getCost(((WhiteSpacePuzzle.State) state).getPackedState());
+    }
+
+    /**
+     * The sum of the costs of every pattern database.
+     *
+     * @param board the packed board
+     * @return the cost
+     */
+    private int getCost(long board)
+    {
+        int cost = 0;
+        for (PatternDatabase database : databases)
+        {
+            cost += database.getCost(board);
+        }
+        return cost;
+    }
+
+    /**
+     * The white space is not part of the placements, so a pattern database stores the lowest cost over every position of
+     * the white space. One move can then drop the cost by more than 1, which makes the sum inconsistent.
+     *
+     * @return false
+     */
+    @Override
+    public boolean isConsistent()
+    {
+        return false;
+    }
+
+    @Override
+    public int getChildHCost(AbstractState parent, int parentHCost, SuccessorBuffer successors, int index)
+    {
+        return getCost(successors.getStateKey(index));
+    }
+}
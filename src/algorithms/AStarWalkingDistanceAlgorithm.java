@@ -0,0 +1,54 @@
+package algorithms;
+
+import AI.AbstractState;
+import AI.SuccessorBuffer;
+import WhiteSpacePuzzle.WalkingDistanceTable;
+import WhiteSpacePuzzle.WhiteSpacePuzzle;
+import AI.AITree;
+
+/**
+ * An informed heuristic search algorithm using A* with the Walking Distance Cost.
+ * @param <T> The AbstractNode which we need for comparisons (to choose what to expand next in the priority queue)
+ */
+public class AStarWalkingDistanceAlgorithm<T extends AITree<AbstractState>.Node> extends Algorithm<T>
+{
+    //The precomputed walking distance tables for the goal state of the puzzle
+    private WalkingDistanceTable walkingDistances;
+
+    public AStarWalkingDistanceAlgorithm(WhiteSpacePuzzle puzzle)
+    {
+        super(puzzle);
+        this.walkingDistances = new WalkingDistanceTable(puzzle);
+    }
+
+    @Override
+    public int compare(T o1, T o2)
+    {
+        if (o1 != null && o2 != null)
+        {
+            AITree.Node state1 = (AITree.Node) o1;
+            AITree.Node state2 = (AITree.Node) o2;
+
+            if (state1.getData() != null && state2.getData() != null)
+            {
+                //definition of walking distance cost. a higher number means the first object (o1) is larger. a lower number means the second object (o2) is larger. if the value is 0, the objects are equal.
+                return (int) ((state1.getGCost() + getHCost(state1.getData())) - (state2.getGCost() + getHCost(state2.getData())));
+            }
+
+        }
+
+        throw new NullPointerException("Could not compare objects. Are they null or not an instance of AITree.Node?");
+    }
+
+    @Override
+    public int getHCost(AbstractState state)
+    {
+        return walkingDistances.getCost((WhiteSpacePuzzle.State) state);
+    }
+
+    @Override
+    public int getChildHCost(AbstractState parent, int parentHCost, SuccessorBuffer successors, int index)
+    {
+        return walkingDistances.getCost(successors.getStateKey(index));
+    }
+}
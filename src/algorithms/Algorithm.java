@@ -1,6 +1,7 @@
 package algorithms;
 
 import AI.AbstractState;
+import AI.SuccessorBuffer;
 import WhiteSpacePuzzle.WhiteSpacePuzzle;
 import AI.AITree;
 
@@ -24,4 +25,50 @@ public abstract class Algorithm<T extends AITree<AbstractState>.Node> implements
     {
         return puzzle;
     }
+
+    /**
+     * The heuristic H(n) of a state, which is the estimated cost needed to reach the goal state.
+     *
+     * @param state the state to estimate
+     * @return a positive integer, 0 if this algorithm is uninformed
+     */
+    public abstract int getHCost(AbstractState state);
+
+    /**
+     * The heuristic H(n) of a child written to a successor buffer. By default the child state is created and getHCost is
+     * used; an algorithm that can work from the state key or the heuristic delta overrides this to skip creating it.
+     *
+     * @param parent      the state the children were generated from
+     * @param parentHCost H(n) of the parent
+     * @param successors  the children of the parent
+     * @param index       the index of the child in the buffer
+     * @return a positive integer, 0 if this algorithm is uninformed
+     */
+    public int getChildHCost(AbstractState parent, int parentHCost, SuccessorBuffer successors, int index)
+    {
+        return getHCost(parent.createState(successors.getStateKey(index)));
+    }
+
+    /**
+     * Checks if this algorithm only produces whole numbers for F(n) = G(n) + H(n) when the operator costs are whole numbers.
+     * If true, the frontier can keep nodes in buckets instead of a heap.
+     *
+     * @return true if the costs are whole numbers, false otherwise
+     */
+    public boolean isIntegral()
+    {
+        return true;
+    }
+
+    /**
+     * Checks if the heuristic is consistent: H(n) never drops by more than the cost of a move. Then a state is never
+     * explored before its cheapest path is found. An inconsistent (but admissible) heuristic makes the tree reopen
+     * explored states that are reached with a lower G(n), so the solution stays optimal.
+     *
+     * @return true if the heuristic is consistent, false otherwise
+     */
+    public boolean isConsistent()
+    {
+        return true;
+    }
 }
@@ -1,6 +1,7 @@
 package algorithms;
 
 import AI.AbstractState;
+import AI.SuccessorBuffer;
 import WhiteSpacePuzzle.WhiteSpacePuzzle;
 import AI.AITree;
 
@@ -32,4 +33,17 @@ public class UniformCostSearch<T extends AITree<AbstractState>.Node> extends Alg
 
         throw new NullPointerException("Could not compare objects. Are they null or not an instance of AITree.Node?");
     }
+
+    @Override
+    public int getHCost(AbstractState state)
+    {
+        //Uninformed, so there is no estimate.
+        return 0;
+    }
+
+    @Override
+    public int getChildHCost(AbstractState parent, int parentHCost, SuccessorBuffer successors, int index)
+    {
+        return 0;
+    }
 }
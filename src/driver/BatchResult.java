@@ -0,0 +1,102 @@
+package driver;
+
+/**
+ * The result of solving one board of a batch.
+ */
+public class BatchResult
+{
+    //The position of the board in the input (starting at 1)
+    private final long index;
+
+    //The board as it was read
+    private final String board;
+
+    //The moves of the white space ('L', 'D', 'R', 'U'), null if no solution was found
+    private final String moves;
+
+    //Search statistics
+    private final long visitedNumber;
+    private final int maxFrontierSize;
+    private final long nanos;
+
+    //Why the board could not be solved, null if it was solved
+    private final String error;
+
+    public BatchResult(long index, String board, String moves, long visitedNumber, int maxFrontierSize, long nanos, String error)
+    {
+        this.index = index;
+        this.board = board;
+        this.moves = moves;
+        this.visitedNumber = visitedNumber;
+        this.maxFrontierSize = maxFrontierSize;
+        this.nanos = nanos;
+        this.error = error;
+    }
+
+    public long getIndex()
+    {
+        return index;
+    }
+
+    public String getBoard()
+    {
+        return board;
+    }
+
+    /**
+     * Gets the moves of the white space from the board to the goal state.
+     *
+     * @return a String of 'L', 'D', 'R' and 'U', or null if no solution was found
+     */
+    public String getMoves()
+    {
+        return moves;
+    }
+
+    /**
+     * Checks if a solution was found.
+     *
+     * @return true if solved, false otherwise
+     */
+    public boolean isSolved()
+    {
+        return moves != null;
+    }
+
+    public long getVisitedNumber()
+    {
+        return visitedNumber;
+    }
+
+    public int getMaxFrontierSize()
+    {
+        return maxFrontierSize;
+    }
+
+    /**
+     * The time spent solving the board.
+     *
+     * @return nanoseconds
+     */
+    public long getNanos()
+    {
+        return nanos;
+    }
+
+    public String getError()
+    {
+        return error;
+    }
+
+    /**
+     * A tab separated line: index, board, amount of moves, moves, visited nodes, max frontier size, microseconds, error.
+     *
+     * @return the line
+     */
+    @Override
+    public String toString()
+    {
+        return index + "\t" + board + "\t" + (moves == null ? -1 : moves.length()) + "\t" + (moves == null ? "" : moves) + "\t"
+                + visitedNumber + "\t" + maxFrontierSize + "\t" + nanos / 1000 + "\t" + (error == null ? "" : error);
+    }
+}
@@ -0,0 +1,127 @@
+package driver;
+
+import AI.SearchBudget;
+import WhiteSpacePuzzle.DistanceTable;
+import WhiteSpacePuzzle.PatternDatabase;
+import WhiteSpacePuzzle.WhiteSpacePuzzle;
+import algorithms.*;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Solves a file (or standard input) of boards and writes a tab separated result line per board to standard output, in the
+ * order the boards are solved.
+ * <p>
+ * Usage: BatchRunner [input file or -] [algorithm] [threads] [max boards in flight] [time limit per board in ms] [cache size]
+ * <p>
+ * With a cache size above 0, repeated boards (and their reflections) are answered from a SolutionCache of that many
+ * solutions instead of searched again. The distance-table algorithm reads the shortest path of every 3x3 board from the
+ * distance table instead of searching.
+ */
+public class BatchRunner
+{
+    public static void main(String[] args) throws IOException, InterruptedException
+    {
+        final String inputName = args.length > 0 ? args[0] : "-";
+        final String algorithmName = args.length > 1 ? args[1] : "manhattan";
+        final int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        final int maxInFlight = args.length > 3 ? Integer.parseInt(args[3]) : threads * 4;
+        final long timeLimitMillis = args.length > 4 ? Long.parseLong(args[4]) : 0;
+        final int cacheSize = args.length > 5 ? Integer.parseInt(args[5]) : 0;
+
+        final InputStream in = inputName.equals("-") ? System.in : new FileInputStream(inputName);
+        final Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+
+        BatchSolver solver = new BatchSolver(getAlgorithmFactory(algorithmName), threads, maxInFlight);
+        if (timeLimitMillis > 0)
+            solver.setBudget(SearchBudget.unlimited().withTimeLimit(timeLimitMillis, TimeUnit.MILLISECONDS));
+        if (cacheSize > 0)
+            solver.setCache(new SolutionCache(cacheSize));
+        //The exact distances give the shortest path without a search
+        if (algorithmName.equals("distance-table"))
+            solver.setDistanceTables(new File("pdb"));
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)))
+        {
+            final long count = solver.solve(reader, result ->
+            {
+                synchronized (out)
+                {
+                    try
+                    {
+                        out.write(result.toString());
+                        out.write('\n');
+                        out.flush();
+                    } catch (IOException e)
+                    {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+            System.err.println("Solved " + count + " boards.");
+            if (solver.getCache() != null)
+                System.err.println("Solution cache: " + solver.getCache());
+        }
+    }
+
+    /**
+     * Gets the algorithm for a name.
+     *
+     * @param name manhattan, euclidean, misplaced, uniform, pdb, linear-conflict, walking-distance or distance-table (3x3 only)
+     * @return creates the algorithm for a puzzle
+     */
+    public static Function<WhiteSpacePuzzle, Algorithm> getAlgorithmFactory(String name)
+    {
+        switch (name)
+        {
+            case "manhattan":
+                return AStarManhattanCostAlgorithm::new;
+            case "euclidean":
+                return AStarEuclideanCostAlgorithm::new;
+            case "misplaced":
+                return AStarMisplacedTileCostAlgorithm::new;
+            case "uniform":
+                return UniformCostSearch::new;
+            case "linear-conflict":
+                return AStarLinearConflictAlgorithm::new;
+            case "walking-distance":
+                return AStarWalkingDistanceAlgorithm::new;
+            case "pdb":
+                return puzzle ->
+                {
+                    try
+                    {
+                        return new AStarPatternDatabaseAlgorithm(puzzle, PatternDatabase.loadOrBuild(puzzle, PatternDatabase.getDefaultPartition(puzzle.getSize()), new File("pdb")));
+                    } catch (IOException e)
+                    {
+                        throw new UncheckedIOException(e);
+                    }
+                };
+            case "distance-table":
+                return puzzle ->
+                {
+                    try
+                    {
+                        return new AStarDistanceTableAlgorithm(puzzle, DistanceTable.loadOrBuild(puzzle, new File("pdb")));
+                    } catch (IOException e)
+                    {
+                        throw new UncheckedIOException(e);
+                    }
+                };
+            default:
+                throw new IllegalArgumentException("Unknown algorithm: " + name);
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package driver;
+
+import AI.AIFunction;
+import AI.AITree;
+import AI.BitSetClosedList;
+import AI.CancellationToken;
+import AI.SearchBudget;
+import AI.SearchOutcome;
+import WhiteSpacePuzzle.DistanceTable;
+import WhiteSpacePuzzle.Move;
+import WhiteSpacePuzzle.PermutationIndexer;
+import WhiteSpacePuzzle.WhiteSpacePuzzle;
+import algorithms.Algorithm;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Solves many boards concurrently on a fixed pool of threads. Every result is handed to the consumer as soon as its board
+ * is solved, so results do not wait for the whole batch. At most a fixed amount of boards are read ahead of the solvers,
+ * which keeps memory bounded no matter how large the input is.
+ */
+public class BatchSolver
+{
+    //Creates the algorithm for every board
+    private Function<WhiteSpacePuzzle, Algorithm> algorithmFactory;
+
+    //The amount of threads that solve boards
+    private int threads;
+
+    //The amount of boards that are read but not yet solved
+    private int maxInFlight;
+
+    //The limits of the search of every board
+    private SearchBudget budget = SearchBudget.unlimited();
+
+    //Solutions of boards solved before, or null to search every board
+    private SolutionCache cache;
+
+    //The directory of the distance tables that solve 3x3 boards without a search, or null to search every board
+    private File distanceTableDirectory;
+
+    //Stops every search of this solver when cancelled
+    private final CancellationToken token = new CancellationToken();
+
+    /**
+     * Creates a batch solver.
+     *
+     * @param algorithmFactory creates the algorithm for a puzzle, for example AStarManhattanCostAlgorithm::new
+     * @param threads          the amount of threads that solve boards
+     * @param maxInFlight      the amount of boards that can be read ahead of the solvers
+     */
+    public BatchSolver(Function<WhiteSpacePuzzle, Algorithm> algorithmFactory, int threads, int maxInFlight)
+    {
+        if (threads < 1 || maxInFlight < 1)
+            throw new IllegalArgumentException("The amount of threads and boards in flight must be positive.");
+
+        this.algorithmFactory = algorithmFactory;
+        this.threads = threads;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Solves every board of the input. A board is one line of tile numbers separated by spaces or commas, read row by row
+     * (0 is the white space). Empty lines and lines starting with '#' are skipped.
+     *
+     * @param input  the boards
+     * @param output receives every result as soon as it is ready. Called from the solver threads.
+     * @return the amount of boards that were read
+     * @throws IOException          if the input cannot be read
+     * @throws InterruptedException if the calling thread is interrupted while waiting for the solvers
+     */
+    public long solve(BufferedReader input, Consumer<BatchResult> output) throws IOException, InterruptedException
+    {
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final Semaphore permits = new Semaphore(maxInFlight);
+
+        long index = 0;
+        try
+        {
+            String line;
+            while ((line = input.readLine()) != null)
+            {
+                final String board = line.trim();
+                if (board.isEmpty() || board.startsWith("#"))
+                    continue;
+
+                final long boardIndex = ++index;
+
+                //Wait until a solver is done with a board, so the input is not read ahead too far.
+                permits.acquire();
+                executor.execute(() ->
+                {
+                    try
+                    {
+                        output.accept(solve(boardIndex, board));
+                    } finally
+                    {
+                        permits.release();
+                    }
+                });
+            }
+        } finally
+        {
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+        return index;
+    }
+
+    /**
+     * Solves a single board.
+     *
+     * @param index the position of the board in the input
+     * @param board the tile numbers of the board
+     * @return the result, with an error if the board cannot be read or solved
+     */
+    public BatchResult solve(long index, String board)
+    {
+        final long start = System.nanoTime();
+        try
+        {
+            final int[][] state = parseBoard(board);
+
+            WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(state.length);
+            puzzle.setInitialState(state);
+
+            //The distance table walks straight down to the goal state, one board per move
+            if (distanceTableDirectory != null && puzzle.getSize() == 3)
+            {
+                final List<Move> path = DistanceTable.loadOrBuild(puzzle, distanceTableDirectory).solve(puzzle.getInitState());
+                return new BatchResult(index, board, getMoves(path), path.size(), 0, System.nanoTime() - start, null);
+            }
+
+            final long boardKey = puzzle.getInitState().getStateKey();
+            final long goalKey = puzzle.getGoalState().getStateKey();
+            if (cache != null)
+            {
+                final String moves = cache.get(boardKey, goalKey, puzzle.getSize());
+                if (moves != null)
+                    return new BatchResult(index, board, moves, 0, 0, System.nanoTime() - start, null);
+            }
+
+            AITree<WhiteSpacePuzzle.State> tree = new AITree<WhiteSpacePuzzle.State>(puzzle.getInitState(), algorithmFactory.apply(puzzle), puzzle.getOperatorManager().getOperators());
+            tree.setVerbose(false);
+            //Every state of a 3x3 board has a bit of its own (about 23 KB), which beats hashing
+            if (puzzle.getSize() <= 3)
+                tree.setClosedList(new BitSetClosedList(new PermutationIndexer(puzzle)));
+
+            final SearchOutcome<WhiteSpacePuzzle.State> outcome = tree.search(budget, token);
+            final AITree<WhiteSpacePuzzle.State>.Node solution = outcome.getSolution();
+            final String moves = solution == null ? null : getMoves(solution);
+            if (cache != null && moves != null)
+                cache.put(boardKey, goalKey, puzzle.getSize(), moves);
+
+            return new BatchResult(index, board, moves, tree.getVisitedNumber(), tree.getMaxFrontierSize(),
+                    System.nanoTime() - start, solution == null ? getError(outcome) : null);
+        } catch (IOException | RuntimeException | OutOfMemoryError e)
+        {
+            return new BatchResult(index, board, null, 0, 0, System.nanoTime() - start, e.toString());
+        }
+    }
+
+    /**
+     * Describes why a search ended without a solution.
+     *
+     * @param outcome the outcome of the search
+     * @return the error
+     */
+    private static String getError(SearchOutcome<WhiteSpacePuzzle.State> outcome)
+    {
+        switch (outcome.getStatus())
+        {
+            case CUTOFF:
+                return "cutoff: " + outcome.getLimit();
+            case CANCELLED:
+                return "cancelled";
+            default:
+                return "no solution";
+        }
+    }
+
+    /**
+     * Sets the limits of the search of every board. A board that reaches a limit gets a cutoff error.
+     *
+     * @param budget the limits
+     */
+    public void setBudget(SearchBudget budget)
+    {
+        this.budget = budget;
+    }
+
+    /**
+     * Sets the cache that is checked before a board is searched, and that keeps every solution found. A board found in
+     * the cache has no visited nodes.
+     *
+     * @param cache the cache, or null to search every board
+     */
+    public void setCache(SolutionCache cache)
+    {
+        this.cache = cache;
+    }
+
+    public SolutionCache getCache()
+    {
+        return cache;
+    }
+
+    /**
+     * Solves every 3x3 board with the complete distance table of its goal state instead of a search. The shortest path
+     * is read from the table in one lookup per move, so a board visits only the boards on its path. Other sizes are
+     * still searched with the algorithm.
+     *
+     * @param directory the directory the tables are loaded from, and built into when missing, or null to search every board
+     */
+    public void setDistanceTables(File directory)
+    {
+        this.distanceTableDirectory = directory;
+    }
+
+    /**
+     * Stops every running and following search. Their boards get a cancelled error.
+     */
+    public void cancel()
+    {
+        token.cancel();
+    }
+
+    /**
+     * Reads a square board from a line of tile numbers.
+     *
+     * @param board the line
+     * @return the 2D board
+     */
+    public static int[][] parseBoard(String board)
+    {
+        final String[] tiles = board.trim().split("[\\s,]+");
+        final int size = (int) Math.round(Math.sqrt(tiles.length));
+        if (size * size != tiles.length)
+            throw new IllegalArgumentException("A board needs a square amount of tiles but had " + tiles.length + ".");
+
+        int[][] state = new int[size][size];
+        for (int i = 0; i < tiles.length; i++)
+        {
+            state[i / size][i % size] = Integer.parseInt(tiles[i]);
+        }
+        return state;
+    }
+
+    /**
+     * Gets the moves of the white space as a String.
+     *
+     * @param path the moves
+     * @return a String of 'L', 'D', 'R' and 'U'
+     */
+    public static String getMoves(List<Move> path)
+    {
+        StringBuilder moves = new StringBuilder(path.size());
+        for (Move move : path)
+        {
+            moves.append(move.getSymbol());
+        }
+        return moves.toString();
+    }
+
+    /**
+     * Gets the moves of the white space from the initial state to the node.
+     *
+     * @param node the solution node
+     * @return a String of 'L', 'D', 'R' and 'U'
+     */
+    public static String getMoves(AITree<WhiteSpacePuzzle.State>.Node node)
+    {
+        StringBuilder moves = new StringBuilder();
+        for (AITree<WhiteSpacePuzzle.State>.Node current = node; !current.isRoot(); current = current.getParent())
+        {
+            final Map.Entry<AIFunction<WhiteSpacePuzzle.State>, Float> operator = current.getOperatorNeededToReachThis();
+            moves.append(((WhiteSpacePuzzle.MoveFunction) operator.getKey()).getMove().getSymbol());
+        }
+        return moves.reverse().toString();
+    }
+}
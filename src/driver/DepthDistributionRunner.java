@@ -0,0 +1,43 @@
+package driver;
+
+import AI.ExternalBreadthFirstSearch;
+import WhiteSpacePuzzle.WhiteSpacePuzzle;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Counts the boards at every distance from the goal state with an external breadth-first search, and writes a tab
+ * separated line per depth (depth, amount of boards) to standard output as soon as the layer is built.
+ * <p>
+ * Usage: DepthDistributionRunner [size] [directory] [buffer size in states] [max depth]
+ */
+public class DepthDistributionRunner
+{
+    public static void main(String[] args) throws IOException
+    {
+        final int size = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        final File directory = new File(args.length > 1 ? args[1] : "bfs");
+        final int bufferSize = args.length > 2 ? Integer.parseInt(args[2]) : 1 << 22;
+        final int maxDepth = args.length > 3 ? Integer.parseInt(args[3]) : Integer.MAX_VALUE;
+
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(size);
+
+        ExternalBreadthFirstSearch<WhiteSpacePuzzle.State> search = new ExternalBreadthFirstSearch<WhiteSpacePuzzle.State>(puzzle.getGoalState(),
+                puzzle.getOperatorManager().getOperators(), directory);
+        search.setBufferSize(bufferSize);
+        search.setMaxDepth(maxDepth);
+        search.setLayerListener((depth, states) -> System.out.println(depth + "\t" + states));
+
+        final long start = System.nanoTime();
+        final List<Long> layerSizes = search.search();
+
+        long total = 0;
+        for (long states : layerSizes)
+        {
+            total += states;
+        }
+        System.err.println("Found " + total + " boards in " + layerSizes.size() + " layers in " + (System.nanoTime() - start) / 1000000 + " ms.");
+    }
+}
@@ -1,16 +1,29 @@
 package driver;
 
 import AI.AITree;
+import AI.CountingSearchListener;
+import WhiteSpacePuzzle.DistanceTable;
+import WhiteSpacePuzzle.Move;
+import WhiteSpacePuzzle.PatternDatabase;
 import WhiteSpacePuzzle.WhiteSpacePuzzle;
 import algorithms.*;
 
+import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.List;
 import java.util.Scanner;
 
 public class GUI
 {
+    //The archive of solved boards, in the solutions folder
+    private static final String ARCHIVE_FILE_NAME = "solutions.bin";
+
+    //Building pattern databases that need more heap than this is confirmed first (the 4x4 ones need about 2.5 GB)
+    private static final long PATTERN_DATABASE_WARNING_BYTES = 256L * 1024 * 1024;
+
     //The state which we keep updating for input
     int[][] initialState;
     int[][] goalState;
@@ -49,20 +62,6 @@ public class GUI
         }
     }
 
-    public String getBasicInitialState(int[][] initialState)
-    {
-        String s = "";
-        for (int i = 0; i < SIZE; i++)
-        {
-            for (int j = 0; j < SIZE; j++)
-            {
-                s += initialState[i][j];
-            }
-
-        }
-        return s;
-    }
-
     private void populateState(int[][] state)
     {
         //Complete the initial state
@@ -110,12 +109,18 @@ public class GUI
 
         populateState(initialState);
 
-        //Set the initial and goal states.
+        //Set the initial and goal states. The goal state comes first, so the initial state is checked against the chosen goal.
         WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(SIZE);
-        puzzle.setInitialState(initialState);
-        puzzle.setDefaultGoalState();
-
-        goalAsk(puzzle);
+        try
+        {
+            goalAsk(puzzle);
+            puzzle.setInitialState(initialState);
+        } catch (IllegalArgumentException e)
+        {
+            System.out.println(e.getMessage());
+            scanner.close();
+            return;
+        }
 
 
         clearScreen();
@@ -123,44 +128,88 @@ public class GUI
         //Choose algorithm
         final Algorithm algorithm = getAlgorithmInput(puzzle);
 
-        //Create the AI tree given the algorithms we are using.
-        AITree<WhiteSpacePuzzle.State> tree = new AITree<WhiteSpacePuzzle.State>(puzzle.getInitState(), algorithm, puzzle.getOperatorManager().getOperators());
+        //A board that was already solved with this algorithm is read from the archive instead of searched again
+        final long boardKey = puzzle.getInitState().getStateKey();
+        final long goalKey = puzzle.getGoalState().getStateKey();
+        final String algorithmName = algorithm.getClass().getSimpleName();
 
-        clearScreen();
+        File directory = new File("solutions");
+        directory.mkdir();
+        try (SolutionArchive archive = new SolutionArchive(new File(directory, ARCHIVE_FILE_NAME)))
+        {
+            final SolutionRecord archived = archive.find(boardKey, goalKey, algorithmName);
+            if (archived != null)
+            {
+                clearScreen();
+                System.out.println("Solution found in " + archive.getFile() + " (solved before using " + algorithmName + ")\n");
+                System.out.println("Size of Explored Set (# of visited nodes): " + archived.getExploredSetSize() + "\n");
+                System.out.println("Total # of visited nodes (counting duplicates): " + archived.getVisitedNumber() + "\n");
+                System.out.println("Max Frontier Queue Size: " + archived.getMaxFrontierSize() + "\n");
+                System.out.println("Amount of Moves (depth): " + archived.getMoves().length() + "\n");
+                Writer out = new BufferedWriter(new OutputStreamWriter(System.out));
+                archived.writePath(puzzle, out);
+                out.write("\n");
+                out.flush();
+                scanner.close();
+                return;
+            }
 
-        System.out.println("\n\nStarting to compute...\n\n");
+            //The distance table gives the shortest path with one lookup per move, so nothing is searched
+            if (algorithm instanceof AStarDistanceTableAlgorithm)
+            {
+                final long start = System.nanoTime();
+                final List<Move> path = ((AStarDistanceTableAlgorithm) algorithm).getDistances().solve(puzzle.getInitState());
+                final SolutionRecord record = new SolutionRecord(boardKey, goalKey, SIZE, algorithmName, BatchSolver.getMoves(path),
+                        0, path.size(), 0, System.nanoTime() - start);
+
+                clearScreen();
+                System.out.println("Solution found using " + algorithmName + "!!!\n");
+                System.out.println("Amount of Moves (depth): " + path.size() + "\n");
+                Writer out = new BufferedWriter(new OutputStreamWriter(System.out));
+                record.writePath(puzzle, out);
+                out.write("\n");
+                out.flush();
+
+                archive.append(record);
+                scanner.close();
+                return;
+            }
 
-        final AITree<WhiteSpacePuzzle.State>.Node solution = tree.findSolution();
+            //Create the AI tree given the algorithms we are using.
+            AITree<WhiteSpacePuzzle.State> tree = new AITree<WhiteSpacePuzzle.State>(puzzle.getInitState(), algorithm, puzzle.getOperatorManager().getOperators());
+            final CountingSearchListener<WhiteSpacePuzzle.State> counters = new CountingSearchListener<WhiteSpacePuzzle.State>();
+            tree.setSearchListener(counters);
 
-        //Print solution and a text file
-        if (solution != null)
-        {
-            System.out.println("Solution found using " + algorithm.getClass().getSimpleName() + "!!!\n");
-            System.out.println("Size of Explored Set (# of visited nodes): " + tree.getVisitedNodes().size() + "\n");
-            System.out.println("Total # of visited nodes (counting duplicates): " + tree.getVisitedNumber() + "\n");
-            System.out.println("Max Frontier Queue Size: " + tree.getMaxFrontierSize() + "\n");
-            System.out.println("Amount of Moves (depth): " + solution.getMoves() + "\n");
-            System.out.println(solution);
-            FileWriter fw = null;
-            try
-            {
-                File file = new File("solutions");
-                file.mkdir();
+            clearScreen();
 
+            System.out.println("\n\nStarting to compute...\n\n");
 
-                fw = new FileWriter("solutions/" + puzzle.getClass().getSimpleName() + "-" + algorithm.getClass().getSimpleName() + "-" + getBasicInitialState(initialState) + ".txt", false);
+            final long start = System.nanoTime();
+            final AITree<WhiteSpacePuzzle.State>.Node solution = tree.findSolution();
+            final long nanos = System.nanoTime() - start;
 
-                fw.write("Size of Explored Set (# of visited nodes): " + tree.getVisitedNodes().size() + "\n");
-                fw.write("Total # of visited nodes (counting duplicates): " + tree.getVisitedNumber() + "\n");
-                fw.write("Max Frontier Queue Size: " + tree.getMaxFrontierSize() + "\n");
-                fw.write("Amount of Moves (depth): " + solution.getMoves() + "\n" + solution.toString());
-                fw.close();
-            } catch (IOException e)
+            //Print the solution and add it to the archive
+            if (solution != null)
             {
-                e.printStackTrace();
+                System.out.println("Solution found using " + algorithmName + "!!!\n");
+                System.out.println("Size of Explored Set (# of visited nodes): " + tree.getExploredSetSize() + "\n");
+                System.out.println("Total # of visited nodes (counting duplicates): " + tree.getVisitedNumber() + "\n");
+                System.out.println("Max Frontier Queue Size: " + tree.getMaxFrontierSize() + "\n");
+                System.out.println("Amount of Moves (depth): " + solution.getMoves() + "\n");
+                System.out.println("Search statistics: " + counters + "\n");
+
+                //Stream the path instead of building it as one String
+                Writer out = new BufferedWriter(new OutputStreamWriter(System.out));
+                solution.writePath(out);
+                out.write("\n");
+                out.flush();
+
+                archive.append(new SolutionRecord(boardKey, goalKey, SIZE, algorithmName, BatchSolver.getMoves(solution),
+                        tree.getExploredSetSize(), tree.getVisitedNumber(), tree.getMaxFrontierSize(), nanos));
             }
-
-
+        } catch (IOException e)
+        {
+            e.printStackTrace();
         }
         scanner.close();
     }
@@ -174,13 +223,20 @@ public class GUI
     public Algorithm getAlgorithmInput(WhiteSpacePuzzle puzzle)
     {
         int algorithmChosen = -1;
-        while (algorithmChosen < 0 || algorithmChosen > 3)
+        //The complete distance table only exists for 3x3 boards
+        final int lastAlgorithm = SIZE == 3 ? 7 : 6;
+        while (algorithmChosen < 0 || algorithmChosen > lastAlgorithm)
         {
             System.out.println("-- Algorithm to Choose Menu -- ");
             System.out.println("[0]\t\tA* Manhattan Cost");
             System.out.println("[1]\t\tA* Euclidean Cost");
             System.out.println("[2]\t\tA* Misplaced Tile Cost");
             System.out.println("[3]\t\tUniform Cost");
+            System.out.println("[4]\t\tA* Pattern Database");
+            System.out.println("[5]\t\tA* Linear Conflict");
+            System.out.println("[6]\t\tA* Walking Distance");
+            if (lastAlgorithm == 7)
+                System.out.println("[7]\t\tA* Distance Table (exact)");
             algorithmChosen = scanner.nextInt();
         }
 
@@ -194,11 +250,72 @@ public class GUI
                 return new AStarMisplacedTileCostAlgorithm(puzzle);
             case 3:
                 return new UniformCostSearch(puzzle);
+            case 4:
+                try
+                {
+                    final int[][] partition = PatternDatabase.getDefaultPartition(SIZE);
+                    if (!confirmPatternDatabases(puzzle, partition))
+                        return new AStarManhattanCostAlgorithm(puzzle);
+
+                    System.out.println("Loading pattern databases...");
+                    return new AStarPatternDatabaseAlgorithm(puzzle, PatternDatabase.loadOrBuild(puzzle, partition, new File("pdb")));
+                } catch (IOException e)
+                {
+                    e.printStackTrace();
+                    return new AStarManhattanCostAlgorithm(puzzle);
+                }
+            case 5:
+                return new AStarLinearConflictAlgorithm(puzzle);
+            case 6:
+                return new AStarWalkingDistanceAlgorithm(puzzle);
+            case 7:
+                try
+                {
+                    System.out.println("Loading distance table...");
+                    return new AStarDistanceTableAlgorithm(puzzle, DistanceTable.loadOrBuild(puzzle, new File("pdb")));
+                } catch (IOException e)
+                {
+                    e.printStackTrace();
+                    return new AStarManhattanCostAlgorithm(puzzle);
+                }
             default:
                 return null;
         }
     }
 
+    /**
+     * Prints the heap needed to build the pattern databases that are not saved yet, and asks whether to build them when
+     * that is a lot. Falls back to Manhattan when they do not fit in the heap of this JVM.
+     *
+     * @param puzzle    the puzzle whose goal state is used
+     * @param partition the groups of tiles of the databases
+     * @return true to load or build the databases, false to use Manhattan instead
+     */
+    private boolean confirmPatternDatabases(WhiteSpacePuzzle puzzle, int[][] partition)
+    {
+        final long needed = PatternDatabase.getBuildMemory(puzzle, partition, new File("pdb"));
+        if (needed < PATTERN_DATABASE_WARNING_BYTES)
+            return true;
+
+        final long available = Runtime.getRuntime().maxMemory();
+        System.out.println("Building the pattern databases needs about " + needed / (1024 * 1024) + " MB of heap ("
+                + available / (1024 * 1024) + " MB available) and can take several minutes. They are saved in the pdb folder afterwards.");
+        if (needed > available)
+        {
+            System.out.println("Not enough heap: run with -Xmx" + (needed / (1024 * 1024 * 1024) + 2) + "g to build them. Using A* Manhattan Cost instead.");
+            return false;
+        }
+
+        int choice = -1;
+        while (choice != 0 && choice != 1)
+        {
+            System.out.println("[1]\t\tBuild the pattern databases");
+            System.out.println("[0]\t\tUse A* Manhattan Cost instead");
+            choice = scanner.nextInt();
+        }
+        return choice == 1;
+    }
+
     /**
      * Gets the next input for the next index in the initial state
      *
@@ -0,0 +1,305 @@
+package driver;
+
+import AI.LongIntHashMap;
+import WhiteSpacePuzzle.Move;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * An append-only file of solved boards. Every solve adds one small binary record to the end of the file, and an index
+ * kept in memory finds the record of a board without reading the others.
+ * <p>
+ * The file starts with a magic number and a version. Each record is its length followed by the board key, the goal
+ * key, the size, the algorithm, the statistics and the moves packed 2 bits each. A record cut short by a crash is
+ * dropped when the archive is opened again.
+ */
+public class SolutionArchive implements Closeable
+{
+    private static final int MAGIC = 0x534F4C31; //"SOL1"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 5;
+
+    //Marks the end of a chain of records of the same board
+    private static final int NO_RECORD = -1;
+
+    //The file and where the next record is written
+    private final File file;
+    private final RandomAccessFile data;
+    private long end;
+
+    //By record number: where it starts in the file, its goal key, its algorithm and the previous record of the same board
+    private long[] offsets = new long[16];
+    private long[] goalKeys = new long[16];
+    private int[] algorithmIds = new int[16];
+    private int[] previous = new int[16];
+    private int recordNumber = 0;
+
+    //The newest record of every board (board key -> record number)
+    private final LongIntHashMap newest = new LongIntHashMap();
+
+    //Every algorithm name is kept once
+    private final List<String> algorithms = new ArrayList<>();
+    private final HashMap<String, Integer> algorithmIdsByName = new HashMap<>();
+
+    /**
+     * Opens the archive, creating the file if it does not exist, and indexes the records already in it.
+     *
+     * @param file the file of the archive
+     * @throws IOException if the file cannot be read or is not a solution archive
+     */
+    public SolutionArchive(File file) throws IOException
+    {
+        this.file = file;
+        this.data = new RandomAccessFile(file, "rw");
+        try
+        {
+            if (data.length() == 0)
+            {
+                data.writeInt(MAGIC);
+                data.writeByte(VERSION);
+                end = HEADER_BYTES;
+            } else
+            {
+                end = index();
+                //Drop a record that was cut short
+                if (end < data.length())
+                    data.setLength(end);
+            }
+        } catch (IOException e)
+        {
+            data.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads every record once to build the index.
+     *
+     * @return where the last complete record ends
+     * @throws IOException if the file cannot be read or is not a solution archive
+     */
+    private long index() throws IOException
+    {
+        final long length = data.length();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 1 << 16)))
+        {
+            if (length < HEADER_BYTES || in.readInt() != MAGIC)
+                throw new IOException(file + " is not a solution archive.");
+            final int version = in.readUnsignedByte();
+            if (version != VERSION)
+                throw new IOException(file + " has version " + version + " but only version " + VERSION + " can be read.");
+
+            long offset = HEADER_BYTES;
+            while (offset + 4 <= length)
+            {
+                final int recordLength = in.readInt();
+                if (recordLength < 0 || offset + 4 + recordLength > length)
+                    break;
+
+                final byte[] body = new byte[recordLength];
+                in.readFully(body);
+                final DataInputStream record = new DataInputStream(new ByteArrayInputStream(body));
+                final long boardKey = record.readLong();
+                final long goalKey = record.readLong();
+                record.readUnsignedByte();
+                add(offset, boardKey, goalKey, record.readUTF());
+
+                offset += 4 + recordLength;
+            }
+            return offset;
+        } catch (EOFException e)
+        {
+            throw new IOException(file + " is truncated or corrupt.", e);
+        }
+    }
+
+    /**
+     * Adds a record to the end of the archive.
+     *
+     * @param record the record
+     * @throws IOException if the record cannot be written
+     */
+    public synchronized void append(SolutionRecord record) throws IOException
+    {
+        final String moves = record.getMoves();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + moves.length() / 4);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0); //The length, filled in below
+        out.writeLong(record.getBoardKey());
+        out.writeLong(record.getGoalKey());
+        out.writeByte(record.getSize());
+        out.writeUTF(record.getAlgorithm());
+        out.writeInt(record.getExploredSetSize());
+        out.writeLong(record.getVisitedNumber());
+        out.writeInt(record.getMaxFrontierSize());
+        out.writeLong(record.getNanos());
+        out.writeInt(moves.length());
+        out.write(packMoves(moves));
+
+        final byte[] encoded = bytes.toByteArray();
+        final int recordLength = encoded.length - 4;
+        encoded[0] = (byte) (recordLength >>> 24);
+        encoded[1] = (byte) (recordLength >>> 16);
+        encoded[2] = (byte) (recordLength >>> 8);
+        encoded[3] = (byte) recordLength;
+
+        //One write per record, so a crash leaves at most the last record cut short
+        data.seek(end);
+        data.write(encoded);
+
+        add(end, record.getBoardKey(), record.getGoalKey(), record.getAlgorithm());
+        end += encoded.length;
+    }
+
+    /**
+     * Finds the newest record of a board.
+     *
+     * @param boardKey  the key of the initial state
+     * @param goalKey   the key of the goal state
+     * @param algorithm the simple class name of the algorithm, or null for any algorithm
+     * @return the record, or null if the board was never archived
+     * @throws IOException if the record cannot be read
+     */
+    public synchronized SolutionRecord find(long boardKey, long goalKey, String algorithm) throws IOException
+    {
+        final Integer algorithmId = algorithm == null ? null : algorithmIdsByName.get(algorithm);
+        if (algorithm != null && algorithmId == null)
+            return null;
+
+        for (int record = newest.get(boardKey, NO_RECORD); record != NO_RECORD; record = previous[record])
+        {
+            if (goalKeys[record] == goalKey && (algorithmId == null || algorithmIds[record] == algorithmId))
+                return read(offsets[record]);
+        }
+        return null;
+    }
+
+    /**
+     * Reads the record that starts at an offset.
+     *
+     * @param offset where the record starts
+     * @return the record
+     * @throws IOException if the record cannot be read
+     */
+    private SolutionRecord read(long offset) throws IOException
+    {
+        data.seek(offset);
+        final byte[] body = new byte[data.readInt()];
+        data.readFully(body);
+
+        final DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+        final long boardKey = in.readLong();
+        final long goalKey = in.readLong();
+        final int size = in.readUnsignedByte();
+        final String algorithm = in.readUTF();
+        final int exploredSetSize = in.readInt();
+        final long visitedNumber = in.readLong();
+        final int maxFrontierSize = in.readInt();
+        final long nanos = in.readLong();
+        final int moveNumber = in.readInt();
+        final byte[] packed = new byte[(moveNumber + 3) / 4];
+        in.readFully(packed);
+
+        return new SolutionRecord(boardKey, goalKey, size, algorithm, unpackMoves(packed, moveNumber), exploredSetSize, visitedNumber, maxFrontierSize, nanos);
+    }
+
+    /**
+     * Adds a record to the index.
+     */
+    private void add(long offset, long boardKey, long goalKey, String algorithm)
+    {
+        if (recordNumber == offsets.length)
+        {
+            final int capacity = recordNumber << 1;
+            offsets = Arrays.copyOf(offsets, capacity);
+            goalKeys = Arrays.copyOf(goalKeys, capacity);
+            algorithmIds = Arrays.copyOf(algorithmIds, capacity);
+            previous = Arrays.copyOf(previous, capacity);
+        }
+
+        Integer algorithmId = algorithmIdsByName.get(algorithm);
+        if (algorithmId == null)
+        {
+            algorithmId = algorithms.size();
+            algorithms.add(algorithm);
+            algorithmIdsByName.put(algorithm, algorithmId);
+        }
+
+        offsets[recordNumber] = offset;
+        goalKeys[recordNumber] = goalKey;
+        algorithmIds[recordNumber] = algorithmId;
+        previous[recordNumber] = newest.get(boardKey, NO_RECORD);
+        newest.put(boardKey, recordNumber);
+        recordNumber++;
+    }
+
+    /**
+     * Packs the moves 2 bits each (the ordinal of the move), 4 to a byte.
+     *
+     * @param moves a String of 'L', 'D', 'R' and 'U'
+     * @return the packed moves
+     */
+    private static byte[] packMoves(String moves)
+    {
+        byte[] packed = new byte[(moves.length() + 3) / 4];
+        for (int i = 0; i < moves.length(); i++)
+        {
+            packed[i >> 2] |= Move.fromSymbol(moves.charAt(i)).ordinal() << ((i & 3) << 1);
+        }
+        return packed;
+    }
+
+    /**
+     * Unpacks moves packed by packMoves.
+     *
+     * @param packed     the packed moves
+     * @param moveNumber the amount of moves
+     * @return a String of 'L', 'D', 'R' and 'U'
+     */
+    private static String unpackMoves(byte[] packed, int moveNumber)
+    {
+        final Move[] values = Move.values();
+        char[] moves = new char[moveNumber];
+        for (int i = 0; i < moveNumber; i++)
+        {
+            moves[i] = values[(packed[i >> 2] >>> ((i & 3) << 1)) & 3].getSymbol();
+        }
+        return new String(moves);
+    }
+
+    /**
+     * The amount of records in the archive.
+     *
+     * @return # of records
+     */
+    public synchronized int size()
+    {
+        return recordNumber;
+    }
+
+    public File getFile()
+    {
+        return file;
+    }
+
+    @Override
+    public synchronized void close() throws IOException
+    {
+        data.close();
+    }
+}
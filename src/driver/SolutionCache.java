@@ -0,0 +1,325 @@
+package driver;
+
+import AI.AITree;
+import WhiteSpacePuzzle.Move;
+import WhiteSpacePuzzle.WhiteSpacePuzzle;
+import algorithms.Algorithm;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache of solutions in front of the search, so a board that was solved before costs a lookup instead of a
+ * search. The least recently used solution is evicted once the cache is full.
+ * <p>
+ * A board and its reflection across the main diagonal share one entry when the goal state maps onto itself. The
+ * reflection moves the tile of every cell to the mirrored cell and renames every tile t to the tile the goal state has
+ * at the mirror of the goal position of t. The goal state always maps onto itself this way as long as its white space is
+ * on the main diagonal (as in the default goal), and a solution of the reflection is the solution of the board with
+ * LEFT and UP, RIGHT and DOWN swapped.
+ */
+public class SolutionCache
+{
+    //The bits of a tile in a packed board (see WhiteSpacePuzzle.pack)
+    private static final int TILE_BITS = 4;
+    private static final long TILE_MASK = (1L << TILE_BITS) - 1;
+
+    //The most solutions that are kept
+    private final int maxEntries;
+
+    //The solutions of the canonical boards, least recently used first
+    private final LinkedHashMap<Key, String> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param maxEntries the most solutions that are kept, at least 1
+     */
+    public SolutionCache(int maxEntries)
+    {
+        if (maxEntries < 1)
+            throw new IllegalArgumentException("The cache needs room for at least 1 solution but had " + maxEntries + ".");
+
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<Key, String>(16, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, String> eldest)
+            {
+                if (size() <= SolutionCache.this.maxEntries)
+                    return false;
+                evictions.increment();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Gets the solution of the initial state of the puzzle, searching for it with the algorithm if it is not cached.
+     *
+     * @param puzzle    the puzzle with its initial and goal state set
+     * @param algorithm the algorithm used if the solution is not cached
+     * @return the moves of the white space ('L', 'D', 'R', 'U'), or null if no solution was found
+     */
+    public String findSolution(WhiteSpacePuzzle puzzle, Algorithm algorithm)
+    {
+        final long boardKey = puzzle.getInitState().getStateKey();
+        final long goalKey = puzzle.getGoalState().getStateKey();
+
+        String moves = get(boardKey, goalKey, puzzle.getSize());
+        if (moves != null)
+            return moves;
+
+        AITree<WhiteSpacePuzzle.State> tree = new AITree<WhiteSpacePuzzle.State>(puzzle.getInitState(), algorithm, puzzle.getOperatorManager().getOperators());
+        tree.setVerbose(false);
+        final AITree<WhiteSpacePuzzle.State>.Node solution = tree.findSolution();
+        if (solution == null)
+            return null;
+
+        moves = BatchSolver.getMoves(solution);
+        put(boardKey, goalKey, puzzle.getSize(), moves);
+        return moves;
+    }
+
+    /**
+     * Gets the cached solution of a board, counting a hit or a miss.
+     *
+     * @param boardKey the packed board
+     * @param goalKey  the packed goal state
+     * @param size     the width of the board
+     * @return the moves of the white space ('L', 'D', 'R', 'U'), or null if not cached
+     */
+    public String get(long boardKey, long goalKey, int size)
+    {
+        final long canonicalKey = getCanonicalKey(boardKey, goalKey, size);
+
+        final String moves;
+        synchronized (entries)
+        {
+            moves = entries.get(new Key(canonicalKey, goalKey));
+        }
+
+        if (moves == null)
+        {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return canonicalKey == boardKey ? moves : transposeMoves(moves);
+    }
+
+    /**
+     * Caches the solution of a board.
+     *
+     * @param boardKey the packed board
+     * @param goalKey  the packed goal state
+     * @param size     the width of the board
+     * @param moves    the moves of the white space from the board to the goal state ('L', 'D', 'R', 'U')
+     */
+    public void put(long boardKey, long goalKey, int size, String moves)
+    {
+        final long canonicalKey = getCanonicalKey(boardKey, goalKey, size);
+        final String canonicalMoves = canonicalKey == boardKey ? moves : transposeMoves(moves);
+        synchronized (entries)
+        {
+            entries.put(new Key(canonicalKey, goalKey), canonicalMoves);
+        }
+    }
+
+    /**
+     * Gets the key shared by a board and its reflection: the lower of the two, or the board itself if the goal state does
+     * not map onto itself.
+     *
+     * @param boardKey the packed board
+     * @param goalKey  the packed goal state
+     * @param size     the width of the board
+     * @return the canonical packed board
+     */
+    public static long getCanonicalKey(long boardKey, long goalKey, int size)
+    {
+        if (!isSymmetric(goalKey, size))
+            return boardKey;
+        return Math.min(boardKey, transpose(boardKey, goalKey, size));
+    }
+
+    /**
+     * Checks if the goal state maps onto itself, which is when its white space is on the main diagonal.
+     *
+     * @param goalKey the packed goal state
+     * @param size    the width of the board
+     * @return true if boards can share an entry with their reflection
+     */
+    public static boolean isSymmetric(long goalKey, int size)
+    {
+        for (int i = 0; i < size; i++)
+        {
+            if (getTile(goalKey, i * size + i) == 0)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Reflects a board across its main diagonal and renames its tiles so the goal state maps onto itself.
+     *
+     * @param boardKey the packed board
+     * @param goalKey  the packed goal state, with its white space on the main diagonal
+     * @param size     the width of the board
+     * @return the packed reflection
+     */
+    public static long transpose(long boardKey, long goalKey, int size)
+    {
+        final int cells = size * size;
+
+        //The position of every tile in the goal state
+        int[] goalPositions = new int[cells];
+        for (int position = 0; position < cells; position++)
+        {
+            goalPositions[getTile(goalKey, position)] = position;
+        }
+
+        long transposed = 0;
+        for (int position = 0; position < cells; position++)
+        {
+            final int tile = getTile(boardKey, position);
+            final int renamed = getTile(goalKey, mirror(goalPositions[tile], size));
+            transposed |= (long) renamed << (mirror(position, size) * TILE_BITS);
+        }
+        return transposed;
+    }
+
+    /**
+     * Swaps LEFT and UP, RIGHT and DOWN, which turns a solution of a board into a solution of its reflection (and back).
+     *
+     * @param moves the moves of the white space ('L', 'D', 'R', 'U')
+     * @return the reflected moves
+     */
+    public static String transposeMoves(String moves)
+    {
+        char[] transposed = new char[moves.length()];
+        for (int i = 0; i < transposed.length; i++)
+        {
+            transposed[i] = Move.fromSymbol(moves.charAt(i)).getTranspose().getSymbol();
+        }
+        return new String(transposed);
+    }
+
+    /**
+     * The cell mirrored across the main diagonal.
+     */
+    private static int mirror(int position, int size)
+    {
+        return (position % size) * size + position / size;
+    }
+
+    private static int getTile(long packed, int position)
+    {
+        return (int) ((packed >>> (position * TILE_BITS)) & TILE_MASK);
+    }
+
+    /**
+     * The amount of lookups that found a solution.
+     *
+     * @return # of hits
+     */
+    public long getHitNumber()
+    {
+        return hits.sum();
+    }
+
+    /**
+     * The amount of lookups that found no solution.
+     *
+     * @return # of misses
+     */
+    public long getMissNumber()
+    {
+        return misses.sum();
+    }
+
+    /**
+     * The amount of solutions removed to make room for newer ones.
+     *
+     * @return # of evictions
+     */
+    public long getEvictionNumber()
+    {
+        return evictions.sum();
+    }
+
+    /**
+     * The amount of solutions kept right now.
+     *
+     * @return # of solutions
+     */
+    public int size()
+    {
+        synchronized (entries)
+        {
+            return entries.size();
+        }
+    }
+
+    public int getMaxEntries()
+    {
+        return maxEntries;
+    }
+
+    /**
+     * Clears the cache and its counters.
+     */
+    public void clear()
+    {
+        synchronized (entries)
+        {
+            entries.clear();
+        }
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+    @Override
+    public String toString()
+    {
+        final long hitNumber = getHitNumber();
+        final long lookups = hitNumber + getMissNumber();
+        return String.format("hits=%d, misses=%d, hit ratio=%.3f, evictions=%d, size=%d/%d",
+                hitNumber, getMissNumber(), lookups == 0 ? 0.0 : (double) hitNumber / lookups, getEvictionNumber(), size(), maxEntries);
+    }
+
+    /**
+     * A canonical board and the goal state it is solved for.
+     */
+    private static class Key
+    {
+        private final long boardKey;
+        private final long goalKey;
+
+        private Key(long boardKey, long goalKey)
+        {
+            this.boardKey = boardKey;
+            this.goalKey = goalKey;
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (!(obj instanceof Key))
+                return false;
+            final Key other = (Key) obj;
+            return boardKey == other.boardKey && goalKey == other.goalKey;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Long.hashCode(boardKey * 31 + goalKey);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package driver;
+
+import AI.AIFunction;
+import WhiteSpacePuzzle.Move;
+import WhiteSpacePuzzle.WhiteSpacePuzzle;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * A solved board as it is kept in the solution archive.
+ */
+public class SolutionRecord
+{
+    //The packed initial and goal states (see WhiteSpacePuzzle.State.getStateKey) and the width of the board
+    private final long boardKey;
+    private final long goalKey;
+    private final int size;
+
+    //The simple class name of the algorithm that solved the board
+    private final String algorithm;
+
+    //The moves of the white space ('L', 'D', 'R', 'U')
+    private final String moves;
+
+    //Search statistics
+    private final int exploredSetSize;
+    private final long visitedNumber;
+    private final int maxFrontierSize;
+    private final long nanos;
+
+    public SolutionRecord(long boardKey, long goalKey, int size, String algorithm, String moves, int exploredSetSize, long visitedNumber, int maxFrontierSize, long nanos)
+    {
+        this.boardKey = boardKey;
+        this.goalKey = goalKey;
+        this.size = size;
+        this.algorithm = algorithm;
+        this.moves = moves;
+        this.exploredSetSize = exploredSetSize;
+        this.visitedNumber = visitedNumber;
+        this.maxFrontierSize = maxFrontierSize;
+        this.nanos = nanos;
+    }
+
+    public long getBoardKey()
+    {
+        return boardKey;
+    }
+
+    public long getGoalKey()
+    {
+        return goalKey;
+    }
+
+    public int getSize()
+    {
+        return size;
+    }
+
+    public String getAlgorithm()
+    {
+        return algorithm;
+    }
+
+    /**
+     * Gets the moves of the white space from the board to the goal state.
+     *
+     * @return a String of 'L', 'D', 'R' and 'U'
+     */
+    public String getMoves()
+    {
+        return moves;
+    }
+
+    public int getExploredSetSize()
+    {
+        return exploredSetSize;
+    }
+
+    public long getVisitedNumber()
+    {
+        return visitedNumber;
+    }
+
+    public int getMaxFrontierSize()
+    {
+        return maxFrontierSize;
+    }
+
+    /**
+     * The time spent solving the board.
+     *
+     * @return nanoseconds
+     */
+    public long getNanos()
+    {
+        return nanos;
+    }
+
+    /**
+     * Writes the path from the board to the goal state in the same format as AITree.Node.writePath, by replaying the
+     * moves one at a time.
+     *
+     * @param puzzle the puzzle the board belongs to, with the goal state of this record
+     * @param out    the writer
+     * @throws IOException if the writer fails
+     */
+    public void writePath(WhiteSpacePuzzle puzzle, Writer out) throws IOException
+    {
+        out.write("Path from Initial to Solution:\n\n");
+
+        if (moves.isEmpty())
+        {
+            out.write("No operators needed.");
+            return;
+        }
+
+        //The name of the operator of every move, by ordinal
+        final String[] names = new String[Move.values().length];
+        for (AIFunction<WhiteSpacePuzzle.State> operator : puzzle.getOperatorManager().getOperators().keySet())
+        {
+            names[((WhiteSpacePuzzle.MoveFunction) operator).getMove().ordinal()] = operator.getName();
+        }
+
+        WhiteSpacePuzzle.State state = puzzle.getGoalState().createState(boardKey);
+        out.write("Initial State (no operator)\n");
+        out.write(state.toString());
+        out.write("\n\n");
+
+        for (int i = 0; i < moves.length(); i++)
+        {
+            final Move move = Move.fromSymbol(moves.charAt(i));
+            state = state.move(move);
+            out.write(names[move.ordinal()]);
+            out.write("\n");
+            out.write(state.toString());
+            out.write("\n\n");
+        }
+    }
+
+    /**
+     * A short summary: the algorithm, the amount of moves and the statistics.
+     *
+     * @return the summary
+     */
+    @Override
+    public String toString()
+    {
+        return algorithm + ": " + moves.length() + " moves, " + exploredSetSize + " explored, " + visitedNumber + " visited, "
+                + maxFrontierSize + " max frontier, " + nanos / 1000000 + " ms";
+    }
+}
@@ -0,0 +1,89 @@
+package AI;
+
+import WhiteSpacePuzzle.PuzzleGenerator;
+import WhiteSpacePuzzle.ShortestPaths;
+import WhiteSpacePuzzle.WhiteSpacePuzzle;
+import algorithms.AStarManhattanCostAlgorithm;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AnytimeAStarTest
+{
+    @Test
+    void improvesUntilTheSolutionIsOptimal()
+    {
+        Random random = new Random(15);
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(3);
+        for (int i = 0; i < 20; i++)
+        {
+            final int[][] board = ShortestPaths.randomBoard(random);
+            puzzle.setInitialState(board);
+
+            List<AnytimeAStar.Solution> published = new ArrayList<>();
+            AnytimeAStar search = new AnytimeAStar(puzzle, new AStarManhattanCostAlgorithm(puzzle));
+            search.setSolutionListener(published::add);
+
+            final AnytimeAStar.Solution solution = search.findSolution(1, TimeUnit.MINUTES);
+            assertEquals(ShortestPaths.getDistance(board), solution.getCost());
+            assertEquals(1, solution.getBound());
+            assertTrue(ShortestPaths.solves(board, solution.getMoves()));
+
+            //Every published solution holds its bound and the last one is returned
+            for (AnytimeAStar.Solution improved : published)
+            {
+                assertTrue(improved.getCost() <= improved.getBound() * solution.getCost() + 1e-9);
+            }
+            assertEquals(solution, published.get(published.size() - 1));
+        }
+    }
+
+    @Test
+    void searchOutOfTimeReturnsTheGoalItFound()
+    {
+        //The first 256 expansions always run, which is enough for weight 3 to finish with these boards
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(3);
+        PuzzleGenerator generator = new PuzzleGenerator(puzzle, 150);
+        for (int i = 0; i < 20; i++)
+        {
+            final int[][] board = generator.atDepth(12, 100);
+            puzzle.setInitialState(board);
+
+            final AnytimeAStar.Solution solution = new AnytimeAStar(puzzle, new AStarManhattanCostAlgorithm(puzzle)).findSolution(1, TimeUnit.NANOSECONDS);
+            assertHoldsItsBound(board, solution);
+        }
+    }
+
+    @Test
+    void goalFoundBeforeTheSearchFinishedIsReturned()
+    {
+        //Weight 3 reaches the goal of this board within 256 expansions but needs more to finish
+        final int[][] board = {{1, 4, 3}, {8, 7, 5}, {0, 6, 2}};
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(3);
+        puzzle.setInitialState(board);
+
+        final AnytimeAStar.Solution solution = new AnytimeAStar(puzzle, new AStarManhattanCostAlgorithm(puzzle)).findSolution(1, TimeUnit.NANOSECONDS);
+        assertHoldsItsBound(board, solution);
+        assertEquals(3, solution.getWeight());
+
+        //A cancelled token stops the search the same way
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+        assertHoldsItsBound(board, new AnytimeAStar(puzzle, new AStarManhattanCostAlgorithm(puzzle)).findSolution(1, TimeUnit.MINUTES, token));
+    }
+
+    private static void assertHoldsItsBound(int[][] board, AnytimeAStar.Solution solution)
+    {
+        assertNotNull(solution);
+        assertTrue(ShortestPaths.solves(board, solution.getMoves()));
+        assertTrue(solution.getBound() >= 1);
+        assertTrue(solution.getCost() <= solution.getBound() * ShortestPaths.getDistance(board) + 1e-9);
+    }
+}
@@ -0,0 +1,73 @@
+package AI;
+
+import WhiteSpacePuzzle.Move;
+import WhiteSpacePuzzle.ShortestPaths;
+import WhiteSpacePuzzle.WhiteSpacePuzzle;
+import algorithms.AStarManhattanCostAlgorithm;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BidirectionalSearchTest
+{
+    @Test
+    void meetInTheMiddleFindsShortestSolutions()
+    {
+        Random random = new Random(8);
+        for (int i = 0; i < 30; i++)
+        {
+            final int[][] board = ShortestPaths.randomBoard(random);
+            WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(3);
+            puzzle.setInitialState(board);
+
+            BidirectionalSearch search = new BidirectionalSearch(puzzle, AStarManhattanCostAlgorithm::new);
+            assertEquals(BidirectionalSearch.Mode.FRONT_TO_END, search.getMode());
+
+            final List<Move> moves = search.findSolution();
+            assertEquals(ShortestPaths.getDistance(board), moves.size());
+            assertTrue(ShortestPaths.solves(board, moves));
+        }
+    }
+
+    @Test
+    void breadthFirstFindsShortestSolutions()
+    {
+        Random random = new Random(88);
+        for (int i = 0; i < 30; i++)
+        {
+            final int[][] board = ShortestPaths.randomBoard(random);
+            WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(3);
+            puzzle.setInitialState(board);
+
+            BidirectionalSearch search = new BidirectionalSearch(puzzle);
+            assertEquals(BidirectionalSearch.Mode.BREADTH_FIRST, search.getMode());
+
+            final List<Move> moves = search.findSolution();
+            assertEquals(ShortestPaths.getDistance(board), moves.size());
+            assertTrue(ShortestPaths.solves(board, moves));
+        }
+    }
+
+    @Test
+    void boardsNextToTheGoalStateMeetAtOnce()
+    {
+        final int[][] goal = ShortestPaths.GOAL;
+        final int[][] oneMove = {{1, 2, 3}, {4, 5, 6}, {7, 0, 8}};
+
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(3);
+        puzzle.setInitialState(goal);
+        assertTrue(new BidirectionalSearch(puzzle).findSolution().isEmpty());
+        assertTrue(new BidirectionalSearch(puzzle, AStarManhattanCostAlgorithm::new).findSolution().isEmpty());
+
+        puzzle.setInitialState(oneMove);
+        final List<Move> breadthFirst = new BidirectionalSearch(puzzle).findSolution();
+        final List<Move> frontToEnd = new BidirectionalSearch(puzzle, AStarManhattanCostAlgorithm::new).findSolution();
+        assertEquals(Collections.singletonList(Move.RIGHT), breadthFirst);
+        assertEquals(Collections.singletonList(Move.RIGHT), frontToEnd);
+    }
+}
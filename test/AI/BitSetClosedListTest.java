@@ -0,0 +1,69 @@
+package AI;
+
+import WhiteSpacePuzzle.PermutationIndexer;
+import WhiteSpacePuzzle.ShortestPaths;
+import WhiteSpacePuzzle.WhiteSpacePuzzle;
+import algorithms.AStarManhattanCostAlgorithm;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BitSetClosedListTest
+{
+    @Test
+    void matchesAHashSetOfTheSameBoards()
+    {
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(3);
+        BitSetClosedList closed = new BitSetClosedList(new PermutationIndexer(puzzle));
+        Set<Long> expected = new HashSet<>();
+
+        //181,440 bits in 64-bit words
+        assertEquals(2835 * 8, closed.getEstimatedBytes());
+
+        Random random = new Random(22);
+        for (int i = 0; i < 100000; i++)
+        {
+            final long board = puzzle.pack(ShortestPaths.randomBoard(random));
+            assertEquals(expected.contains(board), closed.contains(board));
+            assertEquals(expected.add(board), closed.add(board));
+            assertTrue(closed.contains(board));
+        }
+        assertEquals(expected.size(), closed.size());
+    }
+
+    @Test
+    void treeWithABitSetExploresLikeTheHashSet()
+    {
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(3);
+        puzzle.setInitialState(new int[][]{{8, 6, 7}, {2, 5, 4}, {3, 0, 1}});
+
+        AITree<WhiteSpacePuzzle.State> hashed = new AITree<WhiteSpacePuzzle.State>(puzzle.getInitState(), new AStarManhattanCostAlgorithm(puzzle), puzzle.getOperatorManager().getOperators());
+        hashed.setVerbose(false);
+        AITree<WhiteSpacePuzzle.State> bitset = new AITree<WhiteSpacePuzzle.State>(puzzle.getInitState(), new AStarManhattanCostAlgorithm(puzzle), puzzle.getOperatorManager().getOperators());
+        bitset.setVerbose(false);
+        bitset.setClosedList(new BitSetClosedList(new PermutationIndexer(puzzle)));
+
+        assertEquals(hashed.findSolution().getGCost(), bitset.findSolution().getGCost());
+        assertEquals(hashed.getExploredSetSize(), bitset.getExploredSetSize());
+    }
+
+    @Test
+    void treeNeedsAnEmptyExploredSet()
+    {
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(3);
+        puzzle.setInitialState(ShortestPaths.GOAL);
+        BitSetClosedList closed = new BitSetClosedList(new PermutationIndexer(puzzle));
+        closed.add(puzzle.pack(ShortestPaths.GOAL));
+
+        AITree<WhiteSpacePuzzle.State> tree = new AITree<WhiteSpacePuzzle.State>(puzzle.getInitState(), new AStarManhattanCostAlgorithm(puzzle), puzzle.getOperatorManager().getOperators());
+        assertThrows(IllegalArgumentException.class, () -> tree.setClosedList(closed));
+        assertFalse(closed.add(puzzle.pack(ShortestPaths.GOAL)));
+    }
+}
@@ -0,0 +1,121 @@
+package AI;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BucketFrontierTest
+{
+    /**
+     * A node with its costs, numbered in the order it was added.
+     */
+    private static class Item
+    {
+        private final int f;
+        private final int h;
+        private final int order;
+
+        private Item(int f, int h, int order)
+        {
+            this.f = f;
+            this.h = h;
+            this.order = order;
+        }
+    }
+
+    private static BucketFrontier<Item> create()
+    {
+        return new BucketFrontier<>(item -> item.f, item -> item.h);
+    }
+
+    @Test
+    void pollsLowestFThenLowestHThenLastAdded()
+    {
+        BucketFrontier<Item> frontier = create();
+        Item f5h3 = new Item(5, 3, 0);
+        Item f5h1First = new Item(5, 1, 1);
+        Item f4h4 = new Item(4, 4, 2);
+        Item f5h1Last = new Item(5, 1, 3);
+        frontier.add(f5h3);
+        frontier.add(f5h1First);
+        frontier.add(f4h4);
+        frontier.add(f5h1Last);
+
+        assertEquals(4, frontier.size());
+        assertSame(f4h4, frontier.poll());
+        assertSame(f5h1Last, frontier.poll());
+        assertSame(f5h1First, frontier.poll());
+        assertSame(f5h3, frontier.poll());
+        assertTrue(frontier.isEmpty());
+        assertNull(frontier.poll());
+    }
+
+    @Test
+    void cheaperNodeAddedAfterPollsComesOutFirst()
+    {
+        BucketFrontier<Item> frontier = create();
+        frontier.add(new Item(10, 0, 0));
+        frontier.add(new Item(12, 0, 1));
+        assertEquals(10, frontier.poll().f);
+
+        Item cheaper = new Item(3, 2, 2);
+        frontier.add(cheaper);
+        assertSame(cheaper, frontier.poll());
+        assertEquals(12, frontier.poll().f);
+    }
+
+    @Test
+    void growsForLargeCosts()
+    {
+        BucketFrontier<Item> frontier = create();
+        frontier.add(new Item(1000, 500, 0));
+        frontier.add(new Item(70, 40, 1));
+
+        assertEquals(70, frontier.poll().f);
+        assertEquals(1000, frontier.poll().f);
+    }
+
+    @Test
+    void rejectsNegativeCosts()
+    {
+        BucketFrontier<Item> frontier = create();
+        assertThrows(IllegalArgumentException.class, () -> frontier.add(new Item(-1, 0, 0)));
+        assertThrows(IllegalArgumentException.class, () -> frontier.add(new Item(0, -1, 0)));
+    }
+
+    @Test
+    void matchesAPriorityQueueWithTheSameOrder()
+    {
+        Random random = new Random(3);
+        BucketFrontier<Item> frontier = create();
+        PriorityQueue<Item> expected = new PriorityQueue<>((a, b) ->
+                a.f != b.f ? Integer.compare(a.f, b.f) : a.h != b.h ? Integer.compare(a.h, b.h) : Integer.compare(b.order, a.order));
+
+        for (int i = 0; i < 50000; i++)
+        {
+            if (random.nextInt(3) > 0 || expected.isEmpty())
+            {
+                Item item = new Item(random.nextInt(80), random.nextInt(40), i);
+                frontier.add(item);
+                expected.add(item);
+            } else
+            {
+                assertSame(expected.poll(), frontier.poll());
+            }
+            assertEquals(expected.size(), frontier.size());
+        }
+
+        while (!expected.isEmpty())
+        {
+            assertSame(expected.poll(), frontier.poll());
+        }
+        assertTrue(frontier.isEmpty());
+    }
+}
@@ -0,0 +1,98 @@
+package AI;
+
+import WhiteSpacePuzzle.WhiteSpacePuzzle;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExternalBreadthFirstSearchTest
+{
+    //The amount of 3x3 boards at every distance from the goal state
+    private static final List<Long> LAYERS_3X3 = Arrays.asList(1L, 2L, 4L, 8L, 16L, 20L, 39L, 62L, 116L, 152L, 286L, 396L,
+            748L, 1024L, 1893L, 2512L, 4485L, 5638L, 9529L, 10878L, 16993L, 17110L, 23952L, 20224L, 24047L, 15578L, 14560L,
+            6274L, 3910L, 760L, 221L, 2L);
+
+    @TempDir
+    File folder;
+
+    private static ExternalBreadthFirstSearch<WhiteSpacePuzzle.State> create(WhiteSpacePuzzle puzzle, File directory)
+    {
+        return new ExternalBreadthFirstSearch<>(puzzle.getGoalState(), puzzle.getOperatorManager().getOperators(), directory);
+    }
+
+    @Test
+    void layersOf3x3CoverEveryBoard() throws IOException
+    {
+        ExternalBreadthFirstSearch<WhiteSpacePuzzle.State> search = create(new WhiteSpacePuzzle(3), folder);
+        //A small buffer makes every large layer come from many sorted runs
+        search.setBufferSize(1000);
+
+        final List<Long> layers = search.search();
+        assertEquals(32, layers.size());
+        assertEquals(181440L, layers.stream().mapToLong(Long::longValue).sum());
+        assertEquals(LAYERS_3X3, layers);
+
+        //Only the layer files are deleted, the directory stays
+        assertEquals(0, folder.listFiles().length);
+    }
+
+    @Test
+    void keptLayersAreSortedAndDistinct() throws IOException
+    {
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(3);
+        ExternalBreadthFirstSearch<WhiteSpacePuzzle.State> search = create(puzzle, folder);
+        search.setKeepLayers(true);
+        search.setMaxDepth(12);
+
+        List<Long> reported = new ArrayList<>();
+        search.setLayerListener((depth, size) -> reported.add(size));
+
+        final List<Long> layers = search.search();
+        assertEquals(LAYERS_3X3.subList(0, 13), layers);
+        assertEquals(layers, reported);
+        assertFalse(search.getLayerFile(13).exists());
+
+        for (int depth = 0; depth <= 12; depth++)
+        {
+            final File file = search.getLayerFile(depth);
+            assertEquals(layers.get(depth) * 8, file.length());
+            try (DataInputStream in = new DataInputStream(new FileInputStream(file)))
+            {
+                long previous = Long.MIN_VALUE;
+                for (long i = 0; i < layers.get(depth); i++)
+                {
+                    final long key = in.readLong();
+                    assertTrue(key > previous);
+                    previous = key;
+                }
+            }
+        }
+    }
+
+    @Test
+    void cancelledSearchKeepsTheFinishedLayers() throws IOException
+    {
+        ExternalBreadthFirstSearch<WhiteSpacePuzzle.State> search = create(new WhiteSpacePuzzle(3), folder);
+        CancellationToken token = new CancellationToken();
+        search.setLayerListener((depth, size) ->
+        {
+            if (depth == 5)
+                token.cancel();
+        });
+
+        final List<Long> layers = search.search(token);
+        assertEquals(LAYERS_3X3.subList(0, layers.size()), layers);
+        assertTrue(layers.size() >= 6 && layers.size() < 32);
+    }
+}
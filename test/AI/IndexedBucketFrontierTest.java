@@ -0,0 +1,138 @@
+package AI;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndexedBucketFrontierTest
+{
+    /**
+     * A node of a state with its costs.
+     */
+    private static class Item
+    {
+        private final long key;
+        private final int f;
+        private final int h;
+
+        private Item(long key, int f, int h)
+        {
+            this.key = key;
+            this.f = f;
+            this.h = h;
+        }
+    }
+
+    //The order of the costs, without the tie break between nodes with the same costs
+    private static final Comparator<Item> ORDER = Comparator.<Item>comparingInt(item -> item.f).thenComparingInt(item -> item.h);
+
+    private static IndexedBucketFrontier<Item> create()
+    {
+        return new IndexedBucketFrontier<>(item -> item.f, item -> item.h, item -> item.key);
+    }
+
+    @Test
+    void addingTheSameStateReplacesItsNode()
+    {
+        IndexedBucketFrontier<Item> frontier = create();
+        Item first = new Item(7L, 20, 10);
+        Item better = new Item(7L, 18, 10);
+        frontier.add(first);
+        frontier.add(better);
+
+        assertEquals(1, frontier.size());
+        assertSame(better, frontier.get(7L));
+        assertSame(better, frontier.poll());
+        assertNull(frontier.get(7L));
+        assertTrue(frontier.isEmpty());
+    }
+
+    @Test
+    void replacedNodesAreSkippedWhenTheyComeOut()
+    {
+        IndexedBucketFrontier<Item> frontier = create();
+        //The replaced node is cheaper in H, so it comes out of the buckets before its replacement
+        Item stale = new Item(1L, 10, 2);
+        Item current = new Item(1L, 10, 5);
+        Item other = new Item(2L, 10, 4);
+        frontier.add(stale);
+        frontier.add(other);
+        frontier.add(current);
+
+        assertEquals(2, frontier.size());
+        assertSame(other, frontier.poll());
+        assertSame(current, frontier.poll());
+        assertNull(frontier.poll());
+        assertEquals(0, frontier.size());
+    }
+
+    @Test
+    void stateCanBeAddedAgainAfterItWasPolled()
+    {
+        IndexedBucketFrontier<Item> frontier = create();
+        frontier.add(new Item(3L, 5, 1));
+        frontier.add(new Item(4L, 6, 1));
+        assertEquals(3L, frontier.poll().key);
+
+        //The freed handle is used again by the next state, without disturbing the state that is still queued
+        Item again = new Item(3L, 8, 1);
+        Item fresh = new Item(5L, 4, 1);
+        frontier.add(again);
+        frontier.add(fresh);
+
+        assertEquals(3, frontier.size());
+        assertSame(again, frontier.get(3L));
+        assertNotNull(frontier.get(4L));
+        assertSame(fresh, frontier.poll());
+        assertEquals(4L, frontier.poll().key);
+        assertSame(again, frontier.poll());
+        assertTrue(frontier.isEmpty());
+    }
+
+    @Test
+    void pollsTheCheapestCurrentNodeUnderRandomReplacements()
+    {
+        Random random = new Random(5);
+        IndexedBucketFrontier<Item> frontier = create();
+        Map<Long, Item> expected = new HashMap<>();
+
+        for (int i = 0; i < 50000; i++)
+        {
+            if (random.nextInt(3) > 0 || expected.isEmpty())
+            {
+                //A small key range makes many of the adds replace a queued node
+                final long key = random.nextInt(300);
+                final Item queued = expected.get(key);
+                final Item item = new Item(key, random.nextInt(60), random.nextInt(30));
+                if (queued != null && queued.f <= item.f)
+                    continue;
+
+                frontier.add(item);
+                expected.put(key, item);
+            } else
+            {
+                final Item cheapest = expected.values().stream().min(ORDER).get();
+                final Item polled = frontier.poll();
+                assertEquals(0, ORDER.compare(cheapest, polled));
+                assertSame(expected.remove(polled.key), polled);
+            }
+            assertEquals(expected.size(), frontier.size());
+        }
+
+        while (!expected.isEmpty())
+        {
+            final Item polled = frontier.poll();
+            assertSame(expected.remove(polled.key), polled);
+        }
+        assertNull(frontier.poll());
+    }
+}
@@ -0,0 +1,64 @@
+package AI;
+
+import WhiteSpacePuzzle.Move;
+import WhiteSpacePuzzle.ShortestPaths;
+import WhiteSpacePuzzle.WhiteSpacePuzzle;
+import algorithms.AStarManhattanCostAlgorithm;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IterativeDeepeningAStarTest
+{
+    @Test
+    void findsShortestSolutions()
+    {
+        Random random = new Random(4);
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(3);
+        IterativeDeepeningAStar search = new IterativeDeepeningAStar(puzzle, new AStarManhattanCostAlgorithm(puzzle));
+
+        for (int i = 0; i < 30; i++)
+        {
+            final int[][] board = ShortestPaths.randomBoard(random);
+            puzzle.setInitialState(board);
+
+            final List<Move> moves = search.findSolution();
+            assertEquals(ShortestPaths.getDistance(board), moves.size());
+            assertTrue(ShortestPaths.solves(board, moves));
+            //The last threshold is the length of the solution, since manhattan distance never overestimates
+            assertEquals(moves.size(), search.getThreshold());
+        }
+    }
+
+    @Test
+    void goalStateNeedsNoMoves()
+    {
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(3);
+        puzzle.setInitialState(ShortestPaths.GOAL);
+        IterativeDeepeningAStar search = new IterativeDeepeningAStar(puzzle, new AStarManhattanCostAlgorithm(puzzle));
+
+        assertTrue(search.findSolution().isEmpty());
+        assertEquals(1, search.getIterations());
+    }
+
+    @Test
+    void stopsAtTheMaxThreshold()
+    {
+        final int[][] board = {{8, 6, 7}, {2, 5, 4}, {3, 0, 1}};
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(3);
+        puzzle.setInitialState(board);
+        IterativeDeepeningAStar search = new IterativeDeepeningAStar(puzzle, new AStarManhattanCostAlgorithm(puzzle));
+
+        final int distance = ShortestPaths.getDistance(board);
+        search.setMaxThreshold(distance - 1);
+        assertNull(search.findSolution());
+
+        search.setMaxThreshold(distance);
+        assertEquals(distance, search.findSolution().size());
+    }
+}
@@ -0,0 +1,161 @@
+package AI;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongIntHashMapTest
+{
+    //The capacity of a map created for 16 entries (a power of two, at most half full)
+    private static final int CAPACITY = 64;
+
+    @Test
+    void putReplacesAndReportsNewKeys()
+    {
+        LongIntHashMap map = new LongIntHashMap(16);
+
+        assertTrue(map.put(42L, 1));
+        assertFalse(map.put(42L, 2));
+        assertEquals(2, map.get(42L, -1));
+        assertEquals(-1, map.get(43L, -1));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void zeroKeyIsKeptOnTheSide()
+    {
+        LongIntHashMap map = new LongIntHashMap(16);
+
+        assertFalse(map.containsKey(0L));
+        assertTrue(map.put(0L, 7));
+        assertTrue(map.containsKey(0L));
+        assertEquals(7, map.get(0L, -1));
+        assertEquals(1, map.size());
+
+        assertTrue(map.remove(0L));
+        assertFalse(map.containsKey(0L));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void removeShiftsBackTheRestOfTheProbeSequence()
+    {
+        //Keys with the same home slot form one probe sequence
+        final long[] keys = keysWithHome(5, 4);
+        LongIntHashMap map = new LongIntHashMap(16);
+        for (int i = 0; i < keys.length; i++)
+        {
+            map.put(keys[i], i);
+        }
+
+        //Without the shift, the keys after the removed one would sit behind an empty slot and be lost
+        assertTrue(map.remove(keys[1]));
+        assertFalse(map.containsKey(keys[1]));
+        for (int i = 0; i < keys.length; i++)
+        {
+            if (i != 1)
+                assertEquals(i, map.get(keys[i], -1), "key " + i);
+        }
+
+        assertTrue(map.remove(keys[0]));
+        assertEquals(2, map.get(keys[2], -1));
+        assertEquals(3, map.get(keys[3], -1));
+        assertEquals(2, map.size());
+        assertFalse(map.remove(keys[0]));
+    }
+
+    @Test
+    void removeShiftsBackAcrossTheEndOfTheTable()
+    {
+        //The probe sequence of the last slot wraps around to the first slots
+        final long[] wrapping = keysWithHome(CAPACITY - 1, 3);
+        //A key whose home is slot 0 must not move in front of its home slot
+        final long[] atStart = keysWithHome(0, 1);
+
+        LongIntHashMap map = new LongIntHashMap(16);
+        map.put(wrapping[0], 0);
+        map.put(wrapping[1], 1);
+        map.put(atStart[0], 10);
+        map.put(wrapping[2], 2);
+
+        assertTrue(map.remove(wrapping[0]));
+        assertEquals(1, map.get(wrapping[1], -1));
+        assertEquals(2, map.get(wrapping[2], -1));
+        assertEquals(10, map.get(atStart[0], -1));
+
+        assertTrue(map.remove(wrapping[1]));
+        assertEquals(2, map.get(wrapping[2], -1));
+        assertEquals(10, map.get(atStart[0], -1));
+    }
+
+    @Test
+    void matchesHashMapUnderRandomOperations()
+    {
+        Random random = new Random(1);
+        LongIntHashMap map = new LongIntHashMap();
+        Map<Long, Integer> expected = new HashMap<>();
+
+        for (int i = 0; i < 200000; i++)
+        {
+            //A small key range keeps the table crowded, so removals often shift entries
+            final long key = random.nextInt(5000) - 100;
+            switch (random.nextInt(3))
+            {
+                case 0:
+                    assertEquals(!expected.containsKey(key), map.put(key, i));
+                    expected.put(key, i);
+                    break;
+                case 1:
+                    assertEquals(expected.remove(key) != null, map.remove(key));
+                    break;
+                default:
+                    assertEquals(expected.getOrDefault(key, -1), map.get(key, -1));
+                    break;
+            }
+            assertEquals(expected.size(), map.size());
+        }
+
+        for (Map.Entry<Long, Integer> entry : expected.entrySet())
+        {
+            assertEquals(entry.getValue(), map.get(entry.getKey(), -1));
+        }
+    }
+
+    @Test
+    void clearKeepsTheMapUsable()
+    {
+        LongIntHashMap map = new LongIntHashMap();
+        for (long key = 0; key < 1000; key++)
+        {
+            map.put(key, (int) key);
+        }
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertFalse(map.containsKey(500L));
+
+        map.put(500L, 5);
+        assertEquals(5, map.get(500L, -1));
+    }
+
+    /**
+     * Finds keys whose home slot in a table of CAPACITY slots is the given slot.
+     */
+    private static long[] keysWithHome(int slot, int amount)
+    {
+        long[] keys = new long[amount];
+        int found = 0;
+        for (long key = 1; found < amount; key++)
+        {
+            if ((LongIntHashMap.mix(key) & (CAPACITY - 1)) == slot)
+                keys[found++] = key;
+        }
+        return keys;
+    }
+}
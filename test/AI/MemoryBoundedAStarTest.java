@@ -0,0 +1,73 @@
+package AI;
+
+import WhiteSpacePuzzle.Move;
+import WhiteSpacePuzzle.ShortestPaths;
+import WhiteSpacePuzzle.WhiteSpacePuzzle;
+import algorithms.AStarManhattanCostAlgorithm;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MemoryBoundedAStarTest
+{
+    @Test
+    void findsShortestSolutionsWhileForgettingNodes()
+    {
+        Random random = new Random(16);
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(3);
+        MemoryBoundedAStar search = new MemoryBoundedAStar(puzzle, new AStarManhattanCostAlgorithm(puzzle), 500);
+
+        long forgotten = 0;
+        for (int i = 0; i < 20; i++)
+        {
+            final int[][] board = ShortestPaths.randomBoard(random);
+            puzzle.setInitialState(board);
+
+            final List<Move> moves = search.findSolution();
+            assertEquals(ShortestPaths.getDistance(board), moves.size());
+            assertTrue(ShortestPaths.solves(board, moves));
+            forgotten += search.getForgottenNumber();
+        }
+        //The limit is far below what A* keeps for these boards, so the memory bound was really used
+        assertTrue(forgotten > 0);
+    }
+
+    @Test
+    void solutionThatJustFitsIsFound()
+    {
+        final int[][] board = {{1, 2, 3}, {4, 5, 6}, {0, 7, 8}};
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(3);
+        puzzle.setInitialState(board);
+
+        //2 moves need 3 nodes on the path
+        assertEquals(List.of(Move.RIGHT, Move.RIGHT), new MemoryBoundedAStar(puzzle, new AStarManhattanCostAlgorithm(puzzle), 3).findSolution());
+    }
+
+    @Test
+    void solutionThatDoesNotFitIsNotFound()
+    {
+        final int[][] board = {{1, 2, 3}, {4, 5, 6}, {0, 7, 8}};
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(3);
+        puzzle.setInitialState(board);
+
+        assertNull(new MemoryBoundedAStar(puzzle, new AStarManhattanCostAlgorithm(puzzle), 2).findSolution());
+    }
+
+    @Test
+    void cancelledSearchStops()
+    {
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(3);
+        puzzle.setInitialState(new int[][]{{8, 6, 7}, {2, 5, 4}, {3, 0, 1}});
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+
+        assertNull(new MemoryBoundedAStar(puzzle, new AStarManhattanCostAlgorithm(puzzle), 100).findSolution(token));
+        assertThrows(IllegalArgumentException.class, () -> new MemoryBoundedAStar(puzzle, new AStarManhattanCostAlgorithm(puzzle), 1));
+    }
+}
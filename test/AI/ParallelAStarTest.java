@@ -0,0 +1,80 @@
+package AI;
+
+import WhiteSpacePuzzle.Move;
+import WhiteSpacePuzzle.ShortestPaths;
+import WhiteSpacePuzzle.WhiteSpacePuzzle;
+import algorithms.AStarManhattanCostAlgorithm;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelAStarTest
+{
+    //A search whose workers never agree that they are done would hang instead of failing
+    private static final Duration TIME_LIMIT = Duration.ofSeconds(60);
+
+    @Test
+    void findsShortestSolutionsWithAnyAmountOfWorkers()
+    {
+        assertTimeoutPreemptively(TIME_LIMIT, () ->
+        {
+            Random random = new Random(9);
+            for (int threads : new int[]{1, 2, 4})
+            {
+                for (int i = 0; i < 15; i++)
+                {
+                    final int[][] board = ShortestPaths.randomBoard(random);
+                    WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(3);
+                    puzzle.setInitialState(board);
+
+                    ParallelAStar search = new ParallelAStar(puzzle, new AStarManhattanCostAlgorithm(puzzle), threads);
+                    final List<Move> moves = search.findSolution();
+                    assertEquals(ShortestPaths.getDistance(board), moves.size());
+                    assertTrue(ShortestPaths.solves(board, moves));
+                }
+            }
+        });
+    }
+
+    @Test
+    void searchCanBeRunAgain()
+    {
+        assertTimeoutPreemptively(TIME_LIMIT, () ->
+        {
+            final int[][] board = {{8, 6, 7}, {2, 5, 4}, {3, 0, 1}};
+            WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(3);
+            puzzle.setInitialState(board);
+            ParallelAStar search = new ParallelAStar(puzzle, new AStarManhattanCostAlgorithm(puzzle), 3);
+
+            for (int run = 0; run < 5; run++)
+            {
+                assertEquals(ShortestPaths.getDistance(board), search.findSolution().size());
+            }
+        });
+    }
+
+    @Test
+    void goalStateFinishesWithoutMoves()
+    {
+        assertTimeoutPreemptively(TIME_LIMIT, () ->
+        {
+            WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(3);
+            puzzle.setInitialState(ShortestPaths.GOAL);
+            assertTrue(new ParallelAStar(puzzle, new AStarManhattanCostAlgorithm(puzzle), 4).findSolution().isEmpty());
+        });
+    }
+
+    @Test
+    void needsAWorker()
+    {
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(3);
+        assertThrows(IllegalArgumentException.class, () -> new ParallelAStar(puzzle, new AStarManhattanCostAlgorithm(puzzle), 0));
+    }
+}
@@ -0,0 +1,114 @@
+package AI;
+
+import WhiteSpacePuzzle.Move;
+import WhiteSpacePuzzle.ShortestPaths;
+import WhiteSpacePuzzle.WhiteSpacePuzzle;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SuccessorBufferTest
+{
+    @Test
+    void growsAndKeepsEveryChild()
+    {
+        SuccessorBuffer buffer = new SuccessorBuffer(1);
+        for (int i = 0; i < 10; i++)
+        {
+            buffer.add(100 + i, i % 4, 1 + i, i - 5);
+        }
+
+        assertEquals(10, buffer.size());
+        for (int i = 0; i < 10; i++)
+        {
+            assertEquals(100 + i, buffer.getStateKey(i));
+            assertEquals(i % 4, buffer.getOperatorId(i));
+            assertEquals(1 + i, buffer.getCost(i));
+            assertEquals(i - 5, buffer.getHeuristicDelta(i));
+        }
+
+        buffer.clear();
+        assertEquals(0, buffer.size());
+        buffer.add(7, 0, 1, 0);
+        assertEquals(7, buffer.getStateKey(0));
+    }
+
+    @Test
+    void successorsMatchTheOperatorsInMoveOrder()
+    {
+        Random random = new Random(24);
+        SuccessorBuffer buffer = new SuccessorBuffer();
+
+        for (int size = 2; size <= WhiteSpacePuzzle.MAX_SIZE; size++)
+        {
+            WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(size);
+            Map<Integer, AIFunction<WhiteSpacePuzzle.State>> operators = new HashMap<>();
+            for (AIFunction<WhiteSpacePuzzle.State> operator : puzzle.getOperatorManager().getOperators().keySet())
+            {
+                operators.put(operator.getOperatorId(), operator);
+            }
+
+            for (int i = 0; i < 200; i++)
+            {
+                final WhiteSpacePuzzle.State state = randomState(puzzle, random);
+                assertTrue(state.generateSuccessors(buffer));
+
+                //Every move the white space can make, in the order of the moves
+                int child = 0;
+                for (Move move : Move.values())
+                {
+                    final WhiteSpacePuzzle.State expected = state.move(move);
+                    if (expected == null)
+                        continue;
+
+                    assertEquals(move.ordinal(), buffer.getOperatorId(child));
+                    assertEquals(expected.getStateKey(), buffer.getStateKey(child));
+                    assertEquals(1f, buffer.getCost(child));
+                    assertEquals(expected.getManhattanDistanceCost() - state.getManhattanDistanceCost(), buffer.getHeuristicDelta(child));
+
+                    //The operator with the id reaches the same child
+                    final AIFunction<WhiteSpacePuzzle.State> operator = operators.get(buffer.getOperatorId(child));
+                    assertNotNull(operator);
+                    assertEquals(expected.getStateKey(), operator.apply(state).getStateKey());
+                    child++;
+                }
+                assertEquals(child, buffer.size());
+            }
+        }
+    }
+
+    @Test
+    void childrenCanBeCreatedFromTheirKeys()
+    {
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(3);
+        puzzle.setInitialState(ShortestPaths.randomBoard(new Random(25)));
+        final WhiteSpacePuzzle.State state = puzzle.getInitState();
+        SuccessorBuffer buffer = new SuccessorBuffer();
+        state.generateSuccessors(buffer);
+
+        for (int i = 0; i < buffer.size(); i++)
+        {
+            final WhiteSpacePuzzle.State child = state.createState(buffer.getStateKey(i));
+            assertEquals(state.getManhattanDistanceCost() + buffer.getHeuristicDelta(i), child.getManhattanDistanceCost());
+            assertEquals(buffer.getStateKey(i), child.getStateKey());
+        }
+    }
+
+    private static WhiteSpacePuzzle.State randomState(WhiteSpacePuzzle puzzle, Random random)
+    {
+        WhiteSpacePuzzle.State state = puzzle.new State(puzzle.getGoalState());
+        for (int i = 0; i < 60; i++)
+        {
+            final Move move = Move.values()[random.nextInt(4)];
+            if (state.canMove(move))
+                state.applyMove(move);
+        }
+        return state;
+    }
+}
@@ -0,0 +1,64 @@
+package WhiteSpacePuzzle;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DistanceTableTest
+{
+    @Test
+    void solutionsAreShortest()
+    {
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(3);
+        DistanceTable distances = DistanceTable.build(puzzle);
+
+        Random random = new Random(21);
+        for (int i = 0; i < 500; i++)
+        {
+            final int[][] board = ShortestPaths.randomBoard(random);
+            puzzle.setInitialState(board);
+
+            final List<Move> moves = distances.solve(puzzle.getInitState());
+            assertEquals(ShortestPaths.getDistance(board), moves.size());
+            assertEquals(moves.size(), distances.getDistance(puzzle.getInitState().getPackedState()));
+            assertTrue(ShortestPaths.solves(board, moves));
+        }
+
+        //A board of the other parity never reaches the goal state
+        final WhiteSpacePuzzle.State swapped = puzzle.new State(puzzle.getGoalState());
+        swapped.setState(new int[][]{{2, 1, 3}, {4, 5, 6}, {7, 8, 0}});
+        assertNull(distances.solve(swapped));
+        assertEquals(-1, distances.getDistance(swapped.getPackedState()));
+    }
+
+    @Test
+    void oneLookupTellsIfANeighborIsCloser()
+    {
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(3);
+        DistanceTable distances = DistanceTable.build(puzzle);
+
+        //Distances past 15 wrap around in the table, so the boards go up to the deepest ones
+        Random random = new Random(22);
+        for (int i = 0; i < 500; i++)
+        {
+            puzzle.setInitialState(ShortestPaths.randomBoard(random));
+            final WhiteSpacePuzzle.State state = puzzle.getInitState();
+            final int distance = distances.getDistance(state.getPackedState());
+
+            for (Move move : Move.values())
+            {
+                final WhiteSpacePuzzle.State neighbor = state.move(move);
+                if (neighbor == null)
+                    continue;
+
+                final int neighborDistance = distances.getDistance(neighbor.getPackedState());
+                assertEquals(neighborDistance == distance - 1, distances.isCloser(neighbor.getPackedState(), distance));
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package WhiteSpacePuzzle;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PatternDatabaseTest
+{
+    @TempDir
+    File folder;
+
+    @Test
+    void patternOfEveryTileIsTheExactDistance()
+    {
+        //With every tile in the pattern, every move is counted
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(3);
+        PatternDatabase database = PatternDatabase.build(puzzle, new int[]{1, 2, 3, 4, 5, 6, 7, 8});
+
+        Random random = new Random(6);
+        for (int i = 0; i < 500; i++)
+        {
+            final int[][] board = ShortestPaths.randomBoard(random);
+            assertEquals(ShortestPaths.getDistance(board), database.getCost(puzzle.pack(board)));
+        }
+    }
+
+    @Test
+    void disjointPatternsAddUpToAtMostTheDistance()
+    {
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(3);
+        final int[][] partition = PatternDatabase.getDefaultPartition(3);
+        PatternDatabase low = PatternDatabase.build(puzzle, partition[0]);
+        PatternDatabase high = PatternDatabase.build(puzzle, partition[1]);
+
+        final long goal = puzzle.pack(ShortestPaths.GOAL);
+        assertEquals(0, low.getCost(goal));
+        assertEquals(0, high.getCost(goal));
+
+        Random random = new Random(66);
+        for (int i = 0; i < 500; i++)
+        {
+            final int[][] board = ShortestPaths.randomBoard(random);
+            final long packed = puzzle.pack(board);
+            final int cost = low.getCost(packed) + high.getCost(packed);
+            assertTrue(cost <= ShortestPaths.getDistance(board));
+
+            //A pattern tile moves at least its manhattan distance, so the pattern costs are at least as high
+            int manhattan = 0;
+            for (int position = 0; position < 9; position++)
+            {
+                manhattan += puzzle.getManhattanDistance(WhiteSpacePuzzle.getTile(packed, position), position);
+            }
+            assertTrue(cost >= manhattan);
+        }
+    }
+
+    @Test
+    void savedDatabaseLoadsWithTheSameCosts() throws IOException
+    {
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(3);
+        PatternDatabase built = PatternDatabase.build(puzzle, new int[]{2, 4, 6});
+        final File file = new File(folder, "pattern.pdb");
+        built.save(file);
+
+        PatternDatabase loaded = PatternDatabase.load(file);
+        assertTrue(loaded.isFor(puzzle));
+        assertArrayEquals(new int[]{2, 4, 6}, loaded.getTiles());
+
+        Random random = new Random(7);
+        for (int i = 0; i < 500; i++)
+        {
+            final long packed = puzzle.pack(ShortestPaths.randomBoard(random));
+            assertEquals(built.getCost(packed), loaded.getCost(packed));
+        }
+
+        WhiteSpacePuzzle otherGoal = new WhiteSpacePuzzle(3);
+        otherGoal.setGoalState(new int[][]{{0, 1, 2}, {3, 4, 5}, {6, 7, 8}});
+        assertFalse(loaded.isFor(otherGoal));
+    }
+
+    @Test
+    void buildMemoryCountsOnlyMissingDatabases() throws IOException
+    {
+        //16!/9! placements of the group of 7, then 16!/8! of the group of 8 while the first one is kept
+        WhiteSpacePuzzle large = new WhiteSpacePuzzle(4);
+        assertEquals(57657600L + 5 * 518918400L, PatternDatabase.getBuildMemory(large, PatternDatabase.getDefaultPartition(4), folder));
+
+        //A goal state of its own, so no other test built these databases before
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(3);
+        puzzle.setGoalState(new int[][]{{8, 7, 6}, {5, 4, 3}, {2, 1, 0}});
+        final int[][] partition = PatternDatabase.getDefaultPartition(3);
+        assertEquals(3024L + 5 * 3024L, PatternDatabase.getBuildMemory(puzzle, partition, folder));
+
+        PatternDatabase.loadOrBuild(puzzle, partition, folder);
+        assertEquals(0, PatternDatabase.getBuildMemory(puzzle, partition, folder));
+    }
+
+    @Test
+    void rejectsBadPatternsAndFiles() throws IOException
+    {
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(3);
+        assertThrows(IllegalArgumentException.class, () -> PatternDatabase.build(puzzle, new int[]{0, 1}));
+        assertThrows(IllegalArgumentException.class, () -> PatternDatabase.build(puzzle, new int[]{3, 3}));
+
+        final File file = new File(folder, "notes.txt");
+        Files.write(file.toPath(), "not a pattern database".getBytes("UTF-8"));
+        assertThrows(IOException.class, () -> PatternDatabase.load(file));
+    }
+}
@@ -0,0 +1,81 @@
+package WhiteSpacePuzzle;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PermutationIndexerTest
+{
+    @Test
+    void everyIndexOf3x3IsADistinctSolvableBoard()
+    {
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(3);
+        PermutationIndexer indexer = new PermutationIndexer(puzzle);
+        assertEquals(181440, indexer.getIndexCount());
+
+        for (long index = 0; index < indexer.getIndexCount(); index++)
+        {
+            final long board = indexer.unrank(index);
+            assertEquals(index, indexer.rank(board));
+            assertTrue(indexer.isReachable(board));
+            assertTrue(ShortestPaths.getDistance(puzzle.unpack(board)) >= 0, "index " + index);
+        }
+    }
+
+    @Test
+    void reachableBoardsDependOnTheGoalState()
+    {
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(3);
+        final long goal = puzzle.pack(ShortestPaths.GOAL);
+        final long swapped = puzzle.pack(new int[][]{{2, 1, 3}, {4, 5, 6}, {7, 8, 0}});
+
+        PermutationIndexer indexer = new PermutationIndexer(3, goal);
+        assertTrue(indexer.isReachable(goal));
+        assertFalse(indexer.isReachable(swapped));
+
+        PermutationIndexer swappedIndexer = new PermutationIndexer(3, swapped);
+        assertFalse(swappedIndexer.isReachable(goal));
+        assertTrue(swappedIndexer.isReachable(swapped));
+        assertEquals(swapped, swappedIndexer.unrank(swappedIndexer.rank(swapped)));
+    }
+
+    @Test
+    void boardsOf4x4RoundTrip()
+    {
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(4);
+        PermutationIndexer indexer = new PermutationIndexer(puzzle);
+        PuzzleGenerator generator = new PuzzleGenerator(puzzle, 22);
+        assertEquals(16L * 15 * 14 * 13 * 12 * 11 * 10 * 9 * 8 * 7 * 6 * 5 * 4 * 3 * 2 / 2, indexer.getIndexCount());
+
+        for (int i = 0; i < 10000; i++)
+        {
+            final long board = puzzle.pack(generator.randomBoard());
+            final long index = indexer.rank(board);
+            assertTrue(index >= 0 && index < indexer.getIndexCount());
+            assertEquals(board, indexer.unrank(index));
+        }
+
+        Random random = new Random(23);
+        for (int i = 0; i < 10000; i++)
+        {
+            final long index = (random.nextLong() >>> 1) % indexer.getIndexCount();
+            assertEquals(index, indexer.rank(indexer.unrank(index)));
+        }
+    }
+
+    @Test
+    void everyIndexOf2x2IsAReachableBoard()
+    {
+        PermutationIndexer indexer = new PermutationIndexer(new WhiteSpacePuzzle(2));
+        assertEquals(12, indexer.getIndexCount());
+        for (long index = 0; index < 12; index++)
+        {
+            assertEquals(index, indexer.rank(indexer.unrank(index)));
+            assertTrue(indexer.isReachable(indexer.unrank(index)));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package WhiteSpacePuzzle;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PuzzleGeneratorTest
+{
+    @Test
+    void sameSeedGeneratesTheSameBoards()
+    {
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(3);
+        PuzzleGenerator first = new PuzzleGenerator(puzzle, 42);
+        PuzzleGenerator second = new PuzzleGenerator(puzzle, 42);
+
+        for (int i = 0; i < 20; i++)
+        {
+            assertArrayEquals(first.randomBoard(), second.randomBoard());
+            assertArrayEquals(first.randomWalk(i), second.randomWalk(i));
+            assertArrayEquals(first.atDepth(i, 10), second.atDepth(i, 10));
+        }
+    }
+
+    @Test
+    void boardsAtADepthHaveShortestSolutionsOfThatLength()
+    {
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(3);
+        PuzzleGenerator generator = new PuzzleGenerator(puzzle, 3);
+
+        for (int depth = 0; depth <= 24; depth += 3)
+        {
+            for (int i = 0; i < 3; i++)
+            {
+                assertEquals(depth, ShortestPaths.getDistance(generator.atDepth(depth, 100)));
+            }
+        }
+    }
+
+    @Test
+    void depthThatDoesNotExistIsNotFound()
+    {
+        //No 3x3 board is more than 31 moves away
+        PuzzleGenerator generator = new PuzzleGenerator(new WhiteSpacePuzzle(3), 5);
+        assertThrows(IllegalStateException.class, () -> generator.atDepth(32, 2));
+    }
+
+    @Test
+    void randomBoardsAndWalksAreSolvable()
+    {
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(3);
+        PuzzleGenerator generator = new PuzzleGenerator(puzzle, 7);
+
+        for (int i = 0; i < 200; i++)
+        {
+            assertTrue(ShortestPaths.getDistance(generator.randomBoard()) >= 0);
+
+            //Every move changes the distance by exactly 1, so a walk and its shortest solution have the same parity
+            final int length = i % 40;
+            final int distance = ShortestPaths.getDistance(generator.randomWalk(length));
+            assertTrue(distance <= length);
+            assertEquals(length % 2, distance % 2);
+        }
+    }
+}
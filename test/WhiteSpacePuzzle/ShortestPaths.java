@@ -0,0 +1,170 @@
+package WhiteSpacePuzzle;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The exact distance of every 3x3 board to the default goal state, found by a plain breadth-first search over the
+ * boards as arrays. It shares no code with the puzzle, so the engines can be checked against it.
+ */
+public final class ShortestPaths
+{
+    public static final int[][] GOAL = {{1, 2, 3}, {4, 5, 6}, {7, 8, 0}};
+
+    private static final int SIZE = 3;
+    private static final int CELLS = SIZE * SIZE;
+
+    //The distance of every board reachable from the goal state, by its tiles read as a number in base 9
+    private static HashMap<Long, Integer> distances;
+
+    private ShortestPaths()
+    {
+    }
+
+    /**
+     * The amount of moves of the shortest solution of a 3x3 board.
+     *
+     * @param board the board
+     * @return the amount of moves, or -1 if the board cannot reach the goal state
+     */
+    public static synchronized int getDistance(int[][] board)
+    {
+        if (distances == null)
+            distances = search();
+        return distances.getOrDefault(encode(flatten(board)), -1);
+    }
+
+    /**
+     * Generates a random solvable 3x3 board: a random permutation of the tiles, with two tiles swapped if an odd amount
+     * of pairs is in the wrong order.
+     *
+     * @param random the source of randomness
+     * @return the board
+     */
+    public static int[][] randomBoard(Random random)
+    {
+        int[] tiles = new int[CELLS];
+        for (int i = 0; i < CELLS; i++)
+        {
+            tiles[i] = i;
+        }
+        for (int i = CELLS - 1; i > 0; i--)
+        {
+            swap(tiles, i, random.nextInt(i + 1));
+        }
+
+        int inversions = 0;
+        for (int i = 0; i < CELLS; i++)
+        {
+            for (int j = i + 1; j < CELLS; j++)
+            {
+                if (tiles[i] != 0 && tiles[j] != 0 && tiles[i] > tiles[j])
+                    inversions++;
+            }
+        }
+        if (inversions % 2 != 0)
+        {
+            final int first = tiles[0] == 0 ? 1 : 0;
+            final int second = tiles[first + 1] == 0 ? first + 2 : first + 1;
+            swap(tiles, first, second);
+        }
+
+        int[][] board = new int[SIZE][SIZE];
+        for (int i = 0; i < CELLS; i++)
+        {
+            board[i / SIZE][i % SIZE] = tiles[i];
+        }
+        return board;
+    }
+
+    /**
+     * Checks if the moves of the white space take the board to the goal state.
+     *
+     * @param board the board, which is not changed
+     * @param moves the moves
+     * @return true if every move stays on the board and the last one reaches the goal state
+     */
+    public static boolean solves(int[][] board, List<Move> moves)
+    {
+        int[] tiles = flatten(board);
+        int space = indexOf(tiles, 0);
+        for (Move move : moves)
+        {
+            final int row = space / SIZE + move.getRowOffset();
+            final int col = space % SIZE + move.getColOffset();
+            if (row < 0 || row >= SIZE || col < 0 || col >= SIZE)
+                return false;
+            swap(tiles, space, row * SIZE + col);
+            space = row * SIZE + col;
+        }
+        return encode(tiles) == encode(flatten(GOAL));
+    }
+
+    private static HashMap<Long, Integer> search()
+    {
+        HashMap<Long, Integer> found = new HashMap<>();
+        ArrayDeque<int[]> queue = new ArrayDeque<>();
+        final int[] goal = flatten(GOAL);
+        found.put(encode(goal), 0);
+        queue.add(goal);
+
+        while (!queue.isEmpty())
+        {
+            final int[] tiles = queue.poll();
+            final int distance = found.get(encode(tiles));
+            final int space = indexOf(tiles, 0);
+            for (Move move : Move.values())
+            {
+                final int row = space / SIZE + move.getRowOffset();
+                final int col = space % SIZE + move.getColOffset();
+                if (row < 0 || row >= SIZE || col < 0 || col >= SIZE)
+                    continue;
+
+                int[] child = tiles.clone();
+                swap(child, space, row * SIZE + col);
+                if (found.putIfAbsent(encode(child), distance + 1) == null)
+                    queue.add(child);
+            }
+        }
+        return found;
+    }
+
+    private static int[] flatten(int[][] board)
+    {
+        int[] tiles = new int[CELLS];
+        for (int i = 0; i < CELLS; i++)
+        {
+            tiles[i] = board[i / SIZE][i % SIZE];
+        }
+        return tiles;
+    }
+
+    private static long encode(int[] tiles)
+    {
+        long code = 0;
+        for (int tile : tiles)
+        {
+            code = code * CELLS + tile;
+        }
+        return code;
+    }
+
+    private static int indexOf(int[] tiles, int tile)
+    {
+        for (int i = 0; i < tiles.length; i++)
+        {
+            if (tiles[i] == tile)
+                return i;
+        }
+        throw new IllegalArgumentException("The board has no tile " + tile + ".");
+    }
+
+    private static void swap(int[] tiles, int i, int j)
+    {
+        final int tile = tiles[i];
+        tiles[i] = tiles[j];
+        tiles[j] = tile;
+    }
+}
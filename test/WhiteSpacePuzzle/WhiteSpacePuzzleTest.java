@@ -0,0 +1,126 @@
+package WhiteSpacePuzzle;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WhiteSpacePuzzleTest
+{
+    @Test
+    void solvableBoardsAreTheReachableBoardsOf3x3()
+    {
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(3);
+        Random random = new Random(11);
+        for (int i = 0; i < 2000; i++)
+        {
+            //Any permutation, so about half of them cannot reach the goal state
+            int[][] board = ShortestPaths.randomBoard(random);
+            if (random.nextBoolean())
+                board = swapFirstTiles(board);
+
+            assertEquals(ShortestPaths.getDistance(board) >= 0, puzzle.isSolvable(board));
+        }
+    }
+
+    @Test
+    void solvableBoardsAreTheReachableBoardsOf2x2()
+    {
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(2);
+
+        Set<Long> reachable = new HashSet<>();
+        ArrayDeque<WhiteSpacePuzzle.State> queue = new ArrayDeque<>();
+        reachable.add(puzzle.getGoalState().getPackedState());
+        queue.add(puzzle.getGoalState());
+        while (!queue.isEmpty())
+        {
+            final WhiteSpacePuzzle.State state = queue.poll();
+            for (Move move : Move.values())
+            {
+                final WhiteSpacePuzzle.State next = state.move(move);
+                if (next != null && reachable.add(next.getPackedState()))
+                    queue.add(next);
+            }
+        }
+        assertEquals(12, reachable.size());
+
+        //Every permutation of the 4 tiles, read as a number in base 4
+        int solvable = 0;
+        for (int code = 0; code < 256; code++)
+        {
+            final int[][] board = {{code & 3, (code >> 2) & 3}, {(code >> 4) & 3, (code >> 6) & 3}};
+            if (Integer.bitCount(1 << board[0][0] | 1 << board[0][1] | 1 << board[1][0] | 1 << board[1][1]) != 4)
+                continue;
+
+            assertEquals(reachable.contains(puzzle.pack(board)), puzzle.isSolvable(board));
+            if (puzzle.isSolvable(board))
+                solvable++;
+        }
+        assertEquals(12, solvable);
+    }
+
+    @Test
+    void swappingTwoTilesOf4x4MakesItUnsolvable()
+    {
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(4);
+        PuzzleGenerator generator = new PuzzleGenerator(puzzle, 12);
+        for (int i = 0; i < 50; i++)
+        {
+            final int[][] board = generator.randomWalk(40 + i);
+            assertTrue(puzzle.isSolvable(board));
+            assertFalse(puzzle.isSolvable(swapFirstTiles(board)));
+        }
+    }
+
+    @Test
+    void rejectsUnsolvableAndInvalidBoards()
+    {
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(3);
+        final int[][] unsolvable = {{2, 1, 3}, {4, 5, 6}, {7, 8, 0}};
+        assertThrows(IllegalArgumentException.class, () -> puzzle.setInitialState(unsolvable));
+        assertThrows(IllegalArgumentException.class, () -> puzzle.setInitialState(new int[][]{{1, 1, 3}, {4, 5, 6}, {7, 8, 0}}));
+        assertThrows(IllegalArgumentException.class, () -> puzzle.setInitialState(new int[][]{{1, 2}, {3, 0}}));
+        assertThrows(IllegalArgumentException.class, () -> puzzle.isSolvable(new int[][]{{1, 2, 3}, {4, 5, 6}, {7, 8, 9}}));
+
+        //A goal state is rejected if the initial state cannot reach it
+        puzzle.setInitialState(ShortestPaths.GOAL);
+        assertThrows(IllegalArgumentException.class, () -> puzzle.setGoalState(unsolvable));
+    }
+
+    /**
+     * Swaps the first two tiles that are not the white space, which flips the parity of the board.
+     */
+    private static int[][] swapFirstTiles(int[][] board)
+    {
+        final int size = board.length;
+        int[][] swapped = new int[size][];
+        for (int row = 0; row < size; row++)
+        {
+            swapped[row] = board[row].clone();
+        }
+
+        int first = -1;
+        for (int position = 0; position < size * size; position++)
+        {
+            if (swapped[position / size][position % size] == 0)
+                continue;
+            if (first < 0)
+            {
+                first = position;
+                continue;
+            }
+            final int tile = swapped[first / size][first % size];
+            swapped[first / size][first % size] = swapped[position / size][position % size];
+            swapped[position / size][position % size] = tile;
+            break;
+        }
+        return swapped;
+    }
+}
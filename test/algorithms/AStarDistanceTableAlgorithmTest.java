@@ -0,0 +1,42 @@
+package algorithms;
+
+import AI.AITree;
+import WhiteSpacePuzzle.DistanceTable;
+import WhiteSpacePuzzle.ShortestPaths;
+import WhiteSpacePuzzle.WhiteSpacePuzzle;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class AStarDistanceTableAlgorithmTest
+{
+    @Test
+    void expandsOnlyTheShortestPath()
+    {
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(3);
+        AStarDistanceTableAlgorithm algorithm = new AStarDistanceTableAlgorithm(puzzle, DistanceTable.build(puzzle));
+
+        Random random = new Random(23);
+        for (int i = 0; i < 200; i++)
+        {
+            final int[][] board = ShortestPaths.randomBoard(random);
+            puzzle.setInitialState(board);
+
+            AITree<WhiteSpacePuzzle.State> tree = new AITree<WhiteSpacePuzzle.State>(puzzle.getInitState(), algorithm, puzzle.getOperatorManager().getOperators());
+            tree.setVerbose(false);
+            final AITree<WhiteSpacePuzzle.State>.Node solution = tree.findSolution();
+            assertNotNull(solution);
+
+            //The H(n) of every child is exact, so every node on the way is one move closer
+            assertEquals(ShortestPaths.getDistance(board), solution.getMoves());
+            assertEquals(solution.getMoves(), tree.getExpandedNumber());
+            for (AITree<WhiteSpacePuzzle.State>.Node node = solution; node != null; node = node.getParent())
+            {
+                assertEquals(solution.getMoves() - node.getMoves(), node.getHCost());
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package algorithms;
+
+import AI.AITree;
+import WhiteSpacePuzzle.Move;
+import WhiteSpacePuzzle.PatternDatabase;
+import WhiteSpacePuzzle.ShortestPaths;
+import WhiteSpacePuzzle.WhiteSpacePuzzle;
+import driver.BatchSolver;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AStarPatternDatabaseAlgorithmTest
+{
+    @Test
+    void findsShortestSolutionsDespiteTheInconsistentHeuristic()
+    {
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(3);
+        final int[][] partition = PatternDatabase.getDefaultPartition(3);
+        final PatternDatabase[] databases = {PatternDatabase.build(puzzle, partition[0]), PatternDatabase.build(puzzle, partition[1])};
+        AStarPatternDatabaseAlgorithm algorithm = new AStarPatternDatabaseAlgorithm(puzzle, databases);
+        assertFalse(algorithm.isConsistent());
+
+        //Without reopening explored states, some of these boards were solved with 2 moves too many
+        Random random = new Random(61);
+        for (int i = 0; i < 1000; i++)
+        {
+            final int[][] board = ShortestPaths.randomBoard(random);
+            puzzle.setInitialState(board);
+
+            AITree<WhiteSpacePuzzle.State> tree = new AITree<WhiteSpacePuzzle.State>(puzzle.getInitState(), algorithm, puzzle.getOperatorManager().getOperators());
+            tree.setVerbose(false);
+            final AITree<WhiteSpacePuzzle.State>.Node solution = tree.findSolution();
+            assertNotNull(solution);
+
+            List<Move> moves = new ArrayList<>();
+            for (char symbol : BatchSolver.getMoves(solution).toCharArray())
+            {
+                moves.add(Move.fromSymbol(symbol));
+            }
+            assertEquals(ShortestPaths.getDistance(board), moves.size());
+            assertTrue(ShortestPaths.solves(board, moves));
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package algorithms;
+
+import AI.SuccessorBuffer;
+import WhiteSpacePuzzle.DistanceTable;
+import WhiteSpacePuzzle.Move;
+import WhiteSpacePuzzle.PatternDatabase;
+import WhiteSpacePuzzle.WhiteSpacePuzzle;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AlgorithmTest
+{
+    @Test
+    void childCostsOf3x3MatchTheCostsOfTheChildren()
+    {
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(3);
+        final int[][] partition = PatternDatabase.getDefaultPartition(3);
+        assertChildCostsMatch(puzzle, Arrays.asList(
+                new AStarManhattanCostAlgorithm(puzzle),
+                new AStarEuclideanCostAlgorithm(puzzle),
+                new AStarMisplacedTileCostAlgorithm(puzzle),
+                new UniformCostSearch(puzzle),
+                new AStarLinearConflictAlgorithm(puzzle),
+                new AStarWalkingDistanceAlgorithm(puzzle),
+                new AStarPatternDatabaseAlgorithm(puzzle, PatternDatabase.build(puzzle, partition[0]), PatternDatabase.build(puzzle, partition[1])),
+                new AStarDistanceTableAlgorithm(puzzle, DistanceTable.build(puzzle))));
+    }
+
+    @Test
+    void childCostsOf4x4MatchTheCostsOfTheChildren()
+    {
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(4);
+        assertChildCostsMatch(puzzle, Arrays.asList(
+                new AStarManhattanCostAlgorithm(puzzle),
+                new AStarEuclideanCostAlgorithm(puzzle),
+                new AStarMisplacedTileCostAlgorithm(puzzle),
+                new AStarLinearConflictAlgorithm(puzzle)));
+    }
+
+    /**
+     * Checks that the H(n) every algorithm gives a child in the successor buffer, from the H(n) of its parent, is the H(n)
+     * of the child state itself.
+     */
+    private static void assertChildCostsMatch(WhiteSpacePuzzle puzzle, List<Algorithm> algorithms)
+    {
+        Random random = new Random(24);
+        SuccessorBuffer successors = new SuccessorBuffer();
+        WhiteSpacePuzzle.State state = puzzle.new State(puzzle.getGoalState());
+        for (int step = 0; step < 2000; step++)
+        {
+            state.generateSuccessors(successors);
+            for (Algorithm algorithm : algorithms)
+            {
+                final int parentHCost = algorithm.getHCost(state);
+                for (int i = 0; i < successors.size(); i++)
+                {
+                    final WhiteSpacePuzzle.State child = state.createState(successors.getStateKey(i));
+                    assertEquals(algorithm.getHCost(child), algorithm.getChildHCost(state, parentHCost, successors, i),
+                            algorithm.getClass().getSimpleName() + " at step " + step);
+                }
+            }
+
+            //Walk on to a random neighbor
+            final Move move = Move.fromOrdinal(successors.getOperatorId(random.nextInt(successors.size())));
+            state.applyMove(move);
+        }
+    }
+}
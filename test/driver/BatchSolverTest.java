@@ -0,0 +1,32 @@
+package driver;
+
+import algorithms.AStarManhattanCostAlgorithm;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BatchSolverTest
+{
+    @Test
+    void boardsOf3x3AreReadFromTheDistanceTable(@TempDir File directory)
+    {
+        BatchSolver solver = new BatchSolver(AStarManhattanCostAlgorithm::new, 1, 1);
+        solver.setDistanceTables(directory);
+
+        //Only the boards on the path are visited
+        final BatchResult result = solver.solve(1, "1 2 3 4 5 6 0 7 8");
+        assertNull(result.getError());
+        assertEquals("RR", result.getMoves());
+        assertEquals(2, result.getVisitedNumber());
+        assertEquals(1, directory.listFiles().length);
+
+        //Other sizes are still searched
+        final BatchResult searched = solver.solve(2, "1 2 3 4 5 6 7 8 9 10 11 12 13 14 0 15");
+        assertNull(searched.getError());
+        assertEquals("R", searched.getMoves());
+    }
+}
@@ -0,0 +1,132 @@
+package driver;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SolutionArchiveTest
+{
+    private static final long GOAL = 0x0FEDCBA987654321L;
+    private static final long OTHER_GOAL = 0x0FEDCBA987654312L;
+
+    @TempDir
+    File folder;
+
+    private static SolutionRecord record(long boardKey, long goalKey, String algorithm, String moves)
+    {
+        return new SolutionRecord(boardKey, goalKey, 4, algorithm, moves, 11, 22L, 33, 44L);
+    }
+
+    private static void assertRecord(SolutionRecord expected, SolutionRecord actual)
+    {
+        assertEquals(expected.getBoardKey(), actual.getBoardKey());
+        assertEquals(expected.getGoalKey(), actual.getGoalKey());
+        assertEquals(expected.getSize(), actual.getSize());
+        assertEquals(expected.getAlgorithm(), actual.getAlgorithm());
+        assertEquals(expected.getMoves(), actual.getMoves());
+        assertEquals(expected.getExploredSetSize(), actual.getExploredSetSize());
+        assertEquals(expected.getVisitedNumber(), actual.getVisitedNumber());
+        assertEquals(expected.getMaxFrontierSize(), actual.getMaxFrontierSize());
+        assertEquals(expected.getNanos(), actual.getNanos());
+    }
+
+    @Test
+    void findsAppendedRecordsAfterReopening() throws IOException
+    {
+        final File file = new File(folder, "solutions.bin");
+        //Move counts that are not a multiple of 4 leave a partly used byte of packed moves
+        final SolutionRecord first = record(1L, GOAL, "AStarManhattanCostAlgorithm", "LDRUULDRRDL");
+        final SolutionRecord second = record(2L, GOAL, "UniformCostSearch", "");
+
+        try (SolutionArchive archive = new SolutionArchive(file))
+        {
+            archive.append(first);
+            archive.append(second);
+            assertRecord(first, archive.find(1L, GOAL, null));
+            assertRecord(second, archive.find(2L, GOAL, null));
+        }
+
+        try (SolutionArchive archive = new SolutionArchive(file))
+        {
+            assertEquals(2, archive.size());
+            assertRecord(first, archive.find(1L, GOAL, null));
+            assertRecord(second, archive.find(2L, GOAL, "UniformCostSearch"));
+            assertNull(archive.find(3L, GOAL, null));
+        }
+    }
+
+    @Test
+    void findsTheNewestRecordOfTheGoalAndAlgorithm() throws IOException
+    {
+        try (SolutionArchive archive = new SolutionArchive(new File(folder, "solutions.bin")))
+        {
+            final SolutionRecord manhattan = record(5L, GOAL, "AStarManhattanCostAlgorithm", "LLUU");
+            final SolutionRecord otherGoal = record(5L, OTHER_GOAL, "AStarManhattanCostAlgorithm", "RRDD");
+            final SolutionRecord uniform = record(5L, GOAL, "UniformCostSearch", "ULUL");
+            archive.append(manhattan);
+            archive.append(otherGoal);
+            archive.append(uniform);
+
+            assertRecord(uniform, archive.find(5L, GOAL, null));
+            assertRecord(manhattan, archive.find(5L, GOAL, "AStarManhattanCostAlgorithm"));
+            assertRecord(otherGoal, archive.find(5L, OTHER_GOAL, null));
+            assertNull(archive.find(5L, OTHER_GOAL, "UniformCostSearch"));
+            assertNull(archive.find(5L, GOAL, "AStarPatternDatabaseAlgorithm"));
+        }
+    }
+
+    @Test
+    void dropsARecordCutShortAndKeepsAppending() throws IOException
+    {
+        final File file = new File(folder, "solutions.bin");
+        final SolutionRecord kept = record(1L, GOAL, "AStarManhattanCostAlgorithm", "LDRU");
+        final long keptEnd;
+        try (SolutionArchive archive = new SolutionArchive(file))
+        {
+            archive.append(kept);
+            keptEnd = file.length();
+            archive.append(record(2L, GOAL, "AStarManhattanCostAlgorithm", "UULL"));
+        }
+
+        //Cut the last record short, as a crash in the middle of its write would
+        try (RandomAccessFile data = new RandomAccessFile(file, "rw"))
+        {
+            data.setLength(file.length() - 3);
+        }
+
+        final SolutionRecord appended = record(3L, GOAL, "AStarManhattanCostAlgorithm", "DDRR");
+        try (SolutionArchive archive = new SolutionArchive(file))
+        {
+            assertEquals(1, archive.size());
+            assertEquals(keptEnd, file.length());
+            assertRecord(kept, archive.find(1L, GOAL, null));
+            assertNull(archive.find(2L, GOAL, null));
+
+            archive.append(appended);
+        }
+
+        try (SolutionArchive archive = new SolutionArchive(file))
+        {
+            assertEquals(2, archive.size());
+            assertRecord(kept, archive.find(1L, GOAL, null));
+            assertRecord(appended, archive.find(3L, GOAL, null));
+        }
+    }
+
+    @Test
+    void rejectsAFileThatIsNotAnArchive() throws IOException
+    {
+        final File file = new File(folder, "notes.txt");
+        Files.write(file.toPath(), "not a solution archive".getBytes("UTF-8"));
+
+        assertThrows(IOException.class, () -> new SolutionArchive(file));
+    }
+}
@@ -0,0 +1,178 @@
+package driver;
+
+import WhiteSpacePuzzle.Move;
+import WhiteSpacePuzzle.WhiteSpacePuzzle;
+import algorithms.AStarManhattanCostAlgorithm;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SolutionCacheTest
+{
+    /**
+     * Walks the white space randomly away from the goal state.
+     */
+    private static long randomBoard(WhiteSpacePuzzle puzzle, Random random, int moves)
+    {
+        WhiteSpacePuzzle.State state = puzzle.getGoalState().createState(puzzle.getGoalState().getStateKey());
+        for (int i = 0; i < moves; i++)
+        {
+            final Move move = Move.values()[random.nextInt(4)];
+            if (state.canMove(move))
+                state.applyMove(move);
+        }
+        return state.getStateKey();
+    }
+
+    /**
+     * Checks that the moves take the board to the goal state.
+     */
+    private static boolean solves(WhiteSpacePuzzle puzzle, long boardKey, String moves)
+    {
+        WhiteSpacePuzzle.State state = puzzle.getGoalState().createState(boardKey);
+        for (int i = 0; i < moves.length(); i++)
+        {
+            state.applyMove(Move.fromSymbol(moves.charAt(i)));
+        }
+        return state.getStateKey() == puzzle.getGoalState().getStateKey();
+    }
+
+    @Test
+    void transposingTwiceGivesBackTheBoard()
+    {
+        Random random = new Random(7);
+        for (int size = 2; size <= WhiteSpacePuzzle.MAX_SIZE; size++)
+        {
+            WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(size);
+            final long goalKey = puzzle.getGoalState().getStateKey();
+            assertTrue(SolutionCache.isSymmetric(goalKey, size));
+            assertEquals(goalKey, SolutionCache.transpose(goalKey, goalKey, size));
+
+            for (int i = 0; i < 200; i++)
+            {
+                final long boardKey = randomBoard(puzzle, random, 60);
+                final long transposed = SolutionCache.transpose(boardKey, goalKey, size);
+                assertEquals(boardKey, SolutionCache.transpose(transposed, goalKey, size));
+                assertEquals(SolutionCache.getCanonicalKey(boardKey, goalKey, size), SolutionCache.getCanonicalKey(transposed, goalKey, size));
+            }
+        }
+    }
+
+    @Test
+    void transposedMovesSolveTheTransposedBoard()
+    {
+        Random random = new Random(11);
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(4);
+        final long goalKey = puzzle.getGoalState().getStateKey();
+
+        for (int i = 0; i < 200; i++)
+        {
+            //Record a walk away from the goal state, so its inverse is a solution of the board
+            WhiteSpacePuzzle.State state = puzzle.getGoalState().createState(goalKey);
+            StringBuilder solution = new StringBuilder();
+            for (int step = 0; step < 40; step++)
+            {
+                final Move move = Move.values()[random.nextInt(4)];
+                if (state.canMove(move))
+                {
+                    state.applyMove(move);
+                    solution.insert(0, move.getInverse().getSymbol());
+                }
+            }
+            final long boardKey = state.getStateKey();
+            final String moves = solution.toString();
+            assertTrue(solves(puzzle, boardKey, moves));
+
+            final long transposed = SolutionCache.transpose(boardKey, goalKey, 4);
+            final String transposedMoves = SolutionCache.transposeMoves(moves);
+            assertTrue(solves(puzzle, transposed, transposedMoves));
+            assertEquals(moves, SolutionCache.transposeMoves(transposedMoves));
+        }
+    }
+
+    @Test
+    void goalWithTheWhiteSpaceOffTheDiagonalIsNotShared()
+    {
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(3);
+        puzzle.setGoalState(new int[][]{{1, 2, 3}, {4, 5, 6}, {7, 0, 8}});
+        final long goalKey = puzzle.getGoalState().getStateKey();
+        final long boardKey = randomBoard(puzzle, new Random(13), 30);
+
+        assertFalse(SolutionCache.isSymmetric(goalKey, 3));
+        assertEquals(boardKey, SolutionCache.getCanonicalKey(boardKey, goalKey, 3));
+    }
+
+    @Test
+    void reflectedBoardIsAHitWithAValidSolution()
+    {
+        Random random = new Random(17);
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(3);
+        final long goalKey = puzzle.getGoalState().getStateKey();
+        SolutionCache cache = new SolutionCache(16);
+
+        long boardKey;
+        long transposed;
+        do
+        {
+            boardKey = randomBoard(puzzle, random, 40);
+            transposed = SolutionCache.transpose(boardKey, goalKey, 3);
+        } while (boardKey == transposed);
+
+        puzzle.setInitialState(puzzle.unpack(boardKey));
+        final String moves = cache.findSolution(puzzle, new AStarManhattanCostAlgorithm(puzzle));
+        assertNotNull(moves);
+        assertTrue(solves(puzzle, boardKey, moves));
+        assertEquals(0, cache.getHitNumber());
+        assertEquals(1, cache.getMissNumber());
+
+        puzzle.setInitialState(puzzle.unpack(transposed));
+        final String reflected = cache.findSolution(puzzle, new AStarManhattanCostAlgorithm(puzzle));
+        assertEquals(1, cache.getHitNumber());
+        assertEquals(1, cache.size());
+        assertEquals(moves.length(), reflected.length());
+        assertTrue(solves(puzzle, transposed, reflected));
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedSolution()
+    {
+        WhiteSpacePuzzle puzzle = new WhiteSpacePuzzle(3);
+        final long goalKey = puzzle.getGoalState().getStateKey();
+        SolutionCache cache = new SolutionCache(2);
+
+        //Boards whose reflections are distinct from the other boards, so each takes its own entry
+        final long first = puzzle.getGoalState().move(Move.LEFT).getStateKey();
+        final long second = puzzle.getGoalState().move(Move.LEFT).move(Move.LEFT).getStateKey();
+        final long third = puzzle.getGoalState().move(Move.LEFT).move(Move.UP).getStateKey();
+        cache.put(first, goalKey, 3, "R");
+        cache.put(second, goalKey, 3, "RR");
+        assertEquals("R", cache.get(first, goalKey, 3));
+
+        cache.put(third, goalKey, 3, "DR");
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionNumber());
+        assertNull(cache.get(second, goalKey, 3));
+        assertEquals("R", cache.get(first, goalKey, 3));
+        assertEquals("DR", cache.get(third, goalKey, 3));
+        assertEquals(3, cache.getHitNumber());
+        assertEquals(1, cache.getMissNumber());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getHitNumber());
+        assertEquals(0, cache.getEvictionNumber());
+    }
+
+    @Test
+    void needsRoomForOneSolution()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new SolutionCache(0));
+    }
+}